@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.animation;
+
+import br.com.davidbuzatto.jsge.animation.AnimationExecutionState;
+import br.com.davidbuzatto.jsge.animation.tween.TweenAnimation;
+import br.com.davidbuzatto.jsge.animation.tween.TweenAnimationBase;
+import br.com.davidbuzatto.jsge.animation.tween.TweenAnimationComponentMapper;
+import br.com.davidbuzatto.jsge.animation.tween.TweenAnimationProperties;
+import br.com.davidbuzatto.jsge.animation.tween.TweenAnimationStateContainer;
+import br.com.davidbuzatto.jsge.animation.tween.TweenAnimationUpdateFunction;
+import br.com.davidbuzatto.jsge.animation.tween.easing.EasingTweenAnimation;
+import br.com.davidbuzatto.jsge.animation.tween.easing.EasingTweenAnimationUpdateFunction;
+import br.com.davidbuzatto.jsge.animation.tween.easing.TweenAnimationEasingFunctions;
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the cost of updating one tween: the update functions
+ * of the factories, with compiled properties and typed mappers, against
+ * copies of their previous form, which looked the properties up by name
+ * and boxed the values on every update. Each invocation updates a batch
+ * of tweens, restarting the finished ones, and the score is per tween.
+ *
+ * Run with "ant bench" (see build.xml).
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class CompiledTweenBenchmark {
+    
+    private static final int TWEEN_QUANTITY = 1000;
+    private static final double DELTA = 1.0 / 60.0;
+    
+    /**
+     * Eased and linear tweens of rectangle positions, in both forms.
+     */
+    @State( Scope.Thread )
+    public static class Tweens {
+        
+        private TweenAnimationBase<?>[] easingNamed;
+        private TweenAnimationBase<?>[] easingCompiled;
+        private TweenAnimationBase<?>[] linearNamed;
+        private TweenAnimationBase<?>[] linearCompiled;
+        
+        /**
+         * Creates the tweens, each one with its own properties, mapper
+         * and update function.
+         */
+        @Setup( Level.Trial )
+        public void setupTrial() {
+            
+            easingNamed = new TweenAnimationBase<?>[TWEEN_QUANTITY];
+            easingCompiled = new TweenAnimationBase<?>[TWEEN_QUANTITY];
+            linearNamed = new TweenAnimationBase<?>[TWEEN_QUANTITY];
+            linearCompiled = new TweenAnimationBase<?>[TWEEN_QUANTITY];
+            
+            for ( int i = 0; i < TWEEN_QUANTITY; i++ ) {
+                
+                // different speeds, so the tweens do not finish together
+                double speed = 0.5 + i % 10 * 0.1;
+                
+                easingNamed[i] = new EasingTweenAnimation<>( 
+                    TweenAnimationProperties.of( "x1", 40, "y1", 345, "x2", 340 ), 
+                    namedPosition( new Rectangle( 0, 0, 80, 80 ) ), 
+                    namedEasingTweenX(), 
+                    TweenAnimationEasingFunctions.easeInOutSine, speed );
+                
+                easingCompiled[i] = new EasingTweenAnimation<>( 
+                    TweenAnimationProperties.of( "x1", 40, "y1", 345, "x2", 340 ), 
+                    ComponentMappersFactory.position( new Rectangle( 0, 0, 80, 80 ) ), 
+                    EasingUpdateFunctionsFactory.tweenX(), 
+                    TweenAnimationEasingFunctions.easeInOutSine, speed );
+                
+                linearNamed[i] = new TweenAnimation<>( 
+                    TweenAnimationProperties.of( "x1", 40, "y1", 435, "x2", 340, "velX", 150 * speed ), 
+                    namedPosition( new Rectangle( 0, 0, 80, 80 ) ), 
+                    namedTweenX() );
+                
+                linearCompiled[i] = new TweenAnimation<>( 
+                    TweenAnimationProperties.of( "x1", 40, "y1", 435, "x2", 340, "velX", 150 * speed ), 
+                    ComponentMappersFactory.position( new Rectangle( 0, 0, 80, 80 ) ), 
+                    UpdateFunctionsFactory.tweenX() );
+                
+            }
+            
+        }
+        
+    }
+    
+    /**
+     * Eased tweens, properties looked up by name.
+     *
+     * @param t The tweens.
+     */
+    @Benchmark
+    @OperationsPerInvocation( TWEEN_QUANTITY )
+    public void easingNamed( Tweens t ) {
+        update( t.easingNamed );
+    }
+    
+    /**
+     * Eased tweens, compiled properties.
+     *
+     * @param t The tweens.
+     */
+    @Benchmark
+    @OperationsPerInvocation( TWEEN_QUANTITY )
+    public void easingCompiled( Tweens t ) {
+        update( t.easingCompiled );
+    }
+    
+    /**
+     * Linear tweens, properties looked up by name.
+     *
+     * @param t The tweens.
+     */
+    @Benchmark
+    @OperationsPerInvocation( TWEEN_QUANTITY )
+    public void linearNamed( Tweens t ) {
+        update( t.linearNamed );
+    }
+    
+    /**
+     * Linear tweens, compiled properties.
+     *
+     * @param t The tweens.
+     */
+    @Benchmark
+    @OperationsPerInvocation( TWEEN_QUANTITY )
+    public void linearCompiled( Tweens t ) {
+        update( t.linearCompiled );
+    }
+    
+    private static void update( TweenAnimationBase<?>[] tweens ) {
+        for ( TweenAnimationBase<?> tween : tweens ) {
+            tween.update( DELTA );
+            if ( tween.getState() == AnimationExecutionState.FINISHED ) {
+                tween.reset();
+            }
+        }
+    }
+    
+    /**
+     * The position mapper as it was before the typed accessors.
+     */
+    private static TweenAnimationComponentMapper<Rectangle> namedPosition( Rectangle component ) {
+        return new TweenAnimationComponentMapper<>( component ){
+            
+            @Override
+            public void set( String property, Object value ) {
+                switch ( property ) {
+                    case "x" -> component.x = (Double) value;
+                    case "y" -> component.y = (Double) value;
+                }
+            }
+            
+            @Override
+            public Object get( String property ) {
+                switch ( property ) {
+                    case "x" -> {
+                        return component.x;
+                    }
+                    case "y" -> {
+                        return component.y;
+                    }
+                }
+                return null;
+            }
+            
+        };
+    }
+    
+    /**
+     * EasingUpdateFunctionsFactory.tweenX as it was before the compiled
+     * properties.
+     */
+    private static <ComponentType> EasingTweenAnimationUpdateFunction<ComponentType> namedEasingTweenX() {
+        return ( 
+            double delta, 
+            double deltaP,
+            TweenAnimationProperties p,
+            TweenAnimationComponentMapper<ComponentType> cm, 
+            DoubleFunction<Double> ef,
+            TweenAnimationStateContainer sc ) -> {
+            
+            if ( sc.state == AnimationExecutionState.INITIALIZED ) {
+                sc.state = AnimationExecutionState.RUNNING;
+                cm.set( "x", p.getDouble( "x1" ) );
+                cm.set( "y", p.getDouble( "y1" ) );
+            }
+            
+            if ( sc.state == AnimationExecutionState.RUNNING ) {
+                
+                sc.percentage += deltaP * delta;
+                cm.set( "x", p.getDouble( "x1" ) + ( p.getDouble( "x2" ) - p.getDouble( "x1" ) ) * ef.apply( sc.percentage ) );
+                
+                if ( sc.percentage >= 1.0 ) {
+                    cm.set( "x", p.getDouble( "x2" ) );
+                    sc.percentage = 1.0;
+                    sc.state = AnimationExecutionState.FINISHED;
+                }
+                
+            }
+            
+        };
+    }
+    
+    /**
+     * UpdateFunctionsFactory.tweenX as it was before the compiled
+     * properties.
+     */
+    private static <ComponentType> TweenAnimationUpdateFunction<ComponentType> namedTweenX() {
+        return ( 
+            double delta, 
+            TweenAnimationProperties p,
+            TweenAnimationComponentMapper<ComponentType> cm, 
+            TweenAnimationStateContainer sc ) -> {
+            
+            if ( sc.state == AnimationExecutionState.INITIALIZED ) {
+                sc.state = AnimationExecutionState.RUNNING;
+                cm.set( "x", p.getDouble( "x1" ) );
+                cm.set( "y", p.getDouble( "y1" ) );
+            }
+            
+            if ( sc.state == AnimationExecutionState.RUNNING ) {
+                cm.set( "x", (Double) cm.get( "x" ) + p.getDouble( "velX" ) * delta );
+                if ( (Double) cm.get( "x" ) >= p.getDouble( "x2" ) ) {
+                    cm.set( "x", p.getDouble( "x2" ) );
+                    sc.state = AnimationExecutionState.FINISHED;
+                }
+                sc.percentage = ( (Double) cm.get( "x" ) - p.getDouble( "x1" ) ) / ( p.getDouble( "x2" ) - p.getDouble( "x1" ) );
+            }
+            
+        };
+    }
+    
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.animation;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of easing function evaluation: the functions of
+ * TweenAnimationEasingFunctions, through their boxed DoubleFunction form,
+ * against their lookup tables, through the primitive form. Each operation
+ * evaluates one function for a batch of tweens at different positions.
+ *
+ * Run with "ant bench" (see build.xml).
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class EasingTableBenchmark {
+    
+    private static final int TWEEN_QUANTITY = 10000;
+    
+    /**
+     * An easing function, its table and the positions of the tweens.
+     */
+    @State( Scope.Thread )
+    public static class Easing {
+        
+        @Param( { "easeInOutSine", "easeInOutExpo", "easeOutElastic", "easeOutBounce" } )
+        private String name;
+        
+        private DoubleFunction<Double> function;
+        private EasingTable table;
+        private double[] positions;
+        
+        /**
+         * Finds the function, samples it and spreads the positions.
+         */
+        @Setup( Level.Trial )
+        public void setupTrial() {
+            
+            for ( AnimationsSimulation.Pair pair : AnimationsSimulation.EASING_FUNCTIONS ) {
+                if ( pair.name.equals( name ) ) {
+                    function = pair.function;
+                }
+            }
+            
+            table = new EasingTable( function );
+            positions = new double[TWEEN_QUANTITY];
+            
+            for ( int i = 0; i < TWEEN_QUANTITY; i++ ) {
+                positions[i] = (double) i / TWEEN_QUANTITY;
+            }
+            
+        }
+        
+    }
+    
+    /**
+     * The function itself, as the tweens call it.
+     *
+     * @param e The easing function.
+     * @return The sum of the eased values.
+     */
+    @Benchmark
+    public double function( Easing e ) {
+        double sum = 0;
+        for ( double x : e.positions ) {
+            sum += e.function.apply( x );
+        }
+        return sum;
+    }
+    
+    /**
+     * The lookup table of the function.
+     *
+     * @param e The easing function.
+     * @return The sum of the eased values.
+     */
+    @Benchmark
+    public double table( Easing e ) {
+        double sum = 0;
+        for ( double x : e.positions ) {
+            sum += e.table.applyAsDouble( x );
+        }
+        return sum;
+    }
+    
+}
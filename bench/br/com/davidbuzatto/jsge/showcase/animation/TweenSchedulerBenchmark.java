@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.animation;
+
+import br.com.davidbuzatto.jsge.animation.AnimationExecutionState;
+import br.com.davidbuzatto.jsge.animation.tween.TweenAnimationProperties;
+import br.com.davidbuzatto.jsge.animation.tween.easing.EasingTweenAnimation;
+import br.com.davidbuzatto.jsge.geom.Circle;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of one frame of many eased position tweens: one
+ * EasingTweenAnimation per circle, restarted when it finishes, against
+ * the same tweens in a TweenScheduler, serial and parallel, where the
+ * finished ones are added again. The easing functions are the lookup
+ * tables of the example, spread over the tweens.
+ *
+ * Run with "ant bench" (see build.xml).
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class TweenSchedulerBenchmark {
+    
+    private static final double DELTA = 1.0 / 60.0;
+    
+    /**
+     * The same tweens as individual animations and in schedulers.
+     */
+    @State( Scope.Thread )
+    public static class Tweens {
+        
+        @Param( { "1000", "10000", "100000" } )
+        private int tweenQuantity;
+        
+        private EasingTweenAnimation<?>[] animations;
+        private TweenScheduler serial;
+        private TweenScheduler parallel;
+        private DoubleFunction<Double>[] easings;
+        private int added;
+        
+        /**
+         * Creates the tweens, with different speeds and easing functions.
+         */
+        @Setup( Level.Trial )
+        @SuppressWarnings( "unchecked" )
+        public void setupTrial() {
+            
+            easings = (DoubleFunction<Double>[]) new DoubleFunction<?>[AnimationsSimulation.EASING_FUNCTIONS.length];
+            for ( int i = 0; i < easings.length; i++ ) {
+                easings[i] = new EasingTable( AnimationsSimulation.EASING_FUNCTIONS[i].function );
+            }
+            
+            animations = new EasingTweenAnimation<?>[tweenQuantity];
+            serial = new TweenScheduler();
+            parallel = new TweenScheduler();
+            parallel.setParallel( true );
+            
+            for ( int i = 0; i < tweenQuantity; i++ ) {
+                animations[i] = new EasingTweenAnimation<>( 
+                    TweenAnimationProperties.of( "x1", 40, "y1", 345, "x2", 340, "y2", 500 ), 
+                    ComponentMappersFactory.radius( new Circle( 0, 0, 2 ) ), 
+                    EasingUpdateFunctionsFactory.tweenXY(), 
+                    easings[i % easings.length], speed( i ) );
+                add( serial, ComponentMappersFactory.radius( new Circle( 0, 0, 2 ) ) );
+                add( parallel, ComponentMappersFactory.radius( new Circle( 0, 0, 2 ) ) );
+            }
+            
+        }
+        
+        private void add( TweenScheduler scheduler, TweenComponentMapper<?> mapper ) {
+            int i = added++;
+            scheduler.add( 
+                TweenScheduler.Kind.XY, mapper, easings[i % easings.length], 
+                40, 340, 345, 500, speed( i ) );
+        }
+        
+        private static double speed( int i ) {
+            // different speeds, so the tweens do not finish together
+            return 0.5 + i % 10 * 0.1;
+        }
+        
+    }
+    
+    /**
+     * One update per animation.
+     *
+     * @param t The tweens.
+     */
+    @Benchmark
+    public void animations( Tweens t ) {
+        for ( EasingTweenAnimation<?> a : t.animations ) {
+            a.update( DELTA );
+            if ( a.getState() == AnimationExecutionState.FINISHED ) {
+                a.reset();
+            }
+        }
+    }
+    
+    /**
+     * One scheduler pass in the calling thread.
+     *
+     * @param t The tweens.
+     */
+    @Benchmark
+    public void scheduler( Tweens t ) {
+        update( t, t.serial );
+    }
+    
+    /**
+     * One scheduler pass over the common fork-join pool.
+     *
+     * @param t The tweens.
+     */
+    @Benchmark
+    public void schedulerParallel( Tweens t ) {
+        update( t, t.parallel );
+    }
+    
+    private static void update( Tweens t, TweenScheduler scheduler ) {
+        scheduler.update( DELTA );
+        TweenComponentMapper<?>[] finished = scheduler.getFinished();
+        for ( int i = 0; i < scheduler.getFinishedCount(); i++ ) {
+            t.add( scheduler, finished[i] );
+        }
+    }
+    
+}
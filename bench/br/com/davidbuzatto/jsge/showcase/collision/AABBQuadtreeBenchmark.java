@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.collision;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the quadtree pair query, serial and parallel. The
+ * collision simulation is driven headlessly, so the tree has the same
+ * AABB sizes and maximum depth used by the example for each quantity.
+ *
+ * Run with "ant bench" (see build.xml).
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class AABBQuadtreeBenchmark {
+
+    /**
+     * A collision simulation after some movement.
+     */
+    @State( Scope.Thread )
+    public static class Simulation {
+
+        @Param( { "1000", "10000", "100000" } )
+        private int aabbQuantity;
+
+        private CollisionDetectionSimulation sim;
+        private AABBPairBuffer pairs;
+
+        /**
+         * Creates the simulation and moves the AABBs for one second, so
+         * the tree is not in its freshly built state.
+         */
+        @Setup( Level.Trial )
+        public void setupTrial() {
+
+            sim = new CollisionDetectionSimulation();
+            sim.create( 800, 710 );
+            sim.setNumberOfAABBs( aabbQuantity );
+
+            for ( int i = 0; i < 60; i++ ) {
+                sim.update( 1.0 / 60.0 );
+            }
+
+            pairs = new AABBPairBuffer();
+
+        }
+
+    }
+
+    /**
+     * Pair query walking the tree in the calling thread.
+     *
+     * @param s The simulation.
+     * @return The number of pairs.
+     */
+    @Benchmark
+    public int queryPairs( Simulation s ) {
+        return s.sim.quadtree.queryPairs( s.pairs );
+    }
+
+    /**
+     * Pair query spread over the common fork-join pool.
+     *
+     * @param s The simulation.
+     * @return The number of pairs.
+     */
+    @Benchmark
+    public int queryPairsParallel( Simulation s ) {
+        return s.sim.quadtree.queryPairsParallel( s.pairs );
+    }
+
+}
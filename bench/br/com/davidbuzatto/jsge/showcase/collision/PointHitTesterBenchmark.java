@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.collision;
+
+import br.com.davidbuzatto.jsge.collision.CollisionUtils;
+import br.com.davidbuzatto.jsge.geom.Circle;
+import br.com.davidbuzatto.jsge.geom.Line;
+import br.com.davidbuzatto.jsge.geom.Polygon;
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+import br.com.davidbuzatto.jsge.geom.Triangle;
+import br.com.davidbuzatto.jsge.math.Vector2;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of point hit testing: a batch of points against a set
+ * of shapes, using the indexed PointHitTester and a chain of
+ * CollisionUtils checks for each point, like the example did.
+ *
+ * Run with "ant bench" (see build.xml).
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class PointHitTesterBenchmark {
+    
+    private static final int POINT_QUANTITY = 1000;
+    private static final double AREA_SIZE = 2000;
+    
+    /**
+     * Shapes of the five kinds spread over the area and random points.
+     */
+    @State( Scope.Thread )
+    public static class Shapes {
+        
+        @Param( { "100", "1000", "10000" } )
+        private int shapeQuantity;
+        
+        private Object[] shapes;
+        private PointHitTester tester;
+        private double[] points;
+        private Vector2[] vectors;
+        private int[] hits;
+        
+        /**
+         * Creates the shapes, the tester and the points.
+         */
+        @Setup( Level.Trial )
+        public void setupTrial() {
+            
+            Random random = new Random( 1 );
+            shapes = new Object[shapeQuantity];
+            tester = new PointHitTester();
+            
+            for ( int i = 0; i < shapeQuantity; i++ ) {
+                
+                double x = random.nextDouble() * AREA_SIZE;
+                double y = random.nextDouble() * AREA_SIZE;
+                
+                switch ( i % 5 ) {
+                    case 0: {
+                        Line line = new Line( x, y, x + random.nextDouble() * 60 - 30, y + random.nextDouble() * 60 - 30 );
+                        tester.addLine( line, 5 );
+                        shapes[i] = line;
+                        break;
+                    }
+                    case 1: {
+                        Rectangle rectangle = new Rectangle( x, y, random.nextDouble() * 40, random.nextDouble() * 40 );
+                        tester.addRectangle( rectangle );
+                        shapes[i] = rectangle;
+                        break;
+                    }
+                    case 2: {
+                        Circle circle = new Circle( x, y, random.nextDouble() * 25 );
+                        tester.addCircle( circle );
+                        shapes[i] = circle;
+                        break;
+                    }
+                    case 3: {
+                        Triangle triangle = new Triangle( x, y, x + random.nextDouble() * 50, y + random.nextDouble() * 10, 
+                                                          x + random.nextDouble() * 20, y + random.nextDouble() * 50 );
+                        tester.addTriangle( triangle );
+                        shapes[i] = triangle;
+                        break;
+                    }
+                    default: {
+                        Polygon polygon = new Polygon( x, y, 3 + random.nextInt( 6 ), random.nextDouble() * 30, random.nextDouble() * 360 );
+                        tester.addPolygon( polygon );
+                        shapes[i] = polygon;
+                        break;
+                    }
+                }
+                
+            }
+            
+            tester.build();
+            
+            points = new double[POINT_QUANTITY * 2];
+            vectors = new Vector2[POINT_QUANTITY];
+            hits = new int[POINT_QUANTITY];
+            
+            for ( int i = 0; i < POINT_QUANTITY; i++ ) {
+                points[i * 2] = random.nextDouble() * AREA_SIZE;
+                points[i * 2 + 1] = random.nextDouble() * AREA_SIZE;
+                vectors[i] = new Vector2( points[i * 2], points[i * 2 + 1] );
+            }
+            
+        }
+        
+    }
+    
+    /**
+     * The batch through the indexed tester.
+     *
+     * @param s The shapes and points.
+     * @return The number of points that hit some shape.
+     */
+    @Benchmark
+    public int batched( Shapes s ) {
+        return s.tester.hitTest( s.points, POINT_QUANTITY, s.hits );
+    }
+    
+    /**
+     * Each point checked against every shape until the first hit.
+     *
+     * @param s The shapes and points.
+     * @return The number of points that hit some shape.
+     */
+    @Benchmark
+    public int chain( Shapes s ) {
+        
+        int hitCount = 0;
+        
+        for ( Vector2 point : s.vectors ) {
+            for ( Object shape : s.shapes ) {
+                if ( hit( point, shape ) ) {
+                    hitCount++;
+                    break;
+                }
+            }
+        }
+        
+        return hitCount;
+        
+    }
+    
+    private static boolean hit( Vector2 point, Object shape ) {
+        if ( shape instanceof Line ) {
+            return CollisionUtils.checkCollisionPointLine( point, (Line) shape, 5 );
+        } else if ( shape instanceof Rectangle ) {
+            return CollisionUtils.checkCollisionPointRectangle( point, (Rectangle) shape );
+        } else if ( shape instanceof Circle ) {
+            return CollisionUtils.checkCollisionPointCircle( point, (Circle) shape );
+        } else if ( shape instanceof Triangle ) {
+            return CollisionUtils.checkCollisionPointTriangle( point, (Triangle) shape );
+        }
+        return CollisionUtils.checkCollisionPointPolygon( point, (Polygon) shape );
+    }
+    
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.particles;
+
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+import br.com.davidbuzatto.jsge.math.Vector2;
+import java.awt.Color;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the particle emitter hot loops. The emitter is driven
+ * headlessly, without an EngineFrame window.
+ *
+ * Run with "ant bench" (see build.xml), which enables the gc profiler to
+ * report the allocation rate.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class ParticleEmitterBenchmark {
+    
+    private static final double WIDTH = 800;
+    private static final double HEIGHT = 450;
+    private static final int EMIT_QUANTITY = 100;
+    
+    /**
+     * An emitter filled with particles spread over the screen.
+     */
+    @State( Scope.Thread )
+    public static class Particles {
+        
+        @Param( { "1000", "10000", "100000" } )
+        private int particleQuantity;
+
+        private ParticleEmitter emitter;
+        private ParticleEmission emission;
+        
+        /**
+         * Creates the emitter.
+         */
+        @Setup( Level.Trial )
+        public void setupTrial() {
+            
+            emission = new ParticleEmission(
+                ParticleVelocity.cone( ParticleDistribution.uniform( 300, 500 ), 20 ),
+                ParticleDistribution.uniform( 2, 6 ),
+                75.0, 165.0
+            );
+            
+            emitter = new ParticleEmitter( 
+                new Vector2( WIDTH / 2, HEIGHT / 2 ),
+                new Vector2( 150.0, 100.0 ),
+                90.0,
+                200.0,
+                200.0,
+                10.0,
+                false,
+                particleQuantity
+            );
+            
+        }
+        
+        /**
+         * Refills the emitter, so every iteration starts from the same
+         * amount of work.
+         */
+        @Setup( Level.Iteration )
+        public void setupIteration() {
+            
+            SplittableRandom random = new SplittableRandom( 7 );
+            emitter.particleQuantity = 0;
+            emitter.newParticlePos = 0;
+            
+            for ( int i = 0; i < particleQuantity; i++ ) {
+                emitter.emitParticle( 
+                    random.nextDouble( WIDTH ), random.nextDouble( HEIGHT ), 
+                    random.nextDouble( -100, 100 ), random.nextDouble( -100, 100 ), 
+                    random.nextDouble( 2, 6 ), 
+                    0xffffffff
+                );
+            }
+            
+        }
+        
+    }
+    
+    /**
+     * Obstacles randomly placed over the screen.
+     */
+    @State( Scope.Thread )
+    public static class Obstacles {
+        
+        @Param( { "0", "40", "400" } )
+        private int obstacleQuantity;
+        
+        private Obstacle[] obstacles;
+        private ObstacleGrid obstacleGrid;
+        
+        /**
+         * Creates the obstacles and registers them in the grid.
+         */
+        @Setup( Level.Trial )
+        public void setupTrial() {
+            
+            SplittableRandom random = new SplittableRandom( 42 );
+            
+            obstacles = new Obstacle[Math.max( 1, obstacleQuantity )];
+            obstacleGrid = new ObstacleGrid( 40, 1024, obstacles.length );
+            
+            for ( int i = 0; i < obstacleQuantity; i++ ) {
+                obstacles[i] = new Obstacle( 
+                    new Rectangle( random.nextDouble( WIDTH - 20 ), random.nextDouble( HEIGHT - 20 ), 20, 20 ),
+                    Color.WHITE
+                );
+                obstacleGrid.insert( i, obstacles[i].rect );
+            }
+            
+        }
+        
+    }
+    
+    /**
+     * Emission of particles into a full buffer.
+     *
+     * @param p The particles.
+     */
+    @Benchmark
+    @OperationsPerInvocation( EMIT_QUANTITY )
+    public void emit( Particles p ) {
+        p.emitter.emit( p.emission, EMIT_QUANTITY );
+    }
+    
+    /**
+     * Update of a static emitter.
+     *
+     * @param p The particles.
+     */
+    @Benchmark
+    public void updateStatic( Particles p ) {
+        p.emitter.updateStatic( 1.0 / 60.0 );
+    }
+    
+    /**
+     * Update of a moving emitter.
+     *
+     * @param p The particles.
+     */
+    @Benchmark
+    public void updateMoveSin( Particles p ) {
+        p.emitter.updateMoveSin( 1.0 / 60.0, WIDTH );
+    }
+    
+    /**
+     * Particle/obstacle collision testing every pair.
+     *
+     * @param p The particles.
+     * @param o The obstacles.
+     */
+    @Benchmark
+    public void resolveParticlesObstaclesCollision( Particles p, Obstacles o ) {
+        p.emitter.resolveParticlesObstaclesCollision( o.obstacles, o.obstacleQuantity );
+    }
+    
+    /**
+     * Particle/obstacle collision using the obstacle grid.
+     *
+     * @param p The particles.
+     * @param o The obstacles.
+     */
+    @Benchmark
+    public void resolveParticlesObstaclesCollisionGrid( Particles p, Obstacles o ) {
+        p.emitter.resolveParticlesObstaclesCollision( o.obstacles, o.obstacleGrid );
+    }
+    
+}
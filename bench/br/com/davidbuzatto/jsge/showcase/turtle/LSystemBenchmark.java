@@ -0,0 +1,142 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.turtle;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JMH benchmarks of the expansion of the Penrose L-system: LSystem, into
+ * an array or read by a cursor, against a copy of the previous expansion
+ * of the example, which concatenated Strings generation by generation.
+ *
+ * Run with "ant bench" (see build.xml).
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 1 )
+@Measurement( iterations = 5, time = 1 )
+@Fork( 1 )
+public class LSystemBenchmark {
+    
+    private static final String AXIOM = "[X]++[X]++[X]++[X]++[X]";
+    private static final String RULE_W = "YF++ZF4-XF[-YF4-WF]++";
+    private static final String RULE_X = "+YF--ZF[3-WF--XF]+";
+    private static final String RULE_Y = "-WF++XF[+++YF++ZF]-";
+    private static final String RULE_Z = "--YF++++WF[+ZF++++XF]--XF";
+    
+    /**
+     * The Penrose L-system.
+     */
+    @State( Scope.Thread )
+    public static class Penrose {
+        
+        @Param( { "4", "6" } )
+        private int generations;
+        
+        private LSystem lSystem;
+        
+        /**
+         * Creates the L-system.
+         */
+        @Setup( Level.Trial )
+        public void setupTrial() {
+            lSystem = new LSystem( AXIOM );
+            lSystem.setRule( 'W', RULE_W );
+            lSystem.setRule( 'X', RULE_X );
+            lSystem.setRule( 'Y', RULE_Y );
+            lSystem.setRule( 'Z', RULE_Z );
+            lSystem.setRule( 'F', "" );
+        }
+        
+    }
+    
+    /**
+     * Expansion into a byte array allocated once.
+     *
+     * @param p The L-system.
+     * @return The production.
+     */
+    @Benchmark
+    public byte[] lSystem( Penrose p ) {
+        return p.lSystem.expand( p.generations );
+    }
+    
+    /**
+     * Reading every symbol through a cursor, without storing them.
+     *
+     * @param p The L-system.
+     * @return The sum of the symbols.
+     */
+    @Benchmark
+    public long cursor( Penrose p ) {
+        LSystem.Cursor cursor = p.lSystem.cursor( p.generations );
+        long sum = 0;
+        for ( int s = cursor.next(); s >= 0; s = cursor.next() ) {
+            sum += s;
+        }
+        return sum;
+    }
+    
+    /**
+     * Expansion by String concatenation, one generation at a time.
+     *
+     * @param p The L-system.
+     * @return The production.
+     */
+    @Benchmark
+    public String stringConcatenation( Penrose p ) {
+        
+        String production = AXIOM;
+        
+        for ( int g = 0; g < p.generations; g++ ) {
+            String newProduction = "";
+            for ( int i = 0; i < production.length(); i++ ) {
+                char step = production.charAt( i );
+                switch ( step ) {
+                    case 'W': newProduction += RULE_W; break;
+                    case 'X': newProduction += RULE_X; break;
+                    case 'Y': newProduction += RULE_Y; break;
+                    case 'Z': newProduction += RULE_Z; break;
+                    default:
+                        if ( step != 'F' ) {
+                            newProduction += step;
+                        }
+                        break;
+                }
+            }
+            production = newProduction;
+        }
+        
+        return production;
+        
+    }
+    
+}
@@ -0,0 +1,4 @@
+package br.com.davidbuzatto.jsge.showcase.animation.jmh_generated;
+public class CompiledTweenBenchmark_Tweens_jmhType extends CompiledTweenBenchmark_Tweens_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package br.com.davidbuzatto.jsge.showcase.animation.jmh_generated;
+public class CompiledTweenBenchmark_jmhType extends CompiledTweenBenchmark_jmhType_B3 {
+}
+
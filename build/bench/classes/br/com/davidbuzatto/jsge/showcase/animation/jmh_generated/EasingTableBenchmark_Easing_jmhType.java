@@ -0,0 +1,4 @@
+package br.com.davidbuzatto.jsge.showcase.animation.jmh_generated;
+public class EasingTableBenchmark_Easing_jmhType extends EasingTableBenchmark_Easing_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package br.com.davidbuzatto.jsge.showcase.animation.jmh_generated;
+public class TweenSchedulerBenchmark_Tweens_jmhType extends TweenSchedulerBenchmark_Tweens_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package br.com.davidbuzatto.jsge.showcase.animation.jmh_generated;
+public class TweenSchedulerBenchmark_jmhType extends TweenSchedulerBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package br.com.davidbuzatto.jsge.showcase.collision.jmh_generated;
+public class AABBQuadtreeBenchmark_jmhType extends AABBQuadtreeBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package br.com.davidbuzatto.jsge.showcase.collision.jmh_generated;
+public class PointHitTesterBenchmark_jmhType extends PointHitTesterBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package br.com.davidbuzatto.jsge.showcase.particles.jmh_generated;
+public class ParticleEmitterBenchmark_Obstacles_jmhType extends ParticleEmitterBenchmark_Obstacles_jmhType_B3 {
+}
+
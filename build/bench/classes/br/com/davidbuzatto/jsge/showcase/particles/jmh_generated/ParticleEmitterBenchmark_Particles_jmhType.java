@@ -0,0 +1,4 @@
+package br.com.davidbuzatto.jsge.showcase.particles.jmh_generated;
+public class ParticleEmitterBenchmark_Particles_jmhType extends ParticleEmitterBenchmark_Particles_jmhType_B3 {
+}
+
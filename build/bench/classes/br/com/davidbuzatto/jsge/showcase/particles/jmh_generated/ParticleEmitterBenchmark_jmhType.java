@@ -0,0 +1,4 @@
+package br.com.davidbuzatto.jsge.showcase.particles.jmh_generated;
+public class ParticleEmitterBenchmark_jmhType extends ParticleEmitterBenchmark_jmhType_B3 {
+}
+
@@ -0,0 +1,4 @@
+package br.com.davidbuzatto.jsge.showcase.turtle.jmh_generated;
+public class LSystemBenchmark_Penrose_jmhType extends LSystemBenchmark_Penrose_jmhType_B3 {
+}
+
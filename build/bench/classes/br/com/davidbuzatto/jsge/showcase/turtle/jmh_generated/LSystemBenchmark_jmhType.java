@@ -0,0 +1,4 @@
+package br.com.davidbuzatto.jsge.showcase.turtle.jmh_generated;
+public class LSystemBenchmark_jmhType extends LSystemBenchmark_jmhType_B3 {
+}
+
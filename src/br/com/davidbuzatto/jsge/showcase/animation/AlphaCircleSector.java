@@ -0,0 +1,51 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.animation;
+
+import br.com.davidbuzatto.jsge.geom.CircleSector;
+
+/**
+ * A circle sector with an alpha value, used by the alpha tween animations.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class AlphaCircleSector extends CircleSector {
+    
+    /** alpha, from 0 to 255 */
+    public int alpha;
+    
+    /**
+     * Creates an empty circle sector.
+     */
+    public AlphaCircleSector() {
+        super();
+    }
+    
+    /**
+     * Creates a circle sector.
+     *
+     * @param x x coordinate of the center.
+     * @param y y coordinate of the center.
+     * @param radius Radius.
+     * @param startAngle Start angle.
+     * @param endAngle End angle.
+     */
+    public AlphaCircleSector( int x, int y, int radius, int startAngle, int endAngle ) {
+        super( x, y, radius, startAngle, endAngle );
+    }
+    
+}
@@ -0,0 +1,766 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.animation;
+
+import br.com.davidbuzatto.jsge.animation.AnimationExecutionState;
+import br.com.davidbuzatto.jsge.animation.frame.DrawableAnimationFrame;
+import br.com.davidbuzatto.jsge.animation.frame.FrameByFrameAnimation;
+import br.com.davidbuzatto.jsge.animation.frame.SpriteMapAnimationFrame;
+import br.com.davidbuzatto.jsge.animation.tween.TweenAnimation;
+import br.com.davidbuzatto.jsge.animation.tween.TweenAnimationProperties;
+import br.com.davidbuzatto.jsge.animation.tween.easing.EasingTweenAnimation;
+import br.com.davidbuzatto.jsge.animation.tween.easing.TweenAnimationEasingFunctions;
+import br.com.davidbuzatto.jsge.animation.tween.timing.TimingTweenAnimation;
+import br.com.davidbuzatto.jsge.core.utils.ColorUtils;
+import br.com.davidbuzatto.jsge.geom.Circle;
+import br.com.davidbuzatto.jsge.geom.CubicCurve;
+import br.com.davidbuzatto.jsge.geom.Polygon;
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+import br.com.davidbuzatto.jsge.geom.Ring;
+import br.com.davidbuzatto.jsge.geom.RoundRectangle;
+import br.com.davidbuzatto.jsge.geom.Star;
+import br.com.davidbuzatto.jsge.image.Image;
+import br.com.davidbuzatto.jsge.image.ImageUtils;
+import br.com.davidbuzatto.jsge.math.Vector2;
+import br.com.davidbuzatto.jsge.showcase.cache.DrawableRenderer;
+import br.com.davidbuzatto.jsge.showcase.cache.RenderCache;
+import br.com.davidbuzatto.jsge.showcase.headless.HeadlessColors;
+import br.com.davidbuzatto.jsge.showcase.headless.HeadlessSimulation;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.DoubleFunction;
+
+/**
+ * Simulation state of the animations example: frame by frame animations,
+ * tween animations and the sprite movement.
+ * Several parts of the component code are intentionally left unencapsulated.
+ *
+ * AnimationsExample drives it from the user input. When run headless, the
+ * sprite walks and jumps by itself and the next easing function is chosen
+ * whenever the easing tweens finish.
+ *
+ * A crowd of small circles is moved by a TweenScheduler: each circle
+ * tweens to a random point with a random easing function and gets a new
+ * target when it arrives. Only the crowd is owned by the scheduler. The
+ * tweens in their own fields (eta* and ta*) show the tween classes of
+ * the engine one by one, with their state, percentage and reset, which
+ * the scheduler does not keep per tween, so they are still updated one
+ * by one in updateAnimations. Its size is the headless workload. The crowd
+ * is empty by default, since it shares the area of the timing animation,
+ * which is drawn over it.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class AnimationsSimulation implements HeadlessSimulation {
+    
+    /** available easing functions */
+    static final Pair[] EASING_FUNCTIONS = {
+        new Pair( "easeInSine", TweenAnimationEasingFunctions.easeInSine ),
+        new Pair( "easeOutSine", TweenAnimationEasingFunctions.easeOutSine ),
+        new Pair( "easeInOutSine", TweenAnimationEasingFunctions.easeInOutSine ),
+        new Pair( "easeInQuad", TweenAnimationEasingFunctions.easeInQuad ),
+        new Pair( "easeOutQuad", TweenAnimationEasingFunctions.easeOutQuad ),
+        new Pair( "easeInOutQuad", TweenAnimationEasingFunctions.easeInOutQuad ),
+        new Pair( "easeInCubic", TweenAnimationEasingFunctions.easeInCubic ),
+        new Pair( "easeOutCubic", TweenAnimationEasingFunctions.easeOutCubic ),
+        new Pair( "easeInOutCubic", TweenAnimationEasingFunctions.easeInOutCubic ),
+        new Pair( "easeInQuart", TweenAnimationEasingFunctions.easeInQuart ),
+        new Pair( "easeOutQuart", TweenAnimationEasingFunctions.easeOutQuart ),
+        new Pair( "easeInOutQuart", TweenAnimationEasingFunctions.easeInOutQuart ),
+        new Pair( "easeInQuint", TweenAnimationEasingFunctions.easeInQuint ),
+        new Pair( "easeOutQuint", TweenAnimationEasingFunctions.easeOutQuint ),
+        new Pair( "easeInOutQuint", TweenAnimationEasingFunctions.easeInOutQuint ),
+        new Pair( "easeInExpo", TweenAnimationEasingFunctions.easeInExpo ),
+        new Pair( "easeOutExpo", TweenAnimationEasingFunctions.easeOutExpo ),
+        new Pair( "easeInOutExpo", TweenAnimationEasingFunctions.easeInOutExpo ),
+        new Pair( "easeInCirc", TweenAnimationEasingFunctions.easeInCirc ),
+        new Pair( "easeOutCirc", TweenAnimationEasingFunctions.easeOutCirc ),
+        new Pair( "easeInOutCirc", TweenAnimationEasingFunctions.easeInOutCirc ),
+        new Pair( "easeInBack", TweenAnimationEasingFunctions.easeInBack ),
+        new Pair( "easeOutBack", TweenAnimationEasingFunctions.easeOutBack ),
+        new Pair( "easeInOutBack", TweenAnimationEasingFunctions.easeInOutBack ),
+        new Pair( "easeInElastic", TweenAnimationEasingFunctions.easeInElastic ),
+        new Pair( "easeOutElastic", TweenAnimationEasingFunctions.easeOutElastic ),
+        new Pair( "easeInOutElastic", TweenAnimationEasingFunctions.easeInOutElastic ),
+        new Pair( "easeInBounce", TweenAnimationEasingFunctions.easeInBounce ),
+        new Pair( "easeOutBounce", TweenAnimationEasingFunctions.easeOutBounce ),
+        new Pair( "easeInOutBounce", TweenAnimationEasingFunctions.easeInOutBounce )
+    };
+    
+    /** lookup table resolutions that can be chosen */
+    static final int[] EASING_TABLE_RESOLUTIONS = { 16, 64, 256, 1024, 4096 };
+    
+    static final int[] CROWD_SIZES = { 0, 1000, 10000, 100000 };
+    
+    static final Rectangle DRAWABLE_FRAME_REGION = new Rectangle( 15, 155, 420, 80 );
+    
+    private static final long RENDER_CACHE_BUDGET = 8 * 1024 * 1024;
+    
+    private static final double GRAVITY = 20;
+    
+    TextureAtlas atlas;
+    RenderCache<String> renderCache;
+    
+    // fill colors of the drawable frames, set before they are rendered
+    Color[] drawableFrameColors = { 
+        HeadlessColors.RED, HeadlessColors.LIME, HeadlessColors.GOLD, HeadlessColors.ORANGE, 
+        HeadlessColors.BLUE, HeadlessColors.PINK, HeadlessColors.VIOLET 
+    };
+    FrameByFrameAnimation<SpriteMapAnimationFrame> imageAnimation;
+    FrameByFrameAnimation<DrawableAnimationFrame> drawableAnimation;
+    
+    // image of the current drawable frame, read by the drawing thread
+    private volatile Image drawableFrameImage;
+    
+    Vector2 spritePos;
+    Vector2 spriteDim;
+    Vector2 spriteVel;
+    double spriteWalkSpeed;
+    double spriteJumpSpeed;
+    double spriteMaxFallSpeed;
+    boolean spriteTurnedRight;
+    boolean spriteIdle;
+    boolean spriteWalking;
+    boolean spriteJumping;
+    Rectangle floorRectangle;
+    FrameByFrameAnimation<SpriteMapAnimationFrame> spriteAnimationIdleRight;
+    FrameByFrameAnimation<SpriteMapAnimationFrame> spriteAnimationIdleLeft;
+    FrameByFrameAnimation<SpriteMapAnimationFrame> spriteAnimationWalkingRight;
+    FrameByFrameAnimation<SpriteMapAnimationFrame> spriteAnimationWalkingLeft;
+    FrameByFrameAnimation<SpriteMapAnimationFrame> spriteAnimationJumpingRight;
+    FrameByFrameAnimation<SpriteMapAnimationFrame> spriteAnimationJumpingLeft;
+    
+    EasingTweenAnimation<Rectangle> etaPos;
+    EasingTweenAnimation<Circle> etaRadiusg;
+    EasingTweenAnimation<AlphaCircleSector> etaAlpha;
+    EasingTweenAnimation<Polygon> etaRotation;
+    
+    TweenAnimation<Rectangle> taPos;
+    TweenAnimation<Circle> taRadius;
+    TweenAnimation<AlphaCircleSector> taAlpha;
+    TweenAnimation<Polygon> taRotation;
+    
+    TimingTweenAnimation<Polygon> timingAnim;
+    
+    Pair easingFunctionPair;
+    int currentEasingFunction;
+    
+    // easing function used by the tweens: the one of the current pair
+    // or its lookup table
+    DoubleFunction<Double> easingFunction;
+    boolean easingTables;
+    int easingTableResolutionOption;
+    
+    TweenScheduler scheduler;
+    volatile Circle[] crowd;
+    Rectangle crowdArea;
+    int crowdSizeOption;
+    public double schedulerUpdateTime;
+    
+    private int screenWidth;
+    private SplittableRandom random;
+    
+    // headless input
+    private double jumpCounter;
+    private boolean walkingRight = true;
+    
+    static class Pair {
+
+        String name;
+        DoubleFunction<Double> function;
+        EasingTable table;
+        
+        Pair( String name, DoubleFunction<Double> function ) {
+            this.name = name;
+            this.function = function;
+        }
+        
+        EasingTable getTable( int resolution ) {
+            if ( table == null || table.getResolution() != resolution ) {
+                table = new EasingTable( function, resolution );
+            }
+            return table;
+        }
+        
+    }
+    
+    @Override
+    public void create( int width, int height ) {
+        
+        screenWidth = width;
+        
+        /**
+         * Each frame-based animation requires a list of images
+         * or drawable components (Drawable interface).
+         * 
+         * The image frames (coins and sprite maps, including the left
+         * facing variants) are packed into a single atlas image.
+         */
+        spriteDim = new Vector2( 64, 64 );
+        
+        atlas = new TextureAtlas();
+        for ( int i = 0; i < 4; i++ ) {
+            atlas.addImage( "coin", ImageUtils.loadImage( "resources/images/coin" + i + ".png" ) );
+        }
+        addSpriteMaps( "idle", ImageUtils.loadImage( "resources/images/spriteMapIdle.png" ), 4 );
+        addSpriteMaps( "walking", ImageUtils.loadImage( "resources/images/spriteMapWalking.png" ), 6 );
+        addSpriteMaps( "jumping", ImageUtils.loadImage( "resources/images/spriteMapJumping.png" ), 8 );
+        atlas.build();
+        
+        renderCache = new RenderCache<>( RENDER_CACHE_BUDGET );
+        
+        imageAnimation = new FrameByFrameAnimation<>( 0.1, atlas.getFrames( "coin" ) );
+        
+        List<DrawableAnimationFrame> drawableFrames = new ArrayList<>();
+        drawableFrames.add( new DrawableAnimationFrame( new Rectangle( 20, 170, 50, 50 ) ) );
+        drawableFrames.add( new DrawableAnimationFrame( new RoundRectangle( 70, 170, 50, 50, 20 ) ) );
+        drawableFrames.add( new DrawableAnimationFrame( new Circle( 145, 195, 25 ) ) );
+        drawableFrames.add( new DrawableAnimationFrame( new Polygon( 195, 195, 5, 25 ) ) );
+        drawableFrames.add( new DrawableAnimationFrame( new Star( 245, 195, 6, 25, 30 ) ) );
+        drawableFrames.add( new DrawableAnimationFrame( new Ring( 295, 195, 10, 25, 60, 300 ) ) );
+        drawableFrames.add( new DrawableAnimationFrame( new CubicCurve( 320, 195, 365, 140, 385, 250, 430, 195 ) ) );
+        drawableAnimation = new FrameByFrameAnimation<>( 0.5, drawableFrames );
+        //drawableAnimation.setRunBackwards( true );
+        //drawableAnimation.setStopAtLastFrameWhenFinished( true );
+        
+        spritePos = new Vector2( 150, 840 );
+        spriteVel = new Vector2();
+        spriteWalkSpeed = 200;
+        spriteJumpSpeed = 400;
+        spriteMaxFallSpeed = 400;
+        spriteTurnedRight = true;
+        spriteIdle = true;
+        spriteWalking = false;
+        spriteJumping = false;
+        floorRectangle = new Rectangle( 150, 904, width - 175, 10 );
+        
+        spriteAnimationIdleRight = new FrameByFrameAnimation<>( 0.1, atlas.getFrames( "idleRight" ) );
+        spriteAnimationIdleLeft = new FrameByFrameAnimation<>( 0.1, atlas.getFrames( "idleLeft" ) );
+        spriteAnimationWalkingRight = new FrameByFrameAnimation<>( 0.05, atlas.getFrames( "walkingRight" ) );
+        spriteAnimationWalkingLeft = new FrameByFrameAnimation<>( 0.05, atlas.getFrames( "walkingLeft" ) );
+        spriteAnimationJumpingRight = new FrameByFrameAnimation<>( 0.1, atlas.getFrames( "jumpingRight" ) );
+        spriteAnimationJumpingLeft = new FrameByFrameAnimation<>( 0.1, atlas.getFrames( "jumpingLeft" ) );
+        
+        /**
+         * To simplify passing multiple parameters to the update function
+         * execution, the TweenAnimationProperties class is used.
+         * All these parameters can be accessed and modified as needed
+         * inside the corresponding update function.
+         */
+        TweenAnimationProperties pPosEasing = TweenAnimationProperties.of( 
+            "x1", 40,
+            "y1", 345,
+            "x2", 340
+        );
+        
+        TweenAnimationProperties pRadiusEasing = TweenAnimationProperties.of( 
+            "x1", 520,
+            "y1", 385,
+            "radius1", 10, 
+            "radius2", 40
+        );
+        
+        TweenAnimationProperties pAlphaEasing = TweenAnimationProperties.of( 
+            "x1", 655,
+            "y1", 385,
+            "alpha1", 0, 
+            "alpha2", 255
+        );
+        
+        TweenAnimationProperties pRotationEasing = TweenAnimationProperties.of( 
+            "x1", 790,
+            "y1", 385,
+            "angle1", 0.0, 
+            "angle2", 360.0
+        );
+        
+        TweenAnimationProperties pPos = TweenAnimationProperties.of( 
+            "x1", 40,
+            "y1", 435,
+            "x2", 340,
+            "velX", 150
+        );
+        
+        TweenAnimationProperties pRadius = TweenAnimationProperties.of( 
+            "x1", 520,
+            "y1", 475,
+            "radius1", 10, 
+            "radius2", 40,
+            "velRadius", 15
+        );
+        
+        TweenAnimationProperties pAlpha = TweenAnimationProperties.of( 
+            "x1", 655,
+            "y1", 475,
+            "alpha1", 0, 
+            "alpha2", 255,
+            "velAlpha", 128
+        );
+        
+        TweenAnimationProperties pRotation = TweenAnimationProperties.of( 
+            "x1", 790,
+            "y1", 475,
+            "angle1", 0.0, 
+            "angle2", 360.0,
+            "velAngle", 180.0
+        );
+        
+        TweenAnimationProperties pTiming = TweenAnimationProperties.of( 
+            "x", 280,
+            "y", 700,
+            "angle", 0,
+            "radius", 10,
+            "velX", 200,
+            "velY", 200,
+            "velAngle", 200,
+            "velRadius", 15
+        );
+        
+        easingFunctionPair = EASING_FUNCTIONS[currentEasingFunction];
+        easingTables = true;
+        easingTableResolutionOption = 3;
+        easingFunction = selectEasingFunction();
+        
+        etaPos = new EasingTweenAnimation<>(
+            pPosEasing,                                        // properties
+            ComponentMappersFactory.position( new Rectangle( 0, 0, 80, 80 ) ),                                   // mapper
+            EasingUpdateFunctionsFactory.<Rectangle>tweenX(),  // update function
+            easingFunction,                                    // easing function
+            0.5                                                // 50% per second (2 seconds to complete the full interpolation)
+        );
+        
+        etaRadiusg = new EasingTweenAnimation<>(
+            pRadiusEasing,
+            ComponentMappersFactory.radius( new Circle( 0, 0, 0 ) ),
+            EasingUpdateFunctionsFactory.<Circle>tweenRadius(),
+            easingFunction,
+            0.5
+        );
+        
+        etaAlpha = new EasingTweenAnimation<>(
+            pAlphaEasing,
+            ComponentMappersFactory.alpha( new AlphaCircleSector( 0, 0, 40, 30, 330 ) ),
+            EasingUpdateFunctionsFactory.<AlphaCircleSector>tweenAlpha(),
+            easingFunction,
+            0.5
+        );
+        
+        etaRotation = new EasingTweenAnimation<>(
+            pRotationEasing,
+            ComponentMappersFactory.rotation( new Polygon( 0, 0, 5, 40 ) ),
+            EasingUpdateFunctionsFactory.<Polygon>tweenRotation(),
+            easingFunction,
+            0.5
+        );
+        
+        taPos = new TweenAnimation<>(
+            pPos,                                              // properties
+            ComponentMappersFactory.position( new Rectangle( 0, 0, 80, 80 ) ), // mapper
+            UpdateFunctionsFactory.<Rectangle>tweenX()         // update function
+        );
+        
+        taRadius = new TweenAnimation<>(
+            pRadius,
+            ComponentMappersFactory.radius( new Circle( 0, 0, 0 ) ),
+            UpdateFunctionsFactory.<Circle>tweenRadius()
+        );
+        
+        taAlpha = new TweenAnimation<>(
+            pAlpha,
+            ComponentMappersFactory.alpha( new AlphaCircleSector( 0, 0, 40, 30, 330 ) ),
+            UpdateFunctionsFactory.<AlphaCircleSector>tweenAlpha()
+        );
+        
+        taRotation = new TweenAnimation<>(
+            pRotation,
+            ComponentMappersFactory.rotation( new Polygon( 0, 0, 5, 40 ) ),
+            UpdateFunctionsFactory.<Polygon>tweenRotation()
+        );
+        
+        timingAnim = new TimingTweenAnimation<>(
+            pTiming,
+            ComponentMappersFactory.timing( new Polygon( 0, 0, 6, 10 ) ),
+            TimingFunctionsFactory.<Polygon>tweenTime(),
+            1.5
+        );
+        
+        random = new SplittableRandom();
+        scheduler = new TweenScheduler();
+        crowdArea = new Rectangle( 10, 585, width - 20, 205 );
+        crowdSizeOption = 0;
+        setCrowdSize( CROWD_SIZES[crowdSizeOption] );
+        
+    }
+    
+    /**
+     * Adds the frames of a sprite map to the atlas, facing right and,
+     * mirrored, facing left.
+     */
+    private void addSpriteMaps( String name, Image spriteMap, int quantity ) {
+        atlas.addSpriteMap( name + "Right", spriteMap, quantity, spriteDim.x, spriteDim.y );
+        atlas.addSpriteMap( name + "Left", spriteMap, quantity, spriteDim.x, spriteDim.y, true );
+    }
+    
+    /**
+     * Recreates the crowd moved by the tween scheduler.
+     *
+     * @param size Number of circles.
+     */
+    public void setCrowdSize( int size ) {
+        
+        scheduler.clear();
+        
+        // filled before being published, since it is drawn in another thread
+        Circle[] newCrowd = new Circle[size];
+        for ( int i = 0; i < size; i++ ) {
+            newCrowd[i] = new Circle( 
+                random.nextDouble( crowdArea.x, crowdArea.x + crowdArea.width ), 
+                random.nextDouble( crowdArea.y, crowdArea.y + crowdArea.height ), 
+                2 
+            );
+            addCrowdTween( ComponentMappersFactory.radius( newCrowd[i] ) );
+        }
+        crowd = newCrowd;
+        
+    }
+    
+    /**
+     * Recreates the crowd with the given number of circles.
+     *
+     * @param size Number of circles.
+     */
+    @Override
+    public void setWorkload( int size ) {
+        setCrowdSize( size );
+    }
+    
+    /**
+     * Advances the crowd and sends the circles that arrived to new
+     * targets.
+     *
+     * @param delta Time delta.
+     */
+    public void updateCrowd( double delta ) {
+        
+        long updateStart = System.nanoTime();
+        scheduler.update( delta );
+        schedulerUpdateTime = ( System.nanoTime() - updateStart ) / 1000000.0;
+        
+        TweenComponentMapper<?>[] finished = scheduler.getFinished();
+        for ( int i = 0; i < scheduler.getFinishedCount(); i++ ) {
+            addCrowdTween( finished[i] );
+        }
+        
+    }
+    
+    private void addCrowdTween( TweenComponentMapper<?> mapper ) {
+        Pair pair = EASING_FUNCTIONS[random.nextInt( EASING_FUNCTIONS.length )];
+        scheduler.add( 
+            TweenScheduler.Kind.XY, 
+            mapper, 
+            easingTables ? pair.getTable( EASING_TABLE_RESOLUTIONS[easingTableResolutionOption] ) : pair.function, 
+            mapper.getX(), random.nextDouble( crowdArea.x, crowdArea.x + crowdArea.width ), 
+            mapper.getY(), random.nextDouble( crowdArea.y, crowdArea.y + crowdArea.height ), 
+            random.nextDouble( 0.2, 1.0 )
+        );
+    }
+    
+    /**
+     * Updates every animation.
+     *
+     * @param delta Time delta.
+     */
+    public void updateAnimations( double delta ) {
+        
+        imageAnimation.update( delta );
+        drawableAnimation.update( delta );
+        
+        spriteAnimationIdleRight.update( delta );
+        spriteAnimationIdleLeft.update( delta );
+        spriteAnimationWalkingRight.update( delta );
+        spriteAnimationWalkingLeft.update( delta );
+        spriteAnimationJumpingRight.update( delta );
+        spriteAnimationJumpingLeft.update( delta );
+        
+        etaPos.update( delta );
+        etaRadiusg.update( delta );
+        etaAlpha.update( delta );
+        etaRotation.update( delta );
+        
+        taPos.update( delta );
+        taRadius.update( delta );
+        taAlpha.update( delta );
+        taRotation.update( delta );
+        
+        timingAnim.update( delta );
+        
+        updateDrawableFrameImage();
+        
+    }
+    
+    /**
+     * Takes the image of the current drawable frame, filled and outlined,
+     * from the render cache, rendering it into an image of
+     * DRAWABLE_FRAME_REGION the first time the frame is shown. Called by
+     * updateAnimations, so the render cache is only used by the thread
+     * that updates.
+     */
+    void updateDrawableFrameImage() {
+        int position = drawableAnimation.getCurrentFramePosition();
+        Rectangle r = DRAWABLE_FRAME_REGION;
+        drawableFrameImage = renderCache.get( "frame:" + position, r.x, r.y, (int) r.width, (int) r.height, image -> {
+            DrawableAnimationFrame frame = drawableAnimation.getCurrentFrame();
+            DrawableRenderer.fill( image, frame.drawable, drawableFrameColors[position] );
+            DrawableRenderer.draw( image, frame.drawable, HeadlessColors.BLACK );
+        });
+    }
+    
+    /**
+     * Returns the image of the current drawable frame, as of the last
+     * update.
+     *
+     * @return The image of the frame, or null before the first update.
+     */
+    public Image getDrawableFrameImage() {
+        return drawableFrameImage;
+    }
+    
+    /**
+     * Moves the sprite.
+     *
+     * @param delta Time delta.
+     * @param left Whether the sprite is walking to the left.
+     * @param right Whether the sprite is walking to the right.
+     * @param jump Whether the sprite starts a jump.
+     */
+    public void updateSprite( double delta, boolean left, boolean right, boolean jump ) {
+        
+        if ( left ) {
+            spriteVel.x = -spriteWalkSpeed;
+            spriteTurnedRight = false;
+            spriteIdle = false;
+        } else if ( right ) {
+            spriteVel.x = spriteWalkSpeed;
+            spriteTurnedRight = true;
+            spriteIdle = false;
+        } else {
+            spriteVel.x = 0;
+            spriteIdle = true;
+        }
+        
+        if ( jump ) {
+            spriteVel.y = -spriteJumpSpeed;
+            spriteJumping = true;
+        }
+        
+        spritePos.x += spriteVel.x * delta;
+        spritePos.y += spriteVel.y * delta;
+        
+        if ( spritePos.x <= 130 ) {
+            spritePos.x = 130;
+        } else if ( spritePos.x + spriteDim.x >= screenWidth - 10 ) {
+            spritePos.x = screenWidth - 10 - spriteDim.x;
+        }
+        
+        if ( spritePos.y + spriteDim.y > floorRectangle.y ) {
+            spritePos.y = floorRectangle.y - spriteDim.y;
+            spriteJumping = false;
+        }
+        
+        spriteVel.y += GRAVITY;
+        if ( spriteVel.y > spriteMaxFallSpeed ) {
+            spriteVel.y = spriteMaxFallSpeed;
+        }
+        
+    }
+    
+    /**
+     * Selects an easing function and restarts the tween animations.
+     *
+     * @param index Index of the easing function.
+     */
+    public void setEasingFunction( int index ) {
+        
+        currentEasingFunction = index;
+        easingFunctionPair = EASING_FUNCTIONS[currentEasingFunction];
+        
+        etaPos.reset();
+        etaRadiusg.reset();
+        etaAlpha.reset();
+        etaRotation.reset();
+        
+        taPos.reset();
+        taRadius.reset();
+        taAlpha.reset();
+        taRotation.reset();
+        
+        updateEasingFunction();
+        
+    }
+    
+    /**
+     * Changes whether the tweens evaluate the easing functions directly or
+     * through lookup tables. The tweens keep running.
+     *
+     * @param easingTables Whether lookup tables are used.
+     */
+    public void setEasingTables( boolean easingTables ) {
+        this.easingTables = easingTables;
+        updateEasingFunction();
+    }
+    
+    /**
+     * Changes the resolution of the lookup tables. The tweens keep running.
+     *
+     * @param option Index of the resolution in EASING_TABLE_RESOLUTIONS.
+     */
+    public void setEasingTableResolution( int option ) {
+        easingTableResolutionOption = option;
+        updateEasingFunction();
+    }
+    
+    /**
+     * Returns the lookup table of the current easing function, for the
+     * selected resolution.
+     *
+     * @return The lookup table.
+     */
+    public EasingTable getEasingTable() {
+        return easingFunctionPair.getTable( EASING_TABLE_RESOLUTIONS[easingTableResolutionOption] );
+    }
+    
+    private DoubleFunction<Double> selectEasingFunction() {
+        return easingTables ? getEasingTable() : easingFunctionPair.function;
+    }
+    
+    private void updateEasingFunction() {
+        easingFunction = selectEasingFunction();
+        etaPos.setEasingFunction( easingFunction );
+        etaRadiusg.setEasingFunction( easingFunction );
+        etaAlpha.setEasingFunction( easingFunction );
+        etaRotation.setEasingFunction( easingFunction );
+    }
+    
+    /**
+     * Restarts the timing animation.
+     *
+     * @param newTotalExecutionTime New total execution time.
+     */
+    public void resetTimingAnimation( double newTotalExecutionTime ) {
+        timingAnim.reset();
+        timingAnim.setTotalExecutionTime( newTotalExecutionTime );
+    }
+    
+    /**
+     * Returns the sprite frame to be drawn.
+     *
+     * @return The current sprite frame.
+     */
+    public SpriteMapAnimationFrame getCurrentSpriteFrame() {
+        if ( spriteJumping ) {
+            return spriteTurnedRight ? 
+                spriteAnimationJumpingRight.getCurrentFrame() : 
+                spriteAnimationJumpingLeft.getCurrentFrame();
+        } else if ( spriteIdle ) {
+            return spriteTurnedRight ? 
+                spriteAnimationIdleRight.getCurrentFrame() : 
+                spriteAnimationIdleLeft.getCurrentFrame();
+        }
+        return spriteTurnedRight ? 
+            spriteAnimationWalkingRight.getCurrentFrame() : 
+            spriteAnimationWalkingLeft.getCurrentFrame();
+    }
+    
+    @Override
+    public void update( double delta ) {
+        
+        // stands in for the keyboard: walks from wall to wall
+        // and jumps every two seconds
+        if ( spritePos.x <= 130 ) {
+            walkingRight = true;
+        } else if ( spritePos.x + spriteDim.x >= screenWidth - 10 ) {
+            walkingRight = false;
+        }
+        
+        jumpCounter += delta;
+        boolean jump = jumpCounter >= 2.0;
+        if ( jump ) {
+            jumpCounter = 0.0;
+        }
+        
+        updateAnimations( delta );
+        updateSprite( delta, !walkingRight, walkingRight, jump );
+        updateCrowd( delta );
+        
+        // stands in for the "next" button and for <LEFT>
+        if ( etaPos.getState() == AnimationExecutionState.FINISHED && 
+             taPos.getState() == AnimationExecutionState.FINISHED ) {
+            setEasingFunction( ( currentEasingFunction + 1 ) % EASING_FUNCTIONS.length );
+        }
+        
+        if ( timingAnim.getState() == AnimationExecutionState.FINISHED ) {
+            resetTimingAnimation( timingAnim.getTotalExecutionTime() );
+        }
+        
+    }
+    
+    @Override
+    public void draw( Image image ) {
+        
+        image.clearBackground( HeadlessColors.WHITE );
+        
+        for ( int i = 0; i < 4; i++ ) {
+            SpriteMapAnimationFrame coin = imageAnimation.getCurrentFrame();
+            image.drawImage( coin.baseImage, coin.source, 20 + i * 40, 50 );
+        }
+        
+        Image frameImage = getDrawableFrameImage();
+        if ( frameImage != null ) {
+            image.drawImage( frameImage, DRAWABLE_FRAME_REGION.x, DRAWABLE_FRAME_REGION.y );
+        }
+        
+        Rectangle r = etaPos.getComponent();
+        image.fillRectangle( r.x, r.y, r.width, r.height, HeadlessColors.VIOLET );
+        Circle c = etaRadiusg.getComponent();
+        image.fillCircle( c.x, c.y, c.radius, HeadlessColors.LIME );
+        AlphaCircleSector s = etaAlpha.getComponent();
+        image.fillCircleSector( s.x, s.y, s.radius, s.startAngle, s.endAngle, ColorUtils.fade( HeadlessColors.ORANGE, s.alpha / 255.0 ) );
+        image.fillPolygon( etaRotation.getComponent(), HeadlessColors.MAROON );
+        
+        r = taPos.getComponent();
+        image.fillRectangle( r.x, r.y, r.width, r.height, HeadlessColors.VIOLET );
+        c = taRadius.getComponent();
+        image.fillCircle( c.x, c.y, c.radius, HeadlessColors.LIME );
+        s = taAlpha.getComponent();
+        image.fillCircleSector( s.x, s.y, s.radius, s.startAngle, s.endAngle, ColorUtils.fade( HeadlessColors.ORANGE, s.alpha / 255.0 ) );
+        image.fillPolygon( taRotation.getComponent(), HeadlessColors.MAROON );
+        
+        for ( Circle cc : crowd ) {
+            image.fillCircle( cc.x, cc.y, cc.radius, HeadlessColors.GRAY );
+        }
+        
+        image.fillPolygon( timingAnim.getComponent(), HeadlessColors.BLUE );
+        
+        image.fillRectangle( floorRectangle.x, floorRectangle.y, floorRectangle.width, floorRectangle.height, HeadlessColors.PINK );
+        SpriteMapAnimationFrame frame = getCurrentSpriteFrame();
+        image.drawImage( frame.baseImage, frame.source, spritePos.x, spritePos.y );
+        
+    }
+    
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.animation;
+
+import br.com.davidbuzatto.jsge.animation.tween.TweenAnimationComponentMapper;
+
+/**
+ * The typed mapper used by an update function, resolved with
+ * TweenComponentMapper.of.
+ *
+ * As the values of CompiledTweenProperties, the typed mapper is resolved
+ * the first time a mapper is seen and again only when the animation is
+ * given a different one, so a mapper that is not a TweenComponentMapper
+ * is wrapped once instead of in every update.
+ *
+ * @param <ComponentType> The component type.
+ * @author Prof. Dr. David Buzatto
+ */
+public class CompiledComponentMapper<ComponentType> {
+    
+    private TweenAnimationComponentMapper<ComponentType> source;
+    private TweenComponentMapper<ComponentType> mapper;
+    
+    /**
+     * Returns the typed mapper of a mapper.
+     *
+     * @param cm The mapper of the animation being updated.
+     * @return The typed mapper.
+     */
+    public TweenComponentMapper<ComponentType> of( TweenAnimationComponentMapper<ComponentType> cm ) {
+        
+        if ( cm != source ) {
+            mapper = TweenComponentMapper.of( cm );
+            source = cm;
+        }
+        
+        return mapper;
+        
+    }
+    
+}
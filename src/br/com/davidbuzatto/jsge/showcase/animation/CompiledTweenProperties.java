@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.animation;
+
+import br.com.davidbuzatto.jsge.animation.tween.TweenAnimationProperties;
+import java.util.Arrays;
+
+/**
+ * The numeric properties used by an update function, resolved to slots
+ * of a primitive array.
+ *
+ * The update function asks for the slot of each property name once, when
+ * it is created, and reads the values from the array in every update.
+ * The values are copied from a TweenAnimationProperties the first time it
+ * is seen and copied again only when the animation is given a different
+ * one, so properties changed in place afterwards are not seen. An update
+ * function shared by several animations copies them again whenever it
+ * switches between them, so each animation should have its own.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class CompiledTweenProperties {
+    
+    private String[] names;
+    private double[] values;
+    private TweenAnimationProperties source;
+    
+    /**
+     * Creates an empty set of properties.
+     */
+    public CompiledTweenProperties() {
+        names = new String[0];
+        values = new double[0];
+    }
+    
+    /**
+     * Returns the slot of a property, adding it if needed.
+     *
+     * @param name The property name.
+     * @return The index of the property in the array of values.
+     */
+    public int slot( String name ) {
+        
+        for ( int i = 0; i < names.length; i++ ) {
+            if ( names[i].equals( name ) ) {
+                return i;
+            }
+        }
+        
+        names = Arrays.copyOf( names, names.length + 1 );
+        names[names.length - 1] = name;
+        values = new double[names.length];
+        source = null;
+        
+        return names.length - 1;
+        
+    }
+    
+    /**
+     * Returns the values of the properties, indexed by slot.
+     *
+     * @param properties The properties of the animation being updated.
+     * @return The values. Must not be modified.
+     */
+    public double[] values( TweenAnimationProperties properties ) {
+        
+        if ( properties != source ) {
+            for ( int i = 0; i < names.length; i++ ) {
+                values[i] = properties.getDouble( names[i] );
+            }
+            source = properties;
+        }
+        
+        return values;
+        
+    }
+    
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.animation;
+
+import br.com.davidbuzatto.jsge.geom.Circle;
+import br.com.davidbuzatto.jsge.geom.Polygon;
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+
+/**
+ * A factory of component mappers for the tween animations in the
+ * animations example.
+ *
+ * Mappers act as a communication bridge between the update functions
+ * and the components that will be updated.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public interface ComponentMappersFactory {
+    
+    /**
+     * Creates a mapper for the position of a rectangle.
+     *
+     * @param component The component.
+     * @return The mapper.
+     */
+    public static TweenComponentMapper<Rectangle> position( Rectangle component ) {
+        return new TweenComponentMapper<>( component ){
+            
+            @Override
+            public void setX( double x ) {
+                component.x = x;
+            }
+            
+            @Override
+            public void setY( double y ) {
+                component.y = y;
+            }
+            
+            @Override
+            public double getX() {
+                return component.x;
+            }
+            
+            @Override
+            public double getY() {
+                return component.y;
+            }
+            
+        };
+    }
+    
+    /**
+     * Creates a mapper for the position and radius of a circle.
+     *
+     * @param component The component.
+     * @return The mapper.
+     */
+    public static TweenComponentMapper<Circle> radius( Circle component ) {
+        return new TweenComponentMapper<>( component ){
+            
+            @Override
+            public void setX( double x ) {
+                component.x = x;
+            }
+            
+            @Override
+            public void setY( double y ) {
+                component.y = y;
+            }
+            
+            @Override
+            public void setRadius( double radius ) {
+                component.radius = radius;
+            }
+            
+            @Override
+            public double getX() {
+                return component.x;
+            }
+            
+            @Override
+            public double getY() {
+                return component.y;
+            }
+            
+            @Override
+            public double getRadius() {
+                return component.radius;
+            }
+            
+        };
+    }
+    
+    /**
+     * Creates a mapper for the position and alpha of a circle sector.
+     *
+     * @param component The component.
+     * @return The mapper.
+     */
+    public static TweenComponentMapper<AlphaCircleSector> alpha( AlphaCircleSector component ) {
+        return new TweenComponentMapper<>( component ){
+            
+            @Override
+            public void setX( double x ) {
+                component.x = x;
+            }
+            
+            @Override
+            public void setY( double y ) {
+                component.y = y;
+            }
+            
+            @Override
+            public void setAlpha( int alpha ) {
+                component.alpha = alpha;
+            }
+            
+            @Override
+            public double getX() {
+                return component.x;
+            }
+            
+            @Override
+            public double getY() {
+                return component.y;
+            }
+            
+            @Override
+            public int getAlpha() {
+                return component.alpha;
+            }
+            
+        };
+    }
+    
+    /**
+     * Creates a mapper for the position and rotation of a polygon.
+     *
+     * @param component The component.
+     * @return The mapper.
+     */
+    public static TweenComponentMapper<Polygon> rotation( Polygon component ) {
+        return new TweenComponentMapper<>( component ){
+            
+            @Override
+            public void setX( double x ) {
+                component.x = x;
+            }
+            
+            @Override
+            public void setY( double y ) {
+                component.y = y;
+            }
+            
+            @Override
+            public void setAngle( double angle ) {
+                component.rotation = angle;
+            }
+            
+            @Override
+            public double getX() {
+                return component.x;
+            }
+            
+            @Override
+            public double getY() {
+                return component.y;
+            }
+            
+            @Override
+            public double getAngle() {
+                return component.rotation;
+            }
+            
+        };
+    }
+    
+    /**
+     * Creates a mapper for the position, rotation and radius of a polygon.
+     *
+     * @param component The component.
+     * @return The mapper.
+     */
+    public static TweenComponentMapper<Polygon> timing( Polygon component ) {
+        return new TweenComponentMapper<>( component ){
+            
+            @Override
+            public void setX( double x ) {
+                component.x = x;
+            }
+            
+            @Override
+            public void setY( double y ) {
+                component.y = y;
+            }
+            
+            @Override
+            public void setAngle( double angle ) {
+                component.rotation = angle;
+            }
+            
+            @Override
+            public void setRadius( double radius ) {
+                component.radius = radius;
+            }
+            
+            @Override
+            public double getX() {
+                return component.x;
+            }
+            
+            @Override
+            public double getY() {
+                return component.y;
+            }
+            
+            @Override
+            public double getAngle() {
+                return component.rotation;
+            }
+            
+            @Override
+            public double getRadius() {
+                return component.radius;
+            }
+            
+        };
+    }
+    
+}
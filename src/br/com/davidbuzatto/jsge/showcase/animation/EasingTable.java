@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.animation;
+
+import java.util.function.DoubleFunction;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * An easing function sampled into a lookup table.
+ *
+ * The function is evaluated at evenly spaced points of [0, 1] once, when
+ * the table is created, and later evaluations interpolate linearly
+ * between the two nearest samples. Evaluating through applyAsDouble
+ * neither allocates nor calls the original function, so its cost does
+ * not depend on how expensive the function is (pow and sin for the
+ * exponential and elastic ones). Values outside [0, 1] are clamped.
+ *
+ * The table can also be used where a DoubleFunction&lt;Double&gt; is
+ * expected, like EasingTweenAnimation, but apply boxes its result.
+ * EasingUpdateFunctionsFactory.ease uses the primitive path for tables.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class EasingTable implements DoubleUnaryOperator, DoubleFunction<Double> {
+    
+    /** Default number of intervals between samples. */
+    public static final int DEFAULT_RESOLUTION = 1024;
+    
+    // points checked between each pair of samples when measuring the error
+    private static final int ERROR_CHECKS_PER_INTERVAL = 8;
+    
+    private final DoubleFunction<Double> function;
+    private final double[] samples;
+    private final int resolution;
+    
+    private double maxError = -1;
+    private double maxErrorPosition;
+    
+    /**
+     * Creates a table with the default resolution.
+     *
+     * @param function The easing function.
+     */
+    public EasingTable( DoubleFunction<Double> function ) {
+        this( function, DEFAULT_RESOLUTION );
+    }
+    
+    /**
+     * Creates a table.
+     *
+     * @param function The easing function.
+     * @param resolution Number of intervals between samples, so the table
+     * holds resolution + 1 samples. At least 1.
+     */
+    public EasingTable( DoubleFunction<Double> function, int resolution ) {
+        
+        if ( resolution < 1 ) {
+            throw new IllegalArgumentException( "the resolution must be at least 1" );
+        }
+        
+        this.function = function;
+        this.resolution = resolution;
+        this.samples = new double[resolution + 1];
+        
+        for ( int i = 0; i <= resolution; i++ ) {
+            samples[i] = function.apply( (double) i / resolution );
+        }
+        
+    }
+    
+    /**
+     * Evaluates the table.
+     *
+     * @param x The position, from 0 to 1.
+     * @return The interpolated value of the function at the position.
+     */
+    @Override
+    public double applyAsDouble( double x ) {
+        
+        if ( x <= 0 ) {
+            return samples[0];
+        }
+        if ( x >= 1 ) {
+            return samples[resolution];
+        }
+        
+        double p = x * resolution;
+        int i = (int) p;
+        double a = samples[i];
+        
+        return a + ( samples[i + 1] - a ) * ( p - i );
+        
+    }
+    
+    /**
+     * Evaluates the table, boxing the result.
+     *
+     * @param x The position, from 0 to 1.
+     * @return The interpolated value of the function at the position.
+     */
+    @Override
+    public Double apply( double x ) {
+        return applyAsDouble( x );
+    }
+    
+    /**
+     * Returns the sampled easing function.
+     *
+     * @return The easing function.
+     */
+    public DoubleFunction<Double> getFunction() {
+        return function;
+    }
+    
+    /**
+     * Returns the number of intervals between samples.
+     *
+     * @return The resolution.
+     */
+    public int getResolution() {
+        return resolution;
+    }
+    
+    /**
+     * Returns the largest absolute difference between the table and the
+     * function it samples, checked at several points between each pair of
+     * samples. Measured on the first call.
+     *
+     * @return The maximum error.
+     */
+    public double getMaxError() {
+        measureError();
+        return maxError;
+    }
+    
+    /**
+     * Returns where the maximum error was found.
+     *
+     * @return The position, from 0 to 1, of the maximum error.
+     */
+    public double getMaxErrorPosition() {
+        measureError();
+        return maxErrorPosition;
+    }
+    
+    private void measureError() {
+        
+        if ( maxError >= 0 ) {
+            return;
+        }
+        
+        maxError = 0;
+        int checks = resolution * ERROR_CHECKS_PER_INTERVAL;
+        
+        for ( int i = 1; i < checks; i++ ) {
+            double x = (double) i / checks;
+            double error = Math.abs( applyAsDouble( x ) - function.apply( x ) );
+            if ( error > maxError ) {
+                maxError = error;
+                maxErrorPosition = x;
+            }
+        }
+        
+    }
+    
+}
@@ -27,10 +27,37 @@ import java.util.function.DoubleFunction;
  * A factory of easing update functions for the eased tween animations
  * in the animations example.
  *
+ * The functions resolve the property names they use to slots of a
+ * CompiledTweenProperties when they are created and write the components
+ * through the typed accessors of TweenComponentMapper, as the mappers of
+ * ComponentMappersFactory do. Other mappers are written through their set
+ * by name (see TweenComponentMapper.of), by an adapter kept in a
+ * CompiledComponentMapper. Each animation needs its own function.
+ *
  * @author Prof. Dr. David Buzatto
  */
 public interface EasingUpdateFunctionsFactory {
     
+    /**
+     * Evaluates an easing function, without boxing the result when the
+     * function is an EasingTable.
+     *
+     * Checking for the class is constant time, while checking whether
+     * the function implements DoubleUnaryOperator walks the interfaces of
+     * the lambdas that do not, which costs about as much as evaluating
+     * the easing function itself.
+     *
+     * @param ef The easing function.
+     * @param x The position, from 0 to 1.
+     * @return The eased value.
+     */
+    public static double ease( DoubleFunction<Double> ef, double x ) {
+        if ( ef instanceof EasingTable ) {
+            return ( (EasingTable) ef ).applyAsDouble( x );
+        }
+        return ef.apply( x );
+    }
+    
     /**
      * Creates an eased interpolation function along the x axis.
      *
@@ -38,6 +65,13 @@ public interface EasingUpdateFunctionsFactory {
      * @return The interpolation function.
      */
     public static <ComponentType> EasingTweenAnimationUpdateFunction<ComponentType> tweenX() {
+        
+        CompiledTweenProperties c = new CompiledTweenProperties();
+        CompiledComponentMapper<ComponentType> cmc = new CompiledComponentMapper<>();
+        int x1 = c.slot( "x1" );
+        int y1 = c.slot( "y1" );
+        int x2 = c.slot( "x2" );
+        
         return ( 
             double delta, 
             double deltaP,
@@ -46,19 +80,22 @@ public interface EasingUpdateFunctionsFactory {
             DoubleFunction<Double> ef,
             TweenAnimationStateContainer sc ) -> {
             
+            double[] v = c.values( p );
+            TweenComponentMapper<ComponentType> m = cmc.of( cm );
+            
             if ( sc.state == AnimationExecutionState.INITIALIZED ) {
                 sc.state = AnimationExecutionState.RUNNING;
-                cm.set( "x", p.getDouble( "x1" ) );
-                cm.set( "y", p.getDouble( "y1" ) );
+                m.setX( v[x1] );
+                m.setY( v[y1] );
             }
             
             if ( sc.state == AnimationExecutionState.RUNNING ) {
                 
                 sc.percentage += deltaP * delta;
-                cm.set( "x", p.getDouble( "x1" ) + ( p.getDouble( "x2" ) - p.getDouble( "x1" ) ) * ef.apply( sc.percentage ) );
+                m.setX( v[x1] + ( v[x2] - v[x1] ) * ease( ef, sc.percentage ) );
                 
                 if ( sc.percentage >= 1.0 ) {
-                    cm.set( "x", p.getDouble( "x2" ) );
+                    m.setX( v[x2] );
                     sc.percentage = 1.0;
                     sc.state = AnimationExecutionState.FINISHED;
                 }
@@ -66,6 +103,7 @@ public interface EasingUpdateFunctionsFactory {
             }
             
         };
+        
     }
     
     /**
@@ -75,6 +113,13 @@ public interface EasingUpdateFunctionsFactory {
      * @return The interpolation function.
      */
     public static <ComponentType> EasingTweenAnimationUpdateFunction<ComponentType> tweenY() {
+        
+        CompiledTweenProperties c = new CompiledTweenProperties();
+        CompiledComponentMapper<ComponentType> cmc = new CompiledComponentMapper<>();
+        int x1 = c.slot( "x1" );
+        int y1 = c.slot( "y1" );
+        int y2 = c.slot( "y2" );
+        
         return ( 
             double delta, 
             double deltaP,
@@ -83,19 +128,22 @@ public interface EasingUpdateFunctionsFactory {
             DoubleFunction<Double> ef,
             TweenAnimationStateContainer sc ) -> {
             
+            double[] v = c.values( p );
+            TweenComponentMapper<ComponentType> m = cmc.of( cm );
+            
             if ( sc.state == AnimationExecutionState.INITIALIZED ) {
                 sc.state = AnimationExecutionState.RUNNING;
-                cm.set( "x", p.getDouble( "x1" ) );
-                cm.set( "y", p.getDouble( "y1" ) );
+                m.setX( v[x1] );
+                m.setY( v[y1] );
             }
             
             if ( sc.state == AnimationExecutionState.RUNNING ) {
                 
                 sc.percentage += deltaP * delta;
-                cm.set( "y", p.getDouble( "y1" ) + ( p.getDouble( "y2" ) - p.getDouble( "y1" ) ) * ef.apply( sc.percentage ) );
+                m.setY( v[y1] + ( v[y2] - v[y1] ) * ease( ef, sc.percentage ) );
                 
                 if ( sc.percentage >= 1.0 ) {
-                    cm.set( "y", p.getDouble( "y2" ) );
+                    m.setY( v[y2] );
                     sc.percentage = 1.0;
                     sc.state = AnimationExecutionState.FINISHED;
                 }
@@ -103,6 +151,7 @@ public interface EasingUpdateFunctionsFactory {
             }
             
         };
+        
     }
     
     /**
@@ -112,6 +161,14 @@ public interface EasingUpdateFunctionsFactory {
      * @return The interpolation function.
      */
     public static <ComponentType> EasingTweenAnimationUpdateFunction<ComponentType> tweenXY() {
+        
+        CompiledTweenProperties c = new CompiledTweenProperties();
+        CompiledComponentMapper<ComponentType> cmc = new CompiledComponentMapper<>();
+        int x1 = c.slot( "x1" );
+        int y1 = c.slot( "y1" );
+        int x2 = c.slot( "x2" );
+        int y2 = c.slot( "y2" );
+        
         return ( 
             double delta, 
             double deltaP,
@@ -120,21 +177,24 @@ public interface EasingUpdateFunctionsFactory {
             DoubleFunction<Double> ef,
             TweenAnimationStateContainer sc ) -> {
             
+            double[] v = c.values( p );
+            TweenComponentMapper<ComponentType> m = cmc.of( cm );
+            
             if ( sc.state == AnimationExecutionState.INITIALIZED ) {
                 sc.state = AnimationExecutionState.RUNNING;
-                cm.set( "x", p.getDouble( "x1" ) );
-                cm.set( "y", p.getDouble( "y1" ) );
+                m.setX( v[x1] );
+                m.setY( v[y1] );
             }
             
             if ( sc.state == AnimationExecutionState.RUNNING ) {
                 
                 sc.percentage += deltaP * delta;
-                cm.set( "x", p.getDouble( "x1" ) + ( p.getDouble( "x2" ) - p.getDouble( "x1" ) ) * ef.apply( sc.percentage ) );
-                cm.set( "y", p.getDouble( "y1" ) + ( p.getDouble( "y2" ) - p.getDouble( "y1" ) ) * ef.apply( sc.percentage ) );
+                m.setX( v[x1] + ( v[x2] - v[x1] ) * ease( ef, sc.percentage ) );
+                m.setY( v[y1] + ( v[y2] - v[y1] ) * ease( ef, sc.percentage ) );
                 
                 if ( sc.percentage >= 1.0 ) {
-                    cm.set( "x", p.getDouble( "x2" ) );
-                    cm.set( "y", p.getDouble( "y2" ) );
+                    m.setX( v[x2] );
+                    m.setY( v[y2] );
                     sc.percentage = 1.0;
                     sc.state = AnimationExecutionState.FINISHED;
                 }
@@ -142,6 +202,7 @@ public interface EasingUpdateFunctionsFactory {
             }
             
         };
+        
     }
     
     /**
@@ -151,6 +212,14 @@ public interface EasingUpdateFunctionsFactory {
      * @return The interpolation function.
      */
     public static <ComponentType> EasingTweenAnimationUpdateFunction<ComponentType> tweenRadius() {
+        
+        CompiledTweenProperties c = new CompiledTweenProperties();
+        CompiledComponentMapper<ComponentType> cmc = new CompiledComponentMapper<>();
+        int x1 = c.slot( "x1" );
+        int y1 = c.slot( "y1" );
+        int radius1 = c.slot( "radius1" );
+        int radius2 = c.slot( "radius2" );
+        
         return ( 
             double delta, 
             double deltaP,
@@ -159,19 +228,22 @@ public interface EasingUpdateFunctionsFactory {
             DoubleFunction<Double> ef,
             TweenAnimationStateContainer sc ) -> {
             
+            double[] v = c.values( p );
+            TweenComponentMapper<ComponentType> m = cmc.of( cm );
+            
             if ( sc.state == AnimationExecutionState.INITIALIZED ) {
                 sc.state = AnimationExecutionState.RUNNING;
-                cm.set( "x", p.getDouble( "x1" ) );
-                cm.set( "y", p.getDouble( "y1" ) );
+                m.setX( v[x1] );
+                m.setY( v[y1] );
             }
             
             if ( sc.state == AnimationExecutionState.RUNNING ) {
                 
                 sc.percentage += deltaP * delta;
-                cm.set( "radius", p.getDouble( "radius1" ) + ( p.getDouble( "radius2" ) - p.getDouble( "radius1" ) ) * ef.apply( sc.percentage ) );
+                m.setRadius( v[radius1] + ( v[radius2] - v[radius1] ) * ease( ef, sc.percentage ) );
                 
                 if ( sc.percentage >= 1.0 ) {
-                    cm.set( "radius", p.getDouble( "radius2" ) );
+                    m.setRadius( v[radius2] );
                     sc.percentage = 1.0;
                     sc.state = AnimationExecutionState.FINISHED;
                 }
@@ -179,6 +251,7 @@ public interface EasingUpdateFunctionsFactory {
             }
             
         };
+        
     }
     
     /**
@@ -188,6 +261,14 @@ public interface EasingUpdateFunctionsFactory {
      * @return The interpolation function.
      */
     public static <ComponentType> EasingTweenAnimationUpdateFunction<ComponentType> tweenAlpha() {
+        
+        CompiledTweenProperties c = new CompiledTweenProperties();
+        CompiledComponentMapper<ComponentType> cmc = new CompiledComponentMapper<>();
+        int x1 = c.slot( "x1" );
+        int y1 = c.slot( "y1" );
+        int alpha1 = c.slot( "alpha1" );
+        int alpha2 = c.slot( "alpha2" );
+        
         return ( 
             double delta, 
             double deltaP,
@@ -196,20 +277,22 @@ public interface EasingUpdateFunctionsFactory {
             DoubleFunction<Double> ef,
             TweenAnimationStateContainer sc ) -> {
             
+            double[] v = c.values( p );
+            TweenComponentMapper<ComponentType> m = cmc.of( cm );
+            
             if ( sc.state == AnimationExecutionState.INITIALIZED ) {
                 sc.state = AnimationExecutionState.RUNNING;
-                cm.set( "x", p.getDouble( "x1" ) );
-                cm.set( "y", p.getDouble( "y1" ) );
-                
+                m.setX( v[x1] );
+                m.setY( v[y1] );
             }
             
             if ( sc.state == AnimationExecutionState.RUNNING ) {
                 
                 sc.percentage += deltaP * delta;
-                cm.set( "alpha", (int) ( p.getInt( "alpha1" ) + ( p.getInt( "alpha2" ) - p.getInt( "alpha1" ) ) * ef.apply( sc.percentage ) ) );
+                m.setAlpha( (int) ( v[alpha1] + ( v[alpha2] - v[alpha1] ) * ease( ef, sc.percentage ) ) );
                 
                 if ( sc.percentage >= 1.0 ) {
-                    cm.set( "alpha", p.getInt( "alpha2" ) );
+                    m.setAlpha( (int) v[alpha2] );
                     sc.percentage = 1.0;
                     sc.state = AnimationExecutionState.FINISHED;
                 }
@@ -217,6 +300,7 @@ public interface EasingUpdateFunctionsFactory {
             }
             
         };
+        
     }
     
     /**
@@ -226,6 +310,14 @@ public interface EasingUpdateFunctionsFactory {
      * @return The interpolation function.
      */
     public static <ComponentType> EasingTweenAnimationUpdateFunction<ComponentType> tweenRotation() {
+        
+        CompiledTweenProperties c = new CompiledTweenProperties();
+        CompiledComponentMapper<ComponentType> cmc = new CompiledComponentMapper<>();
+        int x1 = c.slot( "x1" );
+        int y1 = c.slot( "y1" );
+        int angle1 = c.slot( "angle1" );
+        int angle2 = c.slot( "angle2" );
+        
         return ( 
             double delta, 
             double deltaP,
@@ -234,19 +326,22 @@ public interface EasingUpdateFunctionsFactory {
             DoubleFunction<Double> ef,
             TweenAnimationStateContainer sc ) -> {
             
+            double[] v = c.values( p );
+            TweenComponentMapper<ComponentType> m = cmc.of( cm );
+            
             if ( sc.state == AnimationExecutionState.INITIALIZED ) {
                 sc.state = AnimationExecutionState.RUNNING;
-                cm.set( "x", p.getDouble( "x1" ) );
-                cm.set( "y", p.getDouble( "y1" ) );
+                m.setX( v[x1] );
+                m.setY( v[y1] );
             }
             
             if ( sc.state == AnimationExecutionState.RUNNING ) {
                 
                 sc.percentage += deltaP * delta;
-                cm.set( "angle", p.getDouble( "angle1" ) + ( p.getDouble( "angle2" ) - p.getDouble( "angle1" ) ) * ef.apply( sc.percentage ) );
+                m.setAngle( v[angle1] + ( v[angle2] - v[angle1] ) * ease( ef, sc.percentage ) );
                 
                 if ( sc.percentage >= 1.0 ) {
-                    cm.set( "angle", p.getDouble( "angle2" ) );
+                    m.setAngle( v[angle2] );
                     sc.percentage = 1.0;
                     sc.state = AnimationExecutionState.FINISHED;
                 }
@@ -254,6 +349,7 @@ public interface EasingUpdateFunctionsFactory {
             }
             
         };
+        
     }
     
 }
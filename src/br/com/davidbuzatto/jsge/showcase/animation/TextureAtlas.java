@@ -0,0 +1,310 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.animation;
+
+import br.com.davidbuzatto.jsge.animation.frame.SpriteMapAnimationFrame;
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+import br.com.davidbuzatto.jsge.image.Image;
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Packs animation frames taken from several images (whole images or cells
+ * of sprite maps, optionally mirrored) into a single image, the atlas, and
+ * keeps the region of each frame.
+ *
+ * Frames are added under a name, in animation order, and packed by build
+ * in shelves, from the tallest to the shortest. A frame added twice (same
+ * image, cell and mirroring) is stored once. After building, getFrames
+ * returns the frames of a name as sprite map frames of the atlas, so every
+ * frame of every animation is drawn from the same image.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class TextureAtlas {
+    
+    private final int padding;
+    
+    private final List<Cell> cells;
+    private final Map<Cell, Integer> cellIndexes;
+    private final Map<String, List<Integer>> frameCells;
+    private final Map<String, List<SpriteMapAnimationFrame>> frames;
+    
+    private Image image;
+    private Rectangle[] regions;
+    
+    /**
+     * Creates an empty atlas with one pixel between frames.
+     */
+    public TextureAtlas() {
+        this( 1 );
+    }
+    
+    /**
+     * Creates an empty atlas.
+     *
+     * @param padding Transparent pixels between frames, so scaled or
+     * rotated drawing does not sample the neighbor frames.
+     */
+    public TextureAtlas( int padding ) {
+        this.padding = padding;
+        cells = new ArrayList<>();
+        cellIndexes = new HashMap<>();
+        frameCells = new LinkedHashMap<>();
+        frames = new HashMap<>();
+    }
+    
+    /**
+     * Adds a whole image as the next frame of a name.
+     *
+     * @param name Name of the animation.
+     * @param image The image.
+     */
+    public void addImage( String name, Image image ) {
+        addCell( name, new Cell( image, 0, 0, image.getWidth(), image.getHeight(), false ) );
+    }
+    
+    /**
+     * Adds the cells of a horizontal sprite map, from left to right, as
+     * the next frames of a name.
+     *
+     * @param name Name of the animation.
+     * @param spriteMap The sprite map.
+     * @param quantity Number of cells.
+     * @param width Width of each cell.
+     * @param height Height of each cell.
+     */
+    public void addSpriteMap( String name, Image spriteMap, int quantity, double width, double height ) {
+        addSpriteMap( name, spriteMap, quantity, width, height, false );
+    }
+    
+    /**
+     * Adds the cells of a horizontal sprite map, from left to right, as
+     * the next frames of a name.
+     *
+     * Mirroring each cell gives the same frames as flipping the whole
+     * sprite map and reading it backwards, without a second copy of the
+     * sprite map.
+     *
+     * @param name Name of the animation.
+     * @param spriteMap The sprite map.
+     * @param quantity Number of cells.
+     * @param width Width of each cell.
+     * @param height Height of each cell.
+     * @param flipHorizontal Whether each cell is mirrored horizontally.
+     */
+    public void addSpriteMap( String name, Image spriteMap, int quantity, double width, double height, boolean flipHorizontal ) {
+        for ( int i = 0; i < quantity; i++ ) {
+            addCell( name, new Cell( spriteMap, (int) ( i * width ), 0, (int) width, (int) height, flipHorizontal ) );
+        }
+    }
+    
+    private void addCell( String name, Cell cell ) {
+        
+        if ( image != null ) {
+            throw new IllegalStateException( "the atlas was already built" );
+        }
+        
+        Integer index = cellIndexes.get( cell );
+        if ( index == null ) {
+            index = cells.size();
+            cells.add( cell );
+            cellIndexes.put( cell, index );
+        }
+        
+        frameCells.computeIfAbsent( name, k -> new ArrayList<>() ).add( index );
+        
+    }
+    
+    /**
+     * Packs the frames into the atlas image. The source images are no
+     * longer referenced afterwards.
+     *
+     * @return The atlas image.
+     */
+    public Image build() {
+        
+        if ( image != null ) {
+            return image;
+        }
+        
+        int n = cells.size();
+        Integer[] order = new Integer[n];
+        double area = 0;
+        int maxWidth = 1;
+        
+        for ( int i = 0; i < n; i++ ) {
+            Cell c = cells.get( i );
+            order[i] = i;
+            area += ( c.width + padding ) * ( c.height + padding );
+            maxWidth = Math.max( maxWidth, c.width + padding );
+        }
+        
+        // tallest first, so each shelf wastes little height
+        Arrays.sort( order, ( a, b ) -> {
+            Cell ca = cells.get( a );
+            Cell cb = cells.get( b );
+            return ca.height != cb.height ? cb.height - ca.height : cb.width - ca.width;
+        });
+        
+        int atlasWidth = Math.max( maxWidth, (int) Math.ceil( Math.sqrt( area ) ) );
+        int[] xs = new int[n];
+        int[] ys = new int[n];
+        int x = 0;
+        int y = 0;
+        int shelfHeight = 0;
+        
+        for ( int i : order ) {
+            Cell c = cells.get( i );
+            if ( x + c.width > atlasWidth ) {
+                x = 0;
+                y += shelfHeight + padding;
+                shelfHeight = 0;
+            }
+            xs[i] = x;
+            ys[i] = y;
+            x += c.width + padding;
+            shelfHeight = Math.max( shelfHeight, c.height );
+        }
+        
+        image = new Image( atlasWidth, Math.max( 1, y + shelfHeight ) );
+        regions = new Rectangle[n];
+        
+        Graphics2D g2d = image.buffImage.createGraphics();
+        g2d.setComposite( AlphaComposite.Src );
+        
+        for ( int i = 0; i < n; i++ ) {
+            Cell c = cells.get( i );
+            int dx1 = c.flipHorizontal ? xs[i] + c.width : xs[i];
+            int dx2 = c.flipHorizontal ? xs[i] : xs[i] + c.width;
+            g2d.drawImage( 
+                c.image.buffImage, 
+                dx1, ys[i], dx2, ys[i] + c.height, 
+                c.x, c.y, c.x + c.width, c.y + c.height, 
+                null 
+            );
+            regions[i] = new Rectangle( xs[i], ys[i], c.width, c.height );
+        }
+        
+        g2d.dispose();
+        cells.clear();
+        cellIndexes.clear();
+        
+        return image;
+        
+    }
+    
+    /**
+     * Returns the frames of a name, in the order they were added. The
+     * list is created once and shared by the callers.
+     *
+     * @param name Name of the animation.
+     * @return The frames, drawn from the atlas image.
+     */
+    public List<SpriteMapAnimationFrame> getFrames( String name ) {
+        
+        List<SpriteMapAnimationFrame> f = frames.get( name );
+        
+        if ( f == null ) {
+            
+            List<Integer> indexes = frameCells.get( name );
+            if ( indexes == null ) {
+                throw new IllegalArgumentException( "no frames named " + name );
+            }
+            
+            build();
+            f = new ArrayList<>();
+            for ( int i : indexes ) {
+                Rectangle r = regions[i];
+                f.add( new SpriteMapAnimationFrame( image, r.x, r.y, r.width, r.height ) );
+            }
+            
+            f = Collections.unmodifiableList( f );
+            frames.put( name, f );
+            
+        }
+        
+        return f;
+        
+    }
+    
+    /**
+     * Returns the atlas image, building it if needed.
+     *
+     * @return The atlas image.
+     */
+    public Image getImage() {
+        return build();
+    }
+    
+    /**
+     * Returns the number of distinct frames stored in the atlas.
+     *
+     * @return The number of distinct frames.
+     */
+    public int getRegionCount() {
+        return regions != null ? regions.length : cells.size();
+    }
+    
+    /**
+     * A region of a source image, optionally mirrored.
+     */
+    private static class Cell {
+        
+        final Image image;
+        final int x;
+        final int y;
+        final int width;
+        final int height;
+        final boolean flipHorizontal;
+        
+        Cell( Image image, int x, int y, int width, int height, boolean flipHorizontal ) {
+            this.image = image;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.flipHorizontal = flipHorizontal;
+        }
+        
+        @Override
+        public boolean equals( Object o ) {
+            if ( !( o instanceof Cell ) ) {
+                return false;
+            }
+            Cell c = (Cell) o;
+            return image == c.image && x == c.x && y == c.y && 
+                   width == c.width && height == c.height && 
+                   flipHorizontal == c.flipHorizontal;
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash( System.identityHashCode( image ), x, y, width, height, flipHorizontal );
+        }
+        
+    }
+    
+}
@@ -26,6 +26,11 @@ import br.com.davidbuzatto.jsge.animation.tween.timing.TimingTweenAnimationUpdat
  * A factory of update functions for the tween animations in the
  * animations example.
  *
+ * The properties are read from compiled slots (CompiledTweenProperties)
+ * and the component through the typed accessors of TweenComponentMapper
+ * (see TweenComponentMapper.of for the other mappers), resolved once by a
+ * CompiledComponentMapper.
+ *
  * @author Prof. Dr. David Buzatto
  */
 public interface TimingFunctionsFactory {
@@ -37,6 +42,17 @@ public interface TimingFunctionsFactory {
      * @return The interpolation function.
      */
     public static <ComponentType> TimingTweenAnimationUpdateFunction<ComponentType> tweenTime() {
+        
+        CompiledTweenProperties c = new CompiledTweenProperties();
+        CompiledComponentMapper<ComponentType> cmc = new CompiledComponentMapper<>();
+        int x = c.slot( "x" );
+        int y = c.slot( "y" );
+        int radius = c.slot( "radius" );
+        int angle = c.slot( "angle" );
+        int velX = c.slot( "velX" );
+        int velAngle = c.slot( "velAngle" );
+        int velRadius = c.slot( "velRadius" );
+        
         return ( 
             double delta, 
             double total,
@@ -44,20 +60,23 @@ public interface TimingFunctionsFactory {
             TweenAnimationComponentMapper<ComponentType> cm, 
             TweenAnimationStateContainer sc ) -> {
             
+            double[] v = c.values( p );
+            TweenComponentMapper<ComponentType> m = cmc.of( cm );
+            
             if ( sc.state == AnimationExecutionState.INITIALIZED ) {
                 sc.state = AnimationExecutionState.RUNNING;
-                cm.set( "x", p.getDouble( "x" ) );
-                cm.set( "y", p.getDouble( "y" ) );
-                cm.set( "radius", p.getDouble( "radius" ) );
-                cm.set( "angle", p.getDouble( "angle" ) );
+                m.setX( v[x] );
+                m.setY( v[y] );
+                m.setRadius( v[radius] );
+                m.setAngle( v[angle] );
             }
             
             if ( sc.state == AnimationExecutionState.RUNNING ) {
                 sc.executionTime += delta;
-                cm.set( "x", (Double) cm.get( "x" ) + p.getDouble( "velX" ) * delta );
-                cm.set( "y", p.getDouble( "y" ) + 50 * Math.sin( Math.toRadians( (Double) cm.get( "angle" ) ) ) );
-                cm.set( "angle", (Double) cm.get( "angle" ) + p.getDouble( "velAngle" ) * delta );
-                cm.set( "radius", (Double) cm.get( "radius" ) + p.getDouble( "velRadius" ) * delta );
+                m.setX( m.getX() + v[velX] * delta );
+                m.setY( v[y] + 50 * Math.sin( Math.toRadians( m.getAngle() ) ) );
+                m.setAngle( m.getAngle() + v[velAngle] * delta );
+                m.setRadius( m.getRadius() + v[velRadius] * delta );
                 if ( sc.executionTime >= total ) {
                     sc.state = AnimationExecutionState.FINISHED;
                     sc.executionTime = total;
@@ -66,6 +85,7 @@ public interface TimingFunctionsFactory {
             }
             
         };
+        
     }
     
 }
@@ -0,0 +1,248 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.animation;
+
+import br.com.davidbuzatto.jsge.animation.tween.TweenAnimationComponentMapper;
+
+/**
+ * A component mapper with typed accessors for the properties animated in
+ * the animations example, so the update functions read and write them
+ * without looking them up by name or boxing their values.
+ *
+ * Each mapper overrides the accessors of the properties its component
+ * has. The others are ignored when written and read as zero. The name
+ * based set and get of TweenAnimationComponentMapper still work and
+ * forward to the typed accessors.
+ *
+ * @param <ComponentType> The component type.
+ * @author Prof. Dr. David Buzatto
+ */
+public abstract class TweenComponentMapper<ComponentType> extends TweenAnimationComponentMapper<ComponentType> {
+    
+    /**
+     * Creates the mapper.
+     *
+     * @param component The component.
+     */
+    public TweenComponentMapper( ComponentType component ) {
+        super( component );
+    }
+    
+    /**
+     * Sets the x coordinate.
+     *
+     * @param x The x coordinate.
+     */
+    public void setX( double x ) {
+    }
+    
+    /**
+     * Sets the y coordinate.
+     *
+     * @param y The y coordinate.
+     */
+    public void setY( double y ) {
+    }
+    
+    /**
+     * Sets the radius.
+     *
+     * @param radius The radius.
+     */
+    public void setRadius( double radius ) {
+    }
+    
+    /**
+     * Sets the angle, in degrees.
+     *
+     * @param angle The angle.
+     */
+    public void setAngle( double angle ) {
+    }
+    
+    /**
+     * Sets the alpha, from 0 to 255.
+     *
+     * @param alpha The alpha.
+     */
+    public void setAlpha( int alpha ) {
+    }
+    
+    /**
+     * Returns the x coordinate.
+     *
+     * @return The x coordinate.
+     */
+    public double getX() {
+        return 0.0;
+    }
+    
+    /**
+     * Returns the y coordinate.
+     *
+     * @return The y coordinate.
+     */
+    public double getY() {
+        return 0.0;
+    }
+    
+    /**
+     * Returns the radius.
+     *
+     * @return The radius.
+     */
+    public double getRadius() {
+        return 0.0;
+    }
+    
+    /**
+     * Returns the angle, in degrees.
+     *
+     * @return The angle.
+     */
+    public double getAngle() {
+        return 0.0;
+    }
+    
+    /**
+     * Returns the alpha, from 0 to 255.
+     *
+     * @return The alpha.
+     */
+    public int getAlpha() {
+        return 0;
+    }
+    
+    @Override
+    public void set( String property, Object value ) {
+        switch ( property ) {
+            case "x" -> setX( ( (Number) value ).doubleValue() );
+            case "y" -> setY( ( (Number) value ).doubleValue() );
+            case "radius" -> setRadius( ( (Number) value ).doubleValue() );
+            case "angle" -> setAngle( ( (Number) value ).doubleValue() );
+            case "alpha" -> setAlpha( ( (Number) value ).intValue() );
+        }
+    }
+    
+    @Override
+    public Object get( String property ) {
+        switch ( property ) {
+            case "x" -> {
+                return getX();
+            }
+            case "y" -> {
+                return getY();
+            }
+            case "radius" -> {
+                return getRadius();
+            }
+            case "angle" -> {
+                return getAngle();
+            }
+            case "alpha" -> {
+                return getAlpha();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Returns a mapper with typed accessors for any mapper: the mapper
+     * itself, when it is a TweenComponentMapper, or an adapter that
+     * forwards the typed accessors to the set and get by name of the
+     * mapper, boxing the values as before the typed accessors (doubles,
+     * and integers for the alpha). The adapter is created in each call, so
+     * the update functions keep it in a CompiledComponentMapper.
+     *
+     * @param <ComponentType> The component type.
+     * @param cm The mapper.
+     * @return The typed mapper.
+     */
+    @SuppressWarnings( "unchecked" )
+    public static <ComponentType> TweenComponentMapper<ComponentType> of( TweenAnimationComponentMapper<ComponentType> cm ) {
+        if ( cm instanceof TweenComponentMapper ) {
+            return (TweenComponentMapper<ComponentType>) cm;
+        }
+        return new NamedMapperAdapter<>( cm );
+    }
+    
+    /**
+     * Typed accessors over a mapper that only knows the properties by
+     * name.
+     */
+    private static class NamedMapperAdapter<ComponentType> extends TweenComponentMapper<ComponentType> {
+        
+        private final TweenAnimationComponentMapper<ComponentType> cm;
+        
+        NamedMapperAdapter( TweenAnimationComponentMapper<ComponentType> cm ) {
+            super( cm.getComponent() );
+            this.cm = cm;
+        }
+        
+        @Override
+        public void setX( double x ) {
+            cm.set( "x", x );
+        }
+        
+        @Override
+        public void setY( double y ) {
+            cm.set( "y", y );
+        }
+        
+        @Override
+        public void setRadius( double radius ) {
+            cm.set( "radius", radius );
+        }
+        
+        @Override
+        public void setAngle( double angle ) {
+            cm.set( "angle", angle );
+        }
+        
+        @Override
+        public void setAlpha( int alpha ) {
+            cm.set( "alpha", alpha );
+        }
+        
+        @Override
+        public double getX() {
+            return ( (Number) cm.get( "x" ) ).doubleValue();
+        }
+        
+        @Override
+        public double getY() {
+            return ( (Number) cm.get( "y" ) ).doubleValue();
+        }
+        
+        @Override
+        public double getRadius() {
+            return ( (Number) cm.get( "radius" ) ).doubleValue();
+        }
+        
+        @Override
+        public double getAngle() {
+            return ( (Number) cm.get( "angle" ) ).doubleValue();
+        }
+        
+        @Override
+        public int getAlpha() {
+            return ( (Number) cm.get( "alpha" ) ).intValue();
+        }
+        
+    }
+    
+}
@@ -0,0 +1,484 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.animation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.DoubleFunction;
+
+/**
+ * Updates many eased tweens in one pass.
+ *
+ * Instead of one animation object per tween, each with its own update
+ * function, the scheduler keeps the tweens in groups of parallel
+ * primitive arrays, one group for each pair of easing function and kind
+ * (the animated property), so a frame runs a tight loop per group with
+ * the same easing function and the same setter for every tween. Finished
+ * tweens are removed by moving the last tween of their group into their
+ * place, so the arrays stay contiguous and the order of the tweens inside
+ * a group is not kept.
+ *
+ * Each tween goes from a start value to an end value of a property of a
+ * component, at a given percentage per second, like the functions of
+ * EasingUpdateFunctionsFactory. The components are written through
+ * TweenComponentMapper, so the mappers of ComponentMappersFactory can be
+ * used.
+ *
+ * The scheduler is meant for large numbers of tweens that are only
+ * started and retired, like the crowd of AnimationsSimulation. A tween
+ * cannot be looked up, reset or queried for its percentage once added;
+ * tweens that need that are still better served by the tween classes of
+ * the engine.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class TweenScheduler {
+    
+    /**
+     * The property animated by a tween.
+     */
+    public enum Kind {
+        
+        /** x coordinate */
+        X, 
+        
+        /** y coordinate */
+        Y, 
+        
+        /** x and y coordinates */
+        XY, 
+        
+        /** radius */
+        RADIUS, 
+        
+        /** alpha */
+        ALPHA, 
+        
+        /** angle */
+        ROTATION
+        
+    }
+    
+    /** Most tweens of a group advanced by a single task when updating in parallel. */
+    public static final int PARALLEL_THRESHOLD = 8192;
+    
+    private final List<Group> groups;
+    private boolean paused;
+    private boolean parallel;
+    
+    private TweenComponentMapper<?>[] finished;
+    private int finishedCount;
+    
+    // work units of the parallel update, reused between updates
+    private Group[] workGroups = new Group[16];
+    private int[] workStarts = new int[16];
+    private int[] workEnds = new int[16];
+    private int workCount;
+    private double workDelta;
+    
+    /**
+     * Creates an empty scheduler.
+     */
+    public TweenScheduler() {
+        groups = new ArrayList<>();
+        finished = new TweenComponentMapper<?>[16];
+    }
+    
+    /**
+     * Adds a tween of a single property. The property is set to its start
+     * value immediately.
+     *
+     * @param kind The animated property. Must not be XY.
+     * @param mapper Mapper of the component.
+     * @param easing The easing function. An EasingTable is evaluated
+     * without boxing.
+     * @param from Start value.
+     * @param to End value.
+     * @param percentagePerSecond How much of the tween is done per second.
+     */
+    public void add( Kind kind, TweenComponentMapper<?> mapper, DoubleFunction<Double> easing, 
+                     double from, double to, double percentagePerSecond ) {
+        if ( kind == Kind.XY ) {
+            throw new IllegalArgumentException( "XY tweens need two start and end values" );
+        }
+        add( kind, mapper, easing, from, to, 0, 0, percentagePerSecond );
+    }
+    
+    /**
+     * Adds a tween. The properties are set to their start values
+     * immediately.
+     *
+     * @param kind The animated property.
+     * @param mapper Mapper of the component.
+     * @param easing The easing function. An EasingTable is evaluated
+     * without boxing.
+     * @param from Start value (x for XY tweens).
+     * @param to End value (x for XY tweens).
+     * @param fromY Start y, for XY tweens. Ignored by the others.
+     * @param toY End y, for XY tweens. Ignored by the others.
+     * @param percentagePerSecond How much of the tween is done per second.
+     */
+    public void add( Kind kind, TweenComponentMapper<?> mapper, DoubleFunction<Double> easing, 
+                     double from, double to, double fromY, double toY, double percentagePerSecond ) {
+        
+        Group group = null;
+        for ( Group g : groups ) {
+            if ( g.kind == kind && g.easing == easing ) {
+                group = g;
+                break;
+            }
+        }
+        
+        if ( group == null ) {
+            group = new Group( kind, easing );
+            groups.add( group );
+        }
+        
+        int i = group.add( mapper, from, to, fromY, toY, percentagePerSecond );
+        group.apply( i, 0.0 );
+        
+    }
+    
+    /**
+     * Advances every tween and removes the finished ones, which can be
+     * read with getFinished until the next update. Does nothing while the
+     * scheduler is paused.
+     *
+     * @param delta Time delta.
+     */
+    public void update( double delta ) {
+        
+        finishedCount = 0;
+        
+        if ( paused ) {
+            return;
+        }
+        
+        if ( parallel ) {
+            collectWork();
+            workDelta = delta;
+            if ( workCount > 0 ) {
+                ForkJoinPool.commonPool().invoke( new WorkTask( 0, workCount ) );
+            }
+            Arrays.fill( workGroups, 0, workCount, null );
+        } else {
+            for ( Group g : groups ) {
+                g.advance( 0, g.count, delta );
+            }
+        }
+        
+        for ( Group g : groups ) {
+            g.retire();
+        }
+        
+        // groups of easing functions that are no longer used would be
+        // searched by every add
+        groups.removeIf( g -> g.count == 0 );
+        
+    }
+    
+    /**
+     * Moves every tween to the same point and sets its properties. Works
+     * while paused. Tweens moved to the end are removed by the next update.
+     *
+     * @param percentage The point of the tweens, from 0 to 1.
+     */
+    public void seek( double percentage ) {
+        
+        double p = Math.max( 0.0, Math.min( percentage, 1.0 ) );
+        
+        for ( Group g : groups ) {
+            for ( int i = 0; i < g.count; i++ ) {
+                g.percentage[i] = p;
+                g.apply( i, p );
+            }
+        }
+        
+    }
+    
+    /**
+     * Stops advancing the tweens.
+     */
+    public void pause() {
+        paused = true;
+    }
+    
+    /**
+     * Resumes advancing the tweens.
+     */
+    public void resume() {
+        paused = false;
+    }
+    
+    /**
+     * Returns whether the tweens are paused.
+     *
+     * @return Whether the tweens are paused.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+    
+    /**
+     * Changes how the tweens are advanced.
+     *
+     * @param parallel Whether the groups are advanced in parallel, large
+     * groups split in chunks, over the common fork-join pool.
+     */
+    public void setParallel( boolean parallel ) {
+        this.parallel = parallel;
+    }
+    
+    /**
+     * Returns whether the tweens are advanced in parallel.
+     *
+     * @return Whether the tweens are advanced in parallel.
+     */
+    public boolean isParallel() {
+        return parallel;
+    }
+    
+    /**
+     * Removes every tween, leaving the properties where they are.
+     */
+    public void clear() {
+        groups.clear();
+        finishedCount = 0;
+    }
+    
+    /**
+     * Returns the number of tweens.
+     *
+     * @return The number of tweens.
+     */
+    public int getTweenCount() {
+        int count = 0;
+        for ( Group g : groups ) {
+            count += g.count;
+        }
+        return count;
+    }
+    
+    /**
+     * Returns the number of groups (pairs of easing function and kind
+     * with tweens, or added since the last update).
+     *
+     * @return The number of groups.
+     */
+    public int getGroupCount() {
+        return groups.size();
+    }
+    
+    /**
+     * Returns the mappers of the tweens finished by the last update. Only
+     * the first getFinishedCount positions are valid.
+     *
+     * @return The mappers of the finished tweens.
+     */
+    public TweenComponentMapper<?>[] getFinished() {
+        return finished;
+    }
+    
+    /**
+     * Returns how many tweens were finished by the last update.
+     *
+     * @return The number of finished tweens.
+     */
+    public int getFinishedCount() {
+        return finishedCount;
+    }
+    
+    private void addFinished( TweenComponentMapper<?> mapper ) {
+        if ( finishedCount == finished.length ) {
+            finished = Arrays.copyOf( finished, finished.length * 2 );
+        }
+        finished[finishedCount++] = mapper;
+    }
+    
+    /**
+     * Tweens with the same kind and easing function.
+     */
+    private class Group {
+        
+        final Kind kind;
+        final DoubleFunction<Double> easing;
+        final EasingTable table;
+        
+        TweenComponentMapper<?>[] mappers;
+        double[] from;
+        double[] to;
+        double[] fromY;
+        double[] toY;
+        double[] speed;
+        double[] percentage;
+        int count;
+        
+        Group( Kind kind, DoubleFunction<Double> easing ) {
+            this.kind = kind;
+            this.easing = easing;
+            this.table = easing instanceof EasingTable ? (EasingTable) easing : null;
+            allocate( 16 );
+        }
+        
+        int add( TweenComponentMapper<?> mapper, double from, double to, double fromY, double toY, double speed ) {
+            
+            if ( count == mappers.length ) {
+                allocate( count * 2 );
+            }
+            
+            int i = count++;
+            this.mappers[i] = mapper;
+            this.from[i] = from;
+            this.to[i] = to;
+            this.fromY[i] = fromY;
+            this.toY[i] = toY;
+            this.speed[i] = speed;
+            this.percentage[i] = 0.0;
+            
+            return i;
+            
+        }
+        
+        void advance( int start, int end, double delta ) {
+            for ( int i = start; i < end; i++ ) {
+                double p = percentage[i] + speed[i] * delta;
+                if ( p > 1.0 ) {
+                    p = 1.0;
+                }
+                percentage[i] = p;
+                apply( i, p );
+            }
+        }
+        
+        /**
+         * Sets the properties of a tween for a point of it. At the end the
+         * properties get exactly their end values, since some easing
+         * functions do not reach 1.
+         */
+        void apply( int i, double p ) {
+            
+            double e;
+            if ( p >= 1.0 ) {
+                e = 1.0;
+            } else if ( table != null ) {
+                e = table.applyAsDouble( p );
+            } else {
+                e = easing.apply( p );
+            }
+            
+            TweenComponentMapper<?> m = mappers[i];
+            double v = p >= 1.0 ? to[i] : from[i] + ( to[i] - from[i] ) * e;
+            
+            switch ( kind ) {
+                case X -> m.setX( v );
+                case Y -> m.setY( v );
+                case XY -> {
+                    m.setX( v );
+                    m.setY( p >= 1.0 ? toY[i] : fromY[i] + ( toY[i] - fromY[i] ) * e );
+                }
+                case RADIUS -> m.setRadius( v );
+                case ALPHA -> m.setAlpha( (int) v );
+                case ROTATION -> m.setAngle( v );
+            }
+            
+        }
+        
+        void retire() {
+            // backwards, so the tween moved into a removed slot was
+            // already checked
+            for ( int i = count - 1; i >= 0; i-- ) {
+                if ( percentage[i] >= 1.0 ) {
+                    addFinished( mappers[i] );
+                    int last = --count;
+                    mappers[i] = mappers[last];
+                    from[i] = from[last];
+                    to[i] = to[last];
+                    fromY[i] = fromY[last];
+                    toY[i] = toY[last];
+                    speed[i] = speed[last];
+                    percentage[i] = percentage[last];
+                    mappers[last] = null;
+                }
+            }
+        }
+        
+        private void allocate( int capacity ) {
+            mappers = mappers == null ? new TweenComponentMapper<?>[capacity] : Arrays.copyOf( mappers, capacity );
+            from = from == null ? new double[capacity] : Arrays.copyOf( from, capacity );
+            to = to == null ? new double[capacity] : Arrays.copyOf( to, capacity );
+            fromY = fromY == null ? new double[capacity] : Arrays.copyOf( fromY, capacity );
+            toY = toY == null ? new double[capacity] : Arrays.copyOf( toY, capacity );
+            speed = speed == null ? new double[capacity] : Arrays.copyOf( speed, capacity );
+            percentage = percentage == null ? new double[capacity] : Arrays.copyOf( percentage, capacity );
+        }
+        
+    }
+    
+    /**
+     * Splits the groups in work units of up to PARALLEL_THRESHOLD tweens,
+     * in arrays that are kept between updates.
+     */
+    private void collectWork() {
+        
+        workCount = 0;
+        
+        for ( Group g : groups ) {
+            for ( int start = 0; start < g.count; start += PARALLEL_THRESHOLD ) {
+                if ( workCount == workGroups.length ) {
+                    workGroups = Arrays.copyOf( workGroups, workGroups.length * 2 );
+                    workStarts = Arrays.copyOf( workStarts, workStarts.length * 2 );
+                    workEnds = Arrays.copyOf( workEnds, workEnds.length * 2 );
+                }
+                workGroups[workCount] = g;
+                workStarts[workCount] = start;
+                workEnds[workCount] = Math.min( start + PARALLEL_THRESHOLD, g.count );
+                workCount++;
+            }
+        }
+        
+    }
+    
+    /**
+     * Fork-join task that advances a range of work units, halving it until
+     * a single unit is left.
+     */
+    private class WorkTask extends RecursiveAction {
+        
+        private final int from;
+        private final int to;
+        
+        WorkTask( int from, int to ) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if ( to - from == 1 ) {
+                workGroups[from].advance( workStarts[from], workEnds[from], workDelta );
+            } else {
+                int mid = ( from + to ) >>> 1;
+                invokeAll( new WorkTask( from, mid ), new WorkTask( mid, to ) );
+            }
+        }
+        
+    }
+    
+}
@@ -26,6 +26,10 @@ import br.com.davidbuzatto.jsge.animation.tween.TweenAnimationComponentMapper;
  * A factory of update functions for the tween animations in the
  * animations example.
  *
+ * Like the easing ones, these functions keep the properties they use in
+ * compiled slots and write the typed mappers of ComponentMappersFactory
+ * directly, and other mappers by name.
+ *
  * @author Prof. Dr. David Buzatto
  */
 public interface UpdateFunctionsFactory {
@@ -37,28 +41,40 @@ public interface UpdateFunctionsFactory {
      * @return The interpolation function.
      */
     public static <ComponentType> TweenAnimationUpdateFunction<ComponentType> tweenX() {
+        
+        CompiledTweenProperties c = new CompiledTweenProperties();
+        CompiledComponentMapper<ComponentType> cmc = new CompiledComponentMapper<>();
+        int x1 = c.slot( "x1" );
+        int y1 = c.slot( "y1" );
+        int velX = c.slot( "velX" );
+        int x2 = c.slot( "x2" );
+        
         return ( 
             double delta, 
             TweenAnimationProperties p,
             TweenAnimationComponentMapper<ComponentType> cm, 
             TweenAnimationStateContainer sc ) -> {
             
+            double[] v = c.values( p );
+            TweenComponentMapper<ComponentType> m = cmc.of( cm );
+            
             if ( sc.state == AnimationExecutionState.INITIALIZED ) {
                 sc.state = AnimationExecutionState.RUNNING;
-                cm.set( "x", p.getDouble( "x1" ) );
-                cm.set( "y", p.getDouble( "y1" ) );
+                m.setX( v[x1] );
+                m.setY( v[y1] );
             }
             
             if ( sc.state == AnimationExecutionState.RUNNING ) {
-                cm.set( "x", (Double) cm.get( "x" ) + p.getDouble( "velX" ) * delta );
-                if ( (Double) cm.get( "x" ) >= p.getDouble( "x2" ) ) {
-                    cm.set( "x", p.getDouble( "x2" ) );
+                m.setX( m.getX() + v[velX] * delta );
+                if ( m.getX() >= v[x2] ) {
+                    m.setX( v[x2] );
                     sc.state = AnimationExecutionState.FINISHED;
                 }
-                sc.percentage = ( (Double) cm.get( "x" ) - p.getDouble( "x1" ) ) / ( p.getDouble( "x2" ) - p.getDouble( "x1" ) );
+                sc.percentage = ( m.getX() - v[x1] ) / ( v[x2] - v[x1] );
             }
             
         };
+        
     }
     
     /**
@@ -68,28 +84,40 @@ public interface UpdateFunctionsFactory {
      * @return The interpolation function.
      */
     public static <ComponentType> TweenAnimationUpdateFunction<ComponentType> tweenY() {
+        
+        CompiledTweenProperties c = new CompiledTweenProperties();
+        CompiledComponentMapper<ComponentType> cmc = new CompiledComponentMapper<>();
+        int x1 = c.slot( "x1" );
+        int y1 = c.slot( "y1" );
+        int velY = c.slot( "velY" );
+        int y2 = c.slot( "y2" );
+        
         return ( 
             double delta, 
             TweenAnimationProperties p,
             TweenAnimationComponentMapper<ComponentType> cm, 
             TweenAnimationStateContainer sc ) -> {
             
+            double[] v = c.values( p );
+            TweenComponentMapper<ComponentType> m = cmc.of( cm );
+            
             if ( sc.state == AnimationExecutionState.INITIALIZED ) {
                 sc.state = AnimationExecutionState.RUNNING;
-                cm.set( "x", p.getDouble( "x1" ) );
-                cm.set( "y", p.getDouble( "y1" ) );
+                m.setX( v[x1] );
+                m.setY( v[y1] );
             }
             
             if ( sc.state == AnimationExecutionState.RUNNING ) {
-                cm.set( "y", (Double) cm.get( "y" ) + delta * p.getDouble( "velY" ) );
-                if ( (Double) cm.get( "y" ) >= p.getDouble( "y2" ) ) {
-                    cm.set( "y", p.getDouble( "y2" ) );
+                m.setY( m.getY() + delta * v[velY] );
+                if ( m.getY() >= v[y2] ) {
+                    m.setY( v[y2] );
                     sc.state = AnimationExecutionState.FINISHED;
                 }
-                sc.percentage = ( (Double) cm.get( "y" ) - p.getDouble( "y1" ) ) / ( p.getDouble( "y2" ) - p.getDouble( "y1" ) );
+                sc.percentage = ( m.getY() - v[y1] ) / ( v[y2] - v[y1] );
             }
             
         };
+        
     }
     
     /**
@@ -99,31 +127,44 @@ public interface UpdateFunctionsFactory {
      * @return The interpolation function.
      */
     public static <ComponentType> TweenAnimationUpdateFunction<ComponentType> tweenXY() {
+        
+        CompiledTweenProperties c = new CompiledTweenProperties();
+        CompiledComponentMapper<ComponentType> cmc = new CompiledComponentMapper<>();
+        int x1 = c.slot( "x1" );
+        int y1 = c.slot( "y1" );
+        int velX = c.slot( "velX" );
+        int velY = c.slot( "velY" );
+        int x2 = c.slot( "x2" );
+        int y2 = c.slot( "y2" );
+        
         return ( 
             double delta, 
             TweenAnimationProperties p,
             TweenAnimationComponentMapper<ComponentType> cm, 
             TweenAnimationStateContainer sc ) -> {
             
+            double[] v = c.values( p );
+            TweenComponentMapper<ComponentType> m = cmc.of( cm );
+            
             if ( sc.state == AnimationExecutionState.INITIALIZED ) {
                 sc.state = AnimationExecutionState.RUNNING;
-                cm.set( "x", p.getDouble( "x1" ) );
-                cm.set( "y", p.getDouble( "y1" ) );
+                m.setX( v[x1] );
+                m.setY( v[y1] );
             }
             
             if ( sc.state == AnimationExecutionState.RUNNING ) {
                 
-                cm.set( "x", (Double) cm.get( "x" ) + delta * p.getDouble( "velX" ) );
-                cm.set( "y", (Double) cm.get( "y" ) + delta * p.getDouble( "velY" ) );
+                m.setX( m.getX() + delta * v[velX] );
+                m.setY( m.getY() + delta * v[velY] );
                 boolean stop = false;
                 
-                if ( (Double) cm.get( "x" ) >= p.getDouble( "x2" ) ) {
-                    cm.set( "x", p.getDouble( "x2" ) );
+                if ( m.getX() >= v[x2] ) {
+                    m.setX( v[x2] );
                     stop = true;
                 }
                 
-                if ( (Double) cm.get( "y" ) >= p.getDouble( "y2" ) ) {
-                    cm.set( "y", p.getDouble( "y2" ) );
+                if ( m.getY() >= v[y2] ) {
+                    m.setY( v[y2] );
                     stop = true;
                 }
                 
@@ -131,13 +172,14 @@ public interface UpdateFunctionsFactory {
                     sc.state = AnimationExecutionState.FINISHED;
                 }
                 
-                double sum = ( (Double) cm.get( "x" ) - p.getDouble( "x1" ) ) / ( p.getDouble( "x2" ) - p.getDouble( "x1" ) );
-                sum += ( (Double) cm.get( "y" ) - p.getDouble( "y1" ) ) / ( p.getDouble( "y2" ) - p.getDouble( "y1" ) );
+                double sum = ( m.getX() - v[x1] ) / ( v[x2] - v[x1] );
+                sum += ( m.getY() - v[y1] ) / ( v[y2] - v[y1] );
                 sc.percentage = sum / 2.0;
                 
             }
             
         };
+        
     }
     
     /**
@@ -147,29 +189,42 @@ public interface UpdateFunctionsFactory {
      * @return The interpolation function.
      */
     public static <ComponentType> TweenAnimationUpdateFunction<ComponentType> tweenRadius() {
+        
+        CompiledTweenProperties c = new CompiledTweenProperties();
+        CompiledComponentMapper<ComponentType> cmc = new CompiledComponentMapper<>();
+        int x1 = c.slot( "x1" );
+        int y1 = c.slot( "y1" );
+        int radius1 = c.slot( "radius1" );
+        int velRadius = c.slot( "velRadius" );
+        int radius2 = c.slot( "radius2" );
+        
         return ( 
             double delta, 
             TweenAnimationProperties p,
             TweenAnimationComponentMapper<ComponentType> cm, 
             TweenAnimationStateContainer sc ) -> {
             
+            double[] v = c.values( p );
+            TweenComponentMapper<ComponentType> m = cmc.of( cm );
+            
             if ( sc.state == AnimationExecutionState.INITIALIZED ) {
                 sc.state = AnimationExecutionState.RUNNING;
-                cm.set( "x", p.getDouble( "x1" ) );
-                cm.set( "y", p.getDouble( "y1" ) );
-                cm.set( "radius", p.getDouble( "radius1" ) );
+                m.setX( v[x1] );
+                m.setY( v[y1] );
+                m.setRadius( v[radius1] );
             }
             
             if ( sc.state == AnimationExecutionState.RUNNING ) {
-                cm.set( "radius", (Double) cm.get( "radius" ) + p.getDouble( "velRadius" ) * delta );
-                if ( (Double) cm.get( "radius" ) >= p.getDouble( "radius2" ) ) {
-                    cm.set( "radius", p.getDouble( "radius2" ) );
+                m.setRadius( m.getRadius() + v[velRadius] * delta );
+                if ( m.getRadius() >= v[radius2] ) {
+                    m.setRadius( v[radius2] );
                     sc.state = AnimationExecutionState.FINISHED;
                 }
-                sc.percentage = ( (Double) cm.get( "radius" ) - p.getDouble( "radius1" ) ) / ( p.getDouble( "radius2" ) - p.getDouble( "radius1" ) );
+                sc.percentage = ( m.getRadius() - v[radius1] ) / ( v[radius2] - v[radius1] );
             }
             
         };
+        
     }
     
     /**
@@ -179,30 +234,43 @@ public interface UpdateFunctionsFactory {
      * @return The interpolation function.
      */
     public static <ComponentType> TweenAnimationUpdateFunction<ComponentType> tweenAlpha() {
+        
+        CompiledTweenProperties c = new CompiledTweenProperties();
+        CompiledComponentMapper<ComponentType> cmc = new CompiledComponentMapper<>();
+        int x1 = c.slot( "x1" );
+        int y1 = c.slot( "y1" );
+        int alpha1 = c.slot( "alpha1" );
+        int velAlpha = c.slot( "velAlpha" );
+        int alpha2 = c.slot( "alpha2" );
+        
         return ( 
             double delta, 
             TweenAnimationProperties p,
             TweenAnimationComponentMapper<ComponentType> cm, 
             TweenAnimationStateContainer sc ) -> {
             
+            double[] v = c.values( p );
+            TweenComponentMapper<ComponentType> m = cmc.of( cm );
+            
             if ( sc.state == AnimationExecutionState.INITIALIZED ) {
                 sc.state = AnimationExecutionState.RUNNING;
-                cm.set( "x", p.getDouble( "x1" ) );
-                cm.set( "y", p.getDouble( "y1" ) );
-                cm.set( "alpha", p.getInt( "alpha1" ) );
+                m.setX( v[x1] );
+                m.setY( v[y1] );
+                m.setAlpha( (int) v[alpha1] );
                 
             }
             
             if ( sc.state == AnimationExecutionState.RUNNING ) {
-                cm.set( "alpha", (int) ( (Integer) cm.get( "alpha" ) + p.getDouble( "velAlpha" ) * delta ) );
-                if ( (Integer) cm.get( "alpha" ) >= p.getInt( "alpha2" ) ) {
-                    cm.set( "alpha", p.getInt( "alpha2" ) );
+                m.setAlpha( (int) ( m.getAlpha() + v[velAlpha] * delta ) );
+                if ( m.getAlpha() >= (int) v[alpha2] ) {
+                    m.setAlpha( (int) v[alpha2] );
                     sc.state = AnimationExecutionState.FINISHED;
                 }
-                sc.percentage = ( (Integer) cm.get( "alpha" ) - p.getDouble( "alpha1" ) ) / ( p.getDouble( "alpha2" ) - p.getDouble( "alpha1" ) );
+                sc.percentage = ( m.getAlpha() - v[alpha1] ) / ( v[alpha2] - v[alpha1] );
             }
             
         };
+        
     }
     
     /**
@@ -212,29 +280,42 @@ public interface UpdateFunctionsFactory {
      * @return The interpolation function.
      */
     public static <ComponentType> TweenAnimationUpdateFunction<ComponentType> tweenRotation() {
+        
+        CompiledTweenProperties c = new CompiledTweenProperties();
+        CompiledComponentMapper<ComponentType> cmc = new CompiledComponentMapper<>();
+        int x1 = c.slot( "x1" );
+        int y1 = c.slot( "y1" );
+        int angle1 = c.slot( "angle1" );
+        int velAngle = c.slot( "velAngle" );
+        int angle2 = c.slot( "angle2" );
+        
         return ( 
             double delta, 
             TweenAnimationProperties p,
             TweenAnimationComponentMapper<ComponentType> cm, 
             TweenAnimationStateContainer sc ) -> {
             
+            double[] v = c.values( p );
+            TweenComponentMapper<ComponentType> m = cmc.of( cm );
+            
             if ( sc.state == AnimationExecutionState.INITIALIZED ) {
                 sc.state = AnimationExecutionState.RUNNING;
-                cm.set( "x", p.getDouble( "x1" ) );
-                cm.set( "y", p.getDouble( "y1" ) );
-                cm.set( "angle", p.getDouble( "angle1" ) );
+                m.setX( v[x1] );
+                m.setY( v[y1] );
+                m.setAngle( v[angle1] );
             }
             
             if ( sc.state == AnimationExecutionState.RUNNING ) {
-                cm.set( "angle", (Double) cm.get( "angle" ) + p.getDouble( "velAngle" ) * delta );
-                if ( (Double) cm.get( "angle" ) >= p.getDouble( "angle2" ) ) {
-                    cm.set( "angle", p.getDouble( "angle2" ) );
+                m.setAngle( m.getAngle() + v[velAngle] * delta );
+                if ( m.getAngle() >= v[angle2] ) {
+                    m.setAngle( v[angle2] );
                     sc.state = AnimationExecutionState.FINISHED;
                 }
-                sc.percentage = ( (Double) cm.get( "angle" ) - p.getDouble( "angle1" ) ) / ( p.getDouble( "angle2" ) - p.getDouble( "angle1" ) );
+                sc.percentage = ( m.getAngle() - v[angle1] ) / ( v[angle2] - v[angle1] );
             }
             
         };
+        
     }
     
 }
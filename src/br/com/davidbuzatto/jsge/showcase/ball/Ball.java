@@ -17,6 +17,7 @@
 package br.com.davidbuzatto.jsge.showcase.ball;
 
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.image.Image;
 import br.com.davidbuzatto.jsge.math.Vector2;
 import br.com.davidbuzatto.jsge.collision.CollisionUtils;
 import java.awt.Color;
@@ -79,29 +80,7 @@ public class Ball {
         }
 
         if ( !dragging ) {
-
-            pos.x += vel.x * delta;
-            pos.y += vel.y * delta;
-
-            if ( pos.x - radius <= 0 ) {
-                pos.x = radius;
-                vel.x = -vel.x * alasticity;
-            } else if ( pos.x + radius >= engine.getScreenWidth() ) {
-                pos.x = engine.getScreenWidth() - radius;
-                vel.x = -vel.x * alasticity;
-            }
-
-            if ( pos.y - radius <= 0 ) {
-                pos.y = radius;
-                vel.y = -vel.y * alasticity;
-            } else if ( pos.y + radius >= engine.getScreenHeight() ) {
-                pos.y = engine.getScreenHeight() - radius;
-                vel.y = -vel.y * alasticity;
-            }
-
-            vel.x = vel.x * friction;
-            vel.y = vel.y * friction + BouncingBallExample.GRAVITY;
-
+            update( delta, engine.getScreenWidth(), engine.getScreenHeight() );
         } else {
             pos.x = engine.getMouseX() + xOffset;
             pos.y = engine.getMouseY() + yOffset;
@@ -113,6 +92,39 @@ public class Ball {
 
     }
     
+    /**
+     * Moves the ball, bouncing it against the limits of an area.
+     *
+     * @param delta time delta.
+     * @param width width of the area.
+     * @param height height of the area.
+     */
+    void update( double delta, double width, double height ) {
+
+        pos.x += vel.x * delta;
+        pos.y += vel.y * delta;
+
+        if ( pos.x - radius <= 0 ) {
+            pos.x = radius;
+            vel.x = -vel.x * alasticity;
+        } else if ( pos.x + radius >= width ) {
+            pos.x = width - radius;
+            vel.x = -vel.x * alasticity;
+        }
+
+        if ( pos.y - radius <= 0 ) {
+            pos.y = radius;
+            vel.y = -vel.y * alasticity;
+        } else if ( pos.y + radius >= height ) {
+            pos.y = height - radius;
+            vel.y = -vel.y * alasticity;
+        }
+
+        vel.x = vel.x * friction;
+        vel.y = vel.y * friction + BouncingBallExample.GRAVITY;
+
+    }
+    
     /**
      * Draws the ball.
      *
@@ -121,5 +133,14 @@ public class Ball {
     void draw( EngineFrame engine ) {
         engine.fillCircle( pos, radius, color );
     }
+    
+    /**
+     * Draws the ball into an image.
+     *
+     * @param image image.
+     */
+    void draw( Image image ) {
+        image.fillCircle( pos.x, pos.y, radius, color );
+    }
         
 }
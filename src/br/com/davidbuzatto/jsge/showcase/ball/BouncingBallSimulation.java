@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.ball;
+
+import br.com.davidbuzatto.jsge.image.Image;
+import br.com.davidbuzatto.jsge.math.Vector2;
+import br.com.davidbuzatto.jsge.showcase.headless.HeadlessColors;
+import br.com.davidbuzatto.jsge.showcase.headless.HeadlessSimulation;
+
+/**
+ * Headless version of the bouncing ball example, without mouse dragging.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class BouncingBallSimulation implements HeadlessSimulation {
+    
+    private Ball ball;
+    private int width;
+    private int height;
+    
+    @Override
+    public void create( int width, int height ) {
+        this.width = width;
+        this.height = height;
+        ball = new Ball(
+                new Vector2( width / 2, height / 2 ),
+                new Vector2( 200, 200 ),
+                50,
+                0.99,
+                0.9,
+                HeadlessColors.BLUE
+        );
+    }
+    
+    @Override
+    public void update( double delta ) {
+        ball.update( delta, width, height );
+    }
+    
+    @Override
+    public void draw( Image image ) {
+        image.clearBackground( HeadlessColors.WHITE );
+        ball.draw( image );
+    }
+    
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.cache;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.core.Drawable;
+import br.com.davidbuzatto.jsge.geom.Arc;
+import br.com.davidbuzatto.jsge.geom.Circle;
+import br.com.davidbuzatto.jsge.geom.CircleSector;
+import br.com.davidbuzatto.jsge.geom.CubicCurve;
+import br.com.davidbuzatto.jsge.geom.Ellipse;
+import br.com.davidbuzatto.jsge.geom.EllipseSector;
+import br.com.davidbuzatto.jsge.geom.Line;
+import br.com.davidbuzatto.jsge.geom.Path;
+import br.com.davidbuzatto.jsge.geom.Polygon;
+import br.com.davidbuzatto.jsge.geom.QuadCurve;
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+import br.com.davidbuzatto.jsge.geom.Ring;
+import br.com.davidbuzatto.jsge.geom.RoundRectangle;
+import br.com.davidbuzatto.jsge.geom.Star;
+import br.com.davidbuzatto.jsge.geom.Triangle;
+import br.com.davidbuzatto.jsge.image.Image;
+import java.awt.Paint;
+
+/**
+ * Draws drawables into images.
+ *
+ * Drawable only knows how to draw itself into an EngineFrame, so the
+ * geometric classes of the engine are mapped to the matching drawing
+ * methods of Image, which lets static drawables be rendered once into a
+ * RenderCache.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public final class DrawableRenderer {
+    
+    private DrawableRenderer() {
+    }
+    
+    /**
+     * Draws the outline of a drawable into an image.
+     *
+     * @param image The target image.
+     * @param drawable A geometric object of the engine.
+     * @param paint Paint for drawing.
+     * @throws IllegalArgumentException If the drawable is not one of the
+     * geometric classes of the engine.
+     */
+    public static void draw( Image image, Drawable drawable, Paint paint ) {
+        if ( drawable instanceof Arc ) {
+            image.drawArc( (Arc) drawable, paint );
+        } else if ( drawable instanceof Circle ) {
+            image.drawCircle( (Circle) drawable, paint );
+        } else if ( drawable instanceof CircleSector ) {
+            image.drawCircleSector( (CircleSector) drawable, paint );
+        } else if ( drawable instanceof CubicCurve ) {
+            image.drawCubicCurve( (CubicCurve) drawable, paint );
+        } else if ( drawable instanceof Ellipse ) {
+            image.drawEllipse( (Ellipse) drawable, paint );
+        } else if ( drawable instanceof EllipseSector ) {
+            image.drawEllipseSector( (EllipseSector) drawable, paint );
+        } else if ( drawable instanceof Line ) {
+            image.drawLine( (Line) drawable, paint );
+        } else if ( drawable instanceof Path ) {
+            image.drawPath( (Path) drawable, paint );
+        } else if ( drawable instanceof Polygon ) {
+            image.drawPolygon( (Polygon) drawable, paint );
+        } else if ( drawable instanceof QuadCurve ) {
+            image.drawQuadCurve( (QuadCurve) drawable, paint );
+        } else if ( drawable instanceof Rectangle ) {
+            image.drawRectangle( (Rectangle) drawable, paint );
+        } else if ( drawable instanceof Ring ) {
+            image.drawRing( (Ring) drawable, paint );
+        } else if ( drawable instanceof RoundRectangle ) {
+            image.drawRoundRectangle( (RoundRectangle) drawable, paint );
+        } else if ( drawable instanceof Star ) {
+            image.drawStar( (Star) drawable, paint );
+        } else if ( drawable instanceof Triangle ) {
+            image.drawTriangle( (Triangle) drawable, paint );
+        } else if ( drawable instanceof AABB ) {
+            image.drawAABB( (AABB) drawable, paint );
+        } else {
+            throw new IllegalArgumentException( "cannot draw a " + drawable.getClass().getSimpleName() + " into an image" );
+        }
+    }
+    
+    /**
+     * Fills a drawable into an image. Lines are only drawn.
+     *
+     * @param image The target image.
+     * @param drawable A geometric object of the engine.
+     * @param paint Paint for filling.
+     * @throws IllegalArgumentException If the drawable is not one of the
+     * geometric classes of the engine.
+     */
+    public static void fill( Image image, Drawable drawable, Paint paint ) {
+        if ( drawable instanceof Line ) {
+            image.drawLine( (Line) drawable, paint );
+        } else if ( drawable instanceof Arc ) {
+            image.fillArc( (Arc) drawable, paint );
+        } else if ( drawable instanceof Circle ) {
+            image.fillCircle( (Circle) drawable, paint );
+        } else if ( drawable instanceof CircleSector ) {
+            image.fillCircleSector( (CircleSector) drawable, paint );
+        } else if ( drawable instanceof CubicCurve ) {
+            image.fillCubicCurve( (CubicCurve) drawable, paint );
+        } else if ( drawable instanceof Ellipse ) {
+            image.fillEllipse( (Ellipse) drawable, paint );
+        } else if ( drawable instanceof EllipseSector ) {
+            image.fillEllipseSector( (EllipseSector) drawable, paint );
+        } else if ( drawable instanceof Path ) {
+            image.fillPath( (Path) drawable, paint );
+        } else if ( drawable instanceof Polygon ) {
+            image.fillPolygon( (Polygon) drawable, paint );
+        } else if ( drawable instanceof QuadCurve ) {
+            image.fillQuadCurve( (QuadCurve) drawable, paint );
+        } else if ( drawable instanceof Rectangle ) {
+            image.fillRectangle( (Rectangle) drawable, paint );
+        } else if ( drawable instanceof Ring ) {
+            image.fillRing( (Ring) drawable, paint );
+        } else if ( drawable instanceof RoundRectangle ) {
+            image.fillRoundRectangle( (RoundRectangle) drawable, paint );
+        } else if ( drawable instanceof Star ) {
+            image.fillStar( (Star) drawable, paint );
+        } else if ( drawable instanceof Triangle ) {
+            image.fillTriangle( (Triangle) drawable, paint );
+        } else if ( drawable instanceof AABB ) {
+            image.fillAABB( (AABB) drawable, paint );
+        } else {
+            throw new IllegalArgumentException( "cannot fill a " + drawable.getClass().getSimpleName() + " into an image" );
+        }
+    }
+    
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A map that keeps its values under a memory budget, evicting the least
+ * recently used ones.
+ *
+ * The size of each value is given by a weigher, in bytes or in any other
+ * unit, as long as the budget uses the same unit. A value larger than the
+ * whole budget is returned but not kept.
+ *
+ * @param <K> Type of the keys.
+ * @param <V> Type of the values.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class LRUCache<K, V> {
+    
+    private final LinkedHashMap<K, V> entries;
+    private final ToLongFunction<V> weigher;
+    private long budget;
+    private long weight;
+    
+    private long hits;
+    private long misses;
+    private long evictions;
+    
+    /**
+     * Creates an empty cache.
+     *
+     * @param budget Maximum total weight of the values.
+     * @param weigher Weight of a value.
+     */
+    public LRUCache( long budget, ToLongFunction<V> weigher ) {
+        this.entries = new LinkedHashMap<>( 16, 0.75f, true );
+        this.weigher = weigher;
+        this.budget = budget;
+    }
+    
+    /**
+     * Returns the value of a key, marking it as the most recently used.
+     *
+     * @param key The key.
+     * @return The value, or null if the key is not cached.
+     */
+    public V get( K key ) {
+        V value = entries.get( key );
+        if ( value != null ) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return value;
+    }
+    
+    /**
+     * Returns the value of a key, computing and caching it if the key is
+     * not cached.
+     *
+     * @param key The key.
+     * @param loader Computes the value of a key that is not cached.
+     * @return The value.
+     */
+    public V get( K key, Function<K, V> loader ) {
+        V value = get( key );
+        if ( value == null ) {
+            value = loader.apply( key );
+            put( key, value );
+        }
+        return value;
+    }
+    
+    /**
+     * Caches a value, evicting the least recently used values while the
+     * budget is exceeded. A value heavier than the whole budget is not
+     * cached, and replaces nothing but a previous value of its key.
+     *
+     * @param key The key.
+     * @param value The value.
+     */
+    public void put( K key, V value ) {
+        
+        long valueWeight = weigher.applyAsLong( value );
+        
+        // kept, it would evict every other value before being evicted
+        if ( valueWeight > budget ) {
+            remove( key );
+            return;
+        }
+        
+        V old = entries.put( key, value );
+        if ( old != null ) {
+            weight -= weigher.applyAsLong( old );
+        }
+        weight += valueWeight;
+        
+        trim();
+        
+    }
+    
+    /**
+     * Removes a key.
+     *
+     * @param key The key.
+     * @return The removed value, or null if the key was not cached.
+     */
+    public V remove( K key ) {
+        V old = entries.remove( key );
+        if ( old != null ) {
+            weight -= weigher.applyAsLong( old );
+        }
+        return old;
+    }
+    
+    /**
+     * Returns whether a key is cached, without marking it as used.
+     *
+     * @param key The key.
+     * @return Whether the key is cached.
+     */
+    public boolean containsKey( K key ) {
+        return entries.containsKey( key );
+    }
+    
+    /**
+     * Removes every value.
+     */
+    public void clear() {
+        entries.clear();
+        weight = 0;
+    }
+    
+    /**
+     * Changes the budget, evicting values if needed.
+     *
+     * @param budget Maximum total weight of the values.
+     */
+    public void setBudget( long budget ) {
+        this.budget = budget;
+        trim();
+    }
+    
+    /**
+     * Returns the budget.
+     *
+     * @return Maximum total weight of the values.
+     */
+    public long getBudget() {
+        return budget;
+    }
+    
+    /**
+     * Returns the total weight of the cached values.
+     *
+     * @return The total weight.
+     */
+    public long getWeight() {
+        return weight;
+    }
+    
+    /**
+     * Returns the number of cached values.
+     *
+     * @return The number of cached values.
+     */
+    public int size() {
+        return entries.size();
+    }
+    
+    /**
+     * Returns how many lookups found their key.
+     *
+     * @return The number of hits.
+     */
+    public long getHits() {
+        return hits;
+    }
+    
+    /**
+     * Returns how many lookups did not find their key.
+     *
+     * @return The number of misses.
+     */
+    public long getMisses() {
+        return misses;
+    }
+    
+    /**
+     * Returns how many values were evicted to respect the budget.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictions() {
+        return evictions;
+    }
+    
+    private void trim() {
+        Iterator<Map.Entry<K, V>> it = entries.entrySet().iterator();
+        while ( weight > budget && it.hasNext() ) {
+            Map.Entry<K, V> e = it.next();
+            weight -= weigher.applyAsLong( e.getValue() );
+            it.remove();
+            evictions++;
+        }
+    }
+    
+}
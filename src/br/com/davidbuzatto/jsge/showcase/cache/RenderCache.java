@@ -0,0 +1,147 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.cache;
+
+import br.com.davidbuzatto.jsge.image.Image;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Keeps rendered images (function plots, static drawables, etc.) so they
+ * are drawn with a single image copy instead of being rendered again
+ * every frame.
+ *
+ * Images are keyed by whatever defines their content, like the plotted
+ * function and its parameters, and are evicted from the least recently
+ * used when their pixels exceed the memory budget.
+ *
+ * @param <K> Type of the keys.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class RenderCache<K> {
+    
+    private final LRUCache<K, Image> images;
+    
+    /**
+     * Creates an empty cache.
+     *
+     * @param budgetBytes Maximum memory of the cached pixels, in bytes.
+     */
+    public RenderCache( long budgetBytes ) {
+        images = new LRUCache<>( budgetBytes, RenderCache::bytes );
+    }
+    
+    /**
+     * Returns the image of a key, rendering it if needed.
+     *
+     * @param key What defines the image content.
+     * @param renderer Creates the image.
+     * @return The image.
+     */
+    public Image get( K key, Supplier<Image> renderer ) {
+        return images.get( key, k -> renderer.get() );
+    }
+    
+    /**
+     * Returns the image of a region, rendering it if needed into a
+     * transparent image of the region size. The renderer draws in the
+     * coordinates of the screen: the image is translated so the region
+     * starts at its origin, and antialiased like an EngineFrame created
+     * with antialiasing. Draw the image at (x, y).
+     *
+     * @param key What defines the image content.
+     * @param x X coordinate of the region.
+     * @param y Y coordinate of the region.
+     * @param width Width of the region.
+     * @param height Height of the region.
+     * @param renderer Draws the content.
+     * @return The image.
+     */
+    public Image get( K key, double x, double y, int width, int height, Consumer<Image> renderer ) {
+        return images.get( key, k -> {
+            Image image = new RegionImage( x, y, width, height );
+            renderer.accept( image );
+            return image;
+        });
+    }
+    
+    /**
+     * Removes the image of a key, so it is rendered again when requested.
+     *
+     * @param key The key.
+     */
+    public void invalidate( K key ) {
+        images.remove( key );
+    }
+    
+    /**
+     * Removes every image.
+     */
+    public void clear() {
+        images.clear();
+    }
+    
+    /**
+     * Returns the cached images and their statistics.
+     *
+     * @return The underlying cache.
+     */
+    public LRUCache<K, Image> getImages() {
+        return images;
+    }
+    
+    /**
+     * Returns the memory used by the pixels of an image, assuming four
+     * bytes per pixel.
+     *
+     * @param image The image.
+     * @return The size in bytes.
+     */
+    public static long bytes( Image image ) {
+        return 4L * image.getWidth() * image.getHeight();
+    }
+    
+    /**
+     * An antialiased image whose drawing methods are translated to a
+     * region. Every drawing method of Image creates its graphics context
+     * here.
+     */
+    private static class RegionImage extends Image {
+        
+        private final double x;
+        private final double y;
+        
+        RegionImage( double x, double y, int width, int height ) {
+            super( width, height );
+            this.x = x;
+            this.y = y;
+        }
+        
+        @Override
+        public Graphics2D createGraphics() {
+            Graphics2D g2d = super.createGraphics();
+            g2d.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON );
+            g2d.translate( -x, -y );
+            return g2d;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.collision;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import java.util.List;
+
+/**
+ * A broadphase: finds the pairs of overlapping AABBs of a list.
+ *
+ * The AABBs should be moved through the broadphase, so implementations
+ * that keep track of the movement (like the incremental quadtree) are
+ * notified. After moving them, update must be called before querying the
+ * pairs.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public interface AABBBroadphase {
+    
+    /**
+     * Gets the AABBs.
+     *
+     * @return A list of AABBs.
+     */
+    public List<AABB> getAABBs();
+    
+    /**
+     * Moves an AABB.
+     *
+     * @param index Index of the AABB.
+     * @param deltaX Displacement along x.
+     * @param deltaY Displacement along y.
+     */
+    public default void move( int index, double deltaX, double deltaY ) {
+        getAABBs().get( index ).move( deltaX, deltaY );
+    }
+    
+    /**
+     * Repositions an AABB.
+     *
+     * @param index Index of the AABB.
+     * @param x1 X coordinate of the upper-left vertex.
+     * @param y1 Y coordinate of the upper-left vertex.
+     */
+    public default void moveTo( int index, double x1, double y1 ) {
+        getAABBs().get( index ).moveTo( x1, y1 );
+    }
+    
+    /**
+     * Brings the broadphase up to date with the AABBs moved since the
+     * last update.
+     */
+    public void update();
+    
+    /**
+     * Discards any state kept between updates and processes every AABB
+     * again. Must be called when the AABBs were changed without going
+     * through the broadphase.
+     */
+    public void rebuild();
+    
+    /**
+     * Finds every pair of overlapping active AABBs, skipping pairs where
+     * both AABBs are static. The results replace the contents of the
+     * destination buffer.
+     *
+     * @param dest The destination buffer.
+     * @return The number of pairs found.
+     */
+    public int queryPairs( AABBPairBuffer dest );
+    
+    /**
+     * Returns how many AABB pairs were tested by the last pair query.
+     *
+     * @return The number of pair tests.
+     */
+    public long getLastPairTests();
+    
+    /**
+     * Creates a broadphase that tests every pair of AABBs.
+     *
+     * @param aabbs The AABBs.
+     * @return The broadphase.
+     */
+    public static AABBBroadphase bruteForce( List<AABB> aabbs ) {
+        
+        return new AABBBroadphase() {
+            
+            private long pairTests;
+            
+            @Override
+            public List<AABB> getAABBs() {
+                return aabbs;
+            }
+            
+            @Override
+            public void update() {
+            }
+            
+            @Override
+            public void rebuild() {
+            }
+            
+            @Override
+            public int queryPairs( AABBPairBuffer dest ) {
+                
+                dest.clear();
+                pairTests = 0;
+                
+                int size = aabbs.size();
+                for ( int i = 0; i < size; i++ ) {
+                    AABB a = aabbs.get( i );
+                    if ( a.active ) {
+                        for ( int j = i + 1; j < size; j++ ) {
+                            AABB b = aabbs.get( j );
+                            if ( b.active ) {
+                                dest.addOverlap( i, a, j, b );
+                                pairTests++;
+                            }
+                        }
+                    }
+                }
+                
+                return dest.count;
+                
+            }
+            
+            @Override
+            public long getLastPairTests() {
+                return pairTests;
+            }
+            
+        };
+        
+    }
+    
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.collision;
+
+import java.util.Arrays;
+
+/**
+ * Reusable buffer of AABB indexes, backed by a primitive array that only
+ * grows.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class AABBIndexBuffer {
+    
+    /** AABB indexes */
+    public int[] indexes;
+    
+    /** number of indexes */
+    public int count;
+    
+    /**
+     * Creates an empty buffer.
+     */
+    public AABBIndexBuffer() {
+        this( 64 );
+    }
+    
+    /**
+     * Creates an empty buffer.
+     *
+     * @param initialCapacity Initial capacity.
+     */
+    public AABBIndexBuffer( int initialCapacity ) {
+        indexes = new int[Math.max( 1, initialCapacity )];
+    }
+    
+    /**
+     * Removes every index.
+     */
+    public void clear() {
+        count = 0;
+    }
+    
+    /**
+     * Appends an index.
+     *
+     * @param index The index.
+     */
+    public void add( int index ) {
+        if ( count == indexes.length ) {
+            indexes = Arrays.copyOf( indexes, indexes.length * 2 );
+        }
+        indexes[count++] = index;
+    }
+    
+}
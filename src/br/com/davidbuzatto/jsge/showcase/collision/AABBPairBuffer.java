@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.collision;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import java.util.Arrays;
+
+/**
+ * Reusable buffer of overlapping AABB pairs, backed by primitive arrays.
+ *
+ * Pair i is made by the AABB indexes pairs[2*i] and pairs[2*i+1] and its
+ * intersection is the rectangle areas[4*i] (x), areas[4*i+1] (y),
+ * areas[4*i+2] (width) and areas[4*i+3] (height). The arrays only grow,
+ * so once they are big enough filling the buffer allocates nothing.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class AABBPairBuffer {
+    
+    /** AABB indexes, two per pair */
+    public int[] pairs;
+    
+    /** intersection rectangles, four values per pair */
+    public double[] areas;
+    
+    /** number of pairs */
+    public int count;
+    
+    /**
+     * Creates an empty buffer.
+     */
+    public AABBPairBuffer() {
+        this( 64 );
+    }
+    
+    /**
+     * Creates an empty buffer.
+     *
+     * @param initialCapacity Initial capacity, in pairs.
+     */
+    public AABBPairBuffer( int initialCapacity ) {
+        initialCapacity = Math.max( 1, initialCapacity );
+        pairs = new int[initialCapacity * 2];
+        areas = new double[initialCapacity * 4];
+    }
+    
+    /**
+     * Removes every pair.
+     */
+    public void clear() {
+        count = 0;
+    }
+    
+    /**
+     * Appends a pair.
+     *
+     * @param a Index of the first AABB.
+     * @param b Index of the second AABB.
+     * @param x X coordinate of the intersection.
+     * @param y Y coordinate of the intersection.
+     * @param width Width of the intersection.
+     * @param height Height of the intersection.
+     */
+    public void add( int a, int b, double x, double y, double width, double height ) {
+        
+        if ( count * 2 == pairs.length ) {
+            pairs = Arrays.copyOf( pairs, pairs.length * 2 );
+            areas = Arrays.copyOf( areas, areas.length * 2 );
+        }
+        
+        int p = count * 2;
+        pairs[p] = a;
+        pairs[p + 1] = b;
+        
+        int r = count * 4;
+        areas[r] = x;
+        areas[r + 1] = y;
+        areas[r + 2] = width;
+        areas[r + 3] = height;
+        
+        count++;
+        
+    }
+    
+    /**
+     * Appends a pair if the AABBs overlap and at least one of them is not
+     * static. Same overlap test as CollisionUtils.checkCollisionRectangles,
+     * but reading the AABB fields directly.
+     *
+     * @param ia Index of the first AABB.
+     * @param a The first AABB.
+     * @param ib Index of the second AABB.
+     * @param b The second AABB.
+     * @return True if the pair was added, false otherwise.
+     */
+    public boolean addOverlap( int ia, AABB a, int ib, AABB b ) {
+        
+        if ( a.type == AABB.Type.STATIC && b.type == AABB.Type.STATIC ) {
+            return false;
+        }
+        
+        if ( a.x1 < b.x2 && a.x2 > b.x1 && a.y1 < b.y2 && a.y2 > b.y1 ) {
+            double x1 = Math.max( a.x1, b.x1 );
+            double y1 = Math.max( a.y1, b.y1 );
+            add( ia, ib, x1, y1, Math.min( a.x2, b.x2 ) - x1, Math.min( a.y2, b.y2 ) - y1 );
+            return true;
+        }
+        
+        return false;
+        
+    }
+    
+    /**
+     * Appends every pair of another buffer.
+     *
+     * @param other The other buffer.
+     */
+    public void addAll( AABBPairBuffer other ) {
+        
+        int newCount = count + other.count;
+        
+        if ( newCount * 2 > pairs.length ) {
+            int capacity = Math.max( newCount, pairs.length );
+            pairs = Arrays.copyOf( pairs, capacity * 2 );
+            areas = Arrays.copyOf( areas, capacity * 4 );
+        }
+        
+        System.arraycopy( other.pairs, 0, pairs, count * 2, other.count * 2 );
+        System.arraycopy( other.areas, 0, areas, count * 4, other.count * 4 );
+        count = newCount;
+        
+    }
+    
+}
@@ -0,0 +1,906 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.collision;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.core.utils.ColorUtils;
+import br.com.davidbuzatto.jsge.showcase.headless.HeadlessColors;
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A quadtree for AABBs.
+ *
+ * Derived from the JSGE AABBQuadtree and kept in the showcase, so the
+ * collision example can evolve it and run headless (the library class
+ * reads its colors from EngineFrame when loaded).
+ *
+ * Each AABB is stored once, in the deepest node that contains it
+ * entirely. Leaves are split when they hold more than the node capacity.
+ *
+ * The tree can be maintained in two ways:
+ * <ul>
+ * <li>rebuild: update() empties the tree and inserts every active AABB;</li>
+ * <li>incremental: the AABBs are moved through move/moveTo, which mark
+ * them as dirty, and update() only reinserts the dirty AABBs whose bounds
+ * crossed the boundary of their node. Subtrees that end up empty are
+ * collapsed at the end of the update.</li>
+ * </ul>
+ *
+ * AABBs are identified by their index in the list given to the tree.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class AABBQuadtree implements AABBBroadphase {
+    
+    private static final Color OUTLINE_COLOR = HeadlessColors.BLACK;
+    private static final Color COMMON_COLOR = ColorUtils.fade( HeadlessColors.GRAY, 0.3 );
+    private static final Color AABB_COLOR = ColorUtils.fade( HeadlessColors.GOLD, 1 );
+    private static final Color INACTIVE_AABB_COLOR = ColorUtils.fade( HeadlessColors.RED, 1 );
+    
+    /**
+     * Default number of AABBs a leaf holds before being split.
+     */
+    public static final int DEFAULT_NODE_CAPACITY = 8;
+    
+    /**
+     * Default number of AABBs from which a subtree is split in several
+     * work units by the parallel pair query.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 2048;
+        
+    /**
+     * Root.
+     */
+    private AABBQuadtreeNode root;
+
+    /**
+     * Maximum depth.
+     */
+    private int maxDepth;
+
+    /**
+     * Number of AABBs a leaf holds before being split.
+     */
+    private int nodeCapacity;
+
+    /**
+     * List of AABBs in the tree.
+     */
+    private List<AABB> aabbs;
+    
+    /**
+     * Whether update() works incrementally.
+     */
+    private boolean incremental;
+    
+    // node of each AABB (null when it is not in the tree)
+    // and its position inside the items of that node
+    private AABBQuadtreeNode[] owners;
+    private int[] ownerSlots;
+    
+    // AABBs moved since the last update
+    private int[] dirty;
+    private boolean[] dirtyFlags;
+    private int dirtyCount;
+    
+    // nodes that lost AABBs during the update, candidates to collapse
+    private AABBQuadtreeNode[] collapseCandidates;
+    private int collapseCount;
+    
+    private int width;
+    private int height;
+    private Shape shape;
+    
+    private int lastReinsertions;
+    private long pairTests;
+    
+    // work units of the parallel pair query: a node, whether its whole
+    // subtree is queried and the results of the unit
+    private int parallelThreshold;
+    private AABBQuadtreeNode[] workNodes;
+    private boolean[] workSubtrees;
+    private long[] workTests;
+    private AABBPairBuffer[] workBuffers;
+    private int workCount;
+
+    /**
+     * Enumeration for the quadtree node shapes.
+     */
+    public static enum Shape {
+        SQUARE,
+        RECTANGULAR;
+    }
+    
+    /**
+     * Constructs a new quadtree from a set of AABBs.
+     *
+     * @param aabbs The AABBs of the tree.
+     * @param width Width of the tree (outermost rectangle).
+     * @param height Height of the tree (outermost rectangle).
+     * @param maxDepth Maximum depth of the tree.
+     * @param shape Shape of the tree nodes.
+     */
+    public AABBQuadtree( List<AABB> aabbs, int width, int height, int maxDepth, Shape shape ) {
+        this.aabbs = aabbs;
+        this.maxDepth = maxDepth;
+        this.nodeCapacity = DEFAULT_NODE_CAPACITY;
+        this.collapseCandidates = new AABBQuadtreeNode[16];
+        this.parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+        this.workNodes = new AABBQuadtreeNode[16];
+        this.workSubtrees = new boolean[16];
+        this.workTests = new long[16];
+        this.workBuffers = new AABBPairBuffer[16];
+        allocateIndexes();
+        reshape( width, height, shape );
+    }
+    
+    /**
+     * Constructs a new quadtree from a set of AABBs with square nodes.
+     *
+     * @param aabbs The AABBs of the tree.
+     * @param width Width of the tree (outermost rectangle).
+     * @param height Height of the tree (outermost rectangle).
+     * @param maxDepth Maximum depth of the tree.
+     */
+    public AABBQuadtree( List<AABB> aabbs, int width, int height, int maxDepth ) {
+        this( aabbs, width, height, maxDepth, Shape.SQUARE );
+    }
+
+    /**
+     * Reshapes the tree, inserting every active AABB again.
+     *
+     * @param width New width.
+     * @param height New height.
+     * @param shape The shape of the tree.
+     */
+    public void reshape( int width, int height, AABBQuadtree.Shape shape ) {
+        
+        if ( shape != AABBQuadtree.Shape.SQUARE && shape != AABBQuadtree.Shape.RECTANGULAR ) {
+            throw new IllegalArgumentException( shape + " is not recognized as a valid argument for Quadtree shape" );
+        }
+        
+        this.width = width;
+        this.height = height;
+        this.shape = shape;
+        rebuild();
+        
+    }
+    
+    /**
+     * Updates the tree.
+     * Only active AABBs are inserted.
+     *
+     * In incremental mode only the AABBs marked as dirty are processed.
+     */
+    @Override
+    public void update() {
+        
+        if ( !incremental ) {
+            rebuild();
+            return;
+        }
+        
+        int reinsertions = 0;
+        
+        for ( int k = 0; k < dirtyCount; k++ ) {
+            
+            int index = dirty[k];
+            dirtyFlags[index] = false;
+            
+            AABB aabb = aabbs.get( index );
+            AABBQuadtreeNode owner = owners[index];
+            
+            if ( !aabb.active ) {
+                if ( owner != null ) {
+                    remove( index );
+                }
+                continue;
+            }
+            
+            if ( owner == null ) {
+                insert( root, index );
+                reinsertions++;
+                continue;
+            }
+            
+            // still in the right node: inside it and not inside a child
+            if ( ( owner == root || contains( owner, aabb ) ) && 
+                 ( owner.isLeaf() || childFor( owner, aabb ) == null ) ) {
+                continue;
+            }
+            
+            remove( index );
+            
+            // goes up until a node contains it, then back down
+            AABBQuadtreeNode node = owner;
+            while ( node != root && !contains( node, aabb ) ) {
+                node = node.parent;
+            }
+            insert( node, index );
+            reinsertions++;
+            
+        }
+        
+        dirtyCount = 0;
+        
+        for ( int k = 0; k < collapseCount; k++ ) {
+            collapseEmpty( collapseCandidates[k] );
+            collapseCandidates[k] = null;
+        }
+        collapseCount = 0;
+        
+        lastReinsertions = reinsertions;
+        
+    }
+    
+    /**
+     * Empties the tree and inserts every active AABB.
+     */
+    @Override
+    public void rebuild() {
+        
+        int newWidth = width;
+        int newHeight = height;
+
+        if ( shape == AABBQuadtree.Shape.SQUARE ) {
+            newWidth = newHeight = width > height ? width - 1 : height - 1;
+        }
+        
+        if ( owners.length != aabbs.size() ) {
+            allocateIndexes();
+        }
+        
+        root = new AABBQuadtreeNode( 0, 0, newWidth, newHeight, 0, null );
+        
+        int size = aabbs.size();
+        for ( int i = 0; i < size; i++ ) {
+            owners[i] = null;
+            dirtyFlags[i] = false;
+            if ( aabbs.get( i ).active ) {
+                insert( root, i );
+            }
+        }
+        
+        dirtyCount = 0;
+        collapseCount = 0;
+        lastReinsertions = size;
+        
+    }
+    
+    /**
+     * Moves an AABB, marking it as dirty.
+     *
+     * @param index Index of the AABB.
+     * @param deltaX Displacement along x.
+     * @param deltaY Displacement along y.
+     */
+    @Override
+    public void move( int index, double deltaX, double deltaY ) {
+        aabbs.get( index ).move( deltaX, deltaY );
+        markDirty( index );
+    }
+    
+    /**
+     * Repositions an AABB, marking it as dirty.
+     *
+     * @param index Index of the AABB.
+     * @param x1 X coordinate of the upper-left vertex.
+     * @param y1 Y coordinate of the upper-left vertex.
+     */
+    @Override
+    public void moveTo( int index, double x1, double y1 ) {
+        aabbs.get( index ).moveTo( x1, y1 );
+        markDirty( index );
+    }
+    
+    /**
+     * Marks an AABB to be processed by the next incremental update.
+     * Must be called when an AABB is changed without move/moveTo, for
+     * example when it is activated or deactivated.
+     *
+     * @param index Index of the AABB.
+     */
+    public void markDirty( int index ) {
+        if ( !dirtyFlags[index] ) {
+            dirtyFlags[index] = true;
+            dirty[dirtyCount++] = index;
+        }
+    }
+
+    /**
+     * Gets the AABBs.
+     *
+     * @return A list of AABBs.
+     */
+    @Override
+    public List<AABB> getAABBs() {
+        return aabbs;
+    }
+
+    /**
+     * Gets the root of the tree.
+     *
+     * @return The root of the tree.
+     */
+    public AABBQuadtreeNode getRoot() {
+        return root;
+    }
+    
+    /**
+     * Sets the AABBs, rebuilding the tree.
+     *
+     * @param aabbs New AABBs.
+     */
+    public void setAABBs( List<AABB> aabbs ) {
+        this.aabbs = aabbs;
+        allocateIndexes();
+        rebuild();
+    }
+
+    /**
+     * Gets the maximum depth of the quadtree.
+     *
+     * @return The maximum depth.
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+    
+    /**
+     * Sets the maximum depth, rebuilding the tree.
+     *
+     * @param maxDepth The new maximum depth.
+     */
+    public void setMaxDepth( int maxDepth ) {
+        if ( this.maxDepth != maxDepth ) {
+            this.maxDepth = ( maxDepth < 1 || maxDepth > 10 ) ? this.maxDepth : maxDepth;
+            rebuild();
+        }
+    }
+    
+    /**
+     * Gets the number of AABBs a leaf holds before being split.
+     *
+     * @return The node capacity.
+     */
+    public int getNodeCapacity() {
+        return nodeCapacity;
+    }
+    
+    /**
+     * Sets the number of AABBs a leaf holds before being split,
+     * rebuilding the tree.
+     *
+     * @param nodeCapacity The new node capacity.
+     */
+    public void setNodeCapacity( int nodeCapacity ) {
+        this.nodeCapacity = Math.max( 1, nodeCapacity );
+        rebuild();
+    }
+    
+    /**
+     * Returns whether the tree is updated incrementally.
+     *
+     * @return True if the tree is updated incrementally, false otherwise.
+     */
+    public boolean isIncremental() {
+        return incremental;
+    }
+    
+    /**
+     * Sets whether the tree is updated incrementally. Changing the mode
+     * rebuilds the tree.
+     *
+     * @param incremental True to update incrementally.
+     */
+    public void setIncremental( boolean incremental ) {
+        if ( this.incremental != incremental ) {
+            this.incremental = incremental;
+            rebuild();
+        }
+    }
+    
+    /**
+     * Returns how many AABBs were (re)inserted by the last update.
+     *
+     * @return The number of insertions.
+     */
+    public int getLastReinsertions() {
+        return lastReinsertions;
+    }
+    
+    /**
+     * Finds every pair of overlapping AABBs in the tree, skipping pairs
+     * where both AABBs are static. The results replace the contents of
+     * the destination buffer.
+     *
+     * An AABB is only tested against the AABBs of its own node and of the
+     * nodes below it that its bounds touch.
+     *
+     * @param dest The destination buffer.
+     * @return The number of pairs found.
+     */
+    @Override
+    public int queryPairs( AABBPairBuffer dest ) {
+        dest.clear();
+        pairTests = queryPairs( root, dest );
+        return dest.count;
+    }
+    
+    /**
+     * Same as queryPairs, but the work is spread over the common fork-join
+     * pool.
+     *
+     * The tree is split in work units: subtrees holding up to the parallel
+     * threshold AABBs are a single unit, and bigger nodes are a unit with
+     * only their own AABBs (tested against the subtree below them) plus the
+     * units of their children. Each unit fills its own buffer, which is
+     * reused between queries, and the buffers are concatenated in order
+     * when every unit is done, so no locking is needed.
+     *
+     * The tree must not be changed while the query runs.
+     *
+     * @param dest The destination buffer.
+     * @return The number of pairs found.
+     */
+    public int queryPairsParallel( AABBPairBuffer dest ) {
+        
+        if ( root.subtreeCount <= parallelThreshold ) {
+            return queryPairs( dest );
+        }
+        
+        workCount = 0;
+        collectWork( root );
+        ForkJoinPool.commonPool().invoke( new PairTask( 0, workCount ) );
+        
+        dest.clear();
+        pairTests = 0;
+        for ( int i = 0; i < workCount; i++ ) {
+            dest.addAll( workBuffers[i] );
+            pairTests += workTests[i];
+            workNodes[i] = null;
+        }
+        
+        return dest.count;
+        
+    }
+    
+    /**
+     * Returns how many AABB pairs were tested by the last pair query.
+     *
+     * @return The number of pair tests.
+     */
+    @Override
+    public long getLastPairTests() {
+        return pairTests;
+    }
+    
+    /**
+     * Returns the number of AABBs from which a subtree is split in
+     * several work units by the parallel pair query.
+     *
+     * @return The parallel threshold.
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+    
+    /**
+     * Sets the number of AABBs from which a subtree is split in several
+     * work units by the parallel pair query.
+     *
+     * @param parallelThreshold The parallel threshold.
+     */
+    public void setParallelThreshold( int parallelThreshold ) {
+        this.parallelThreshold = Math.max( 1, parallelThreshold );
+    }
+    
+    private long queryPairs( AABBQuadtreeNode node, AABBPairBuffer dest ) {
+        
+        long tests = queryNodePairs( node, dest );
+        
+        if ( !node.isLeaf() ) {
+            tests += queryPairs( node.nw, dest );
+            tests += queryPairs( node.ne, dest );
+            tests += queryPairs( node.sw, dest );
+            tests += queryPairs( node.se, dest );
+        }
+        
+        return tests;
+        
+    }
+    
+    /**
+     * Tests the AABBs of a node against each other and against the
+     * subtree below the node.
+     */
+    private long queryNodePairs( AABBQuadtreeNode node, AABBPairBuffer dest ) {
+        
+        int[] items = node.items;
+        int itemCount = node.itemCount;
+        long tests = 0;
+        
+        for ( int i = 0; i < itemCount; i++ ) {
+            
+            int a = items[i];
+            AABB aabb = aabbs.get( a );
+            
+            for ( int j = i + 1; j < itemCount; j++ ) {
+                dest.addOverlap( a, aabb, items[j], aabbs.get( items[j] ) );
+            }
+            tests += itemCount - i - 1;
+            
+            if ( !node.isLeaf() ) {
+                tests += queryPairs( aabb, a, node.nw, dest );
+                tests += queryPairs( aabb, a, node.ne, dest );
+                tests += queryPairs( aabb, a, node.sw, dest );
+                tests += queryPairs( aabb, a, node.se, dest );
+            }
+            
+        }
+        
+        return tests;
+        
+    }
+    
+    private long queryPairs( AABB aabb, int a, AABBQuadtreeNode node, AABBPairBuffer dest ) {
+        
+        if ( node.subtreeCount == 0 || 
+             aabb.x2 < node.x1 || aabb.x1 > node.x2 || aabb.y2 < node.y1 || aabb.y1 > node.y2 ) {
+            return 0;
+        }
+        
+        int[] items = node.items;
+        for ( int i = 0; i < node.itemCount; i++ ) {
+            dest.addOverlap( a, aabb, items[i], aabbs.get( items[i] ) );
+        }
+        long tests = node.itemCount;
+        
+        if ( !node.isLeaf() ) {
+            tests += queryPairs( aabb, a, node.nw, dest );
+            tests += queryPairs( aabb, a, node.ne, dest );
+            tests += queryPairs( aabb, a, node.sw, dest );
+            tests += queryPairs( aabb, a, node.se, dest );
+        }
+        
+        return tests;
+        
+    }
+    
+    private void collectWork( AABBQuadtreeNode node ) {
+        
+        if ( node.subtreeCount == 0 ) {
+            return;
+        }
+        
+        if ( node.isLeaf() || node.subtreeCount <= parallelThreshold ) {
+            addWork( node, true );
+            return;
+        }
+        
+        if ( node.itemCount > 0 ) {
+            addWork( node, false );
+        }
+        
+        collectWork( node.nw );
+        collectWork( node.ne );
+        collectWork( node.sw );
+        collectWork( node.se );
+        
+    }
+    
+    private void addWork( AABBQuadtreeNode node, boolean subtree ) {
+        
+        if ( workCount == workNodes.length ) {
+            int length = workNodes.length * 2;
+            workNodes = Arrays.copyOf( workNodes, length );
+            workSubtrees = Arrays.copyOf( workSubtrees, length );
+            workTests = Arrays.copyOf( workTests, length );
+            workBuffers = Arrays.copyOf( workBuffers, length );
+        }
+        
+        if ( workBuffers[workCount] == null ) {
+            workBuffers[workCount] = new AABBPairBuffer();
+        }
+        
+        workNodes[workCount] = node;
+        workSubtrees[workCount] = subtree;
+        workCount++;
+        
+    }
+    
+    private void allocateIndexes() {
+        int size = aabbs.size();
+        owners = new AABBQuadtreeNode[size];
+        ownerSlots = new int[size];
+        dirty = new int[size];
+        dirtyFlags = new boolean[size];
+        dirtyCount = 0;
+    }
+    
+    /**
+     * Inserts an AABB below a node that contains it.
+     *
+     * @param node The starting node.
+     * @param index Index of the AABB.
+     */
+    private void insert( AABBQuadtreeNode node, int index ) {
+        
+        AABB aabb = aabbs.get( index );
+
+        for ( AABBQuadtreeNode n = node.parent; n != null; n = n.parent ) {
+            n.subtreeCount++;
+        }
+
+        while ( true ) {
+            
+            node.subtreeCount++;
+            
+            if ( node.isLeaf() ) {
+                if ( node.itemCount < nodeCapacity || node.depth >= maxDepth ) {
+                    break;
+                }
+                split( node );
+            }
+            
+            AABBQuadtreeNode child = childFor( node, aabb );
+            if ( child == null ) {
+                break;
+            }
+            node = child;
+            
+        }
+        
+        owners[index] = node;
+        ownerSlots[index] = node.add( index );
+        
+    }
+    
+    /**
+     * Removes an AABB from its node.
+     *
+     * @param index Index of the AABB.
+     */
+    private void remove( int index ) {
+        
+        AABBQuadtreeNode node = owners[index];
+        int slot = ownerSlots[index];
+        int last = node.items[--node.itemCount];
+        
+        node.items[slot] = last;
+        ownerSlots[last] = slot;
+        owners[index] = null;
+        
+        for ( AABBQuadtreeNode n = node; n != null; n = n.parent ) {
+            n.subtreeCount--;
+        }
+        
+        if ( collapseCount == collapseCandidates.length ) {
+            collapseCandidates = Arrays.copyOf( collapseCandidates, collapseCount * 2 );
+        }
+        collapseCandidates[collapseCount++] = node;
+        
+    }
+    
+    /**
+     * Creates the children of a leaf and moves down the AABBs that fit
+     * inside one of them.
+     */
+    private void split( AABBQuadtreeNode node ) {
+        
+        int d = node.depth + 1;
+        node.nw = new AABBQuadtreeNode( node.x1, node.y1, node.xCenter, node.yCenter, d, node );
+        node.ne = new AABBQuadtreeNode( node.xCenter, node.y1, node.x2, node.yCenter, d, node );
+        node.sw = new AABBQuadtreeNode( node.x1, node.yCenter, node.xCenter, node.y2, d, node );
+        node.se = new AABBQuadtreeNode( node.xCenter, node.yCenter, node.x2, node.y2, d, node );
+        
+        int i = 0;
+        while ( i < node.itemCount ) {
+            int index = node.items[i];
+            AABBQuadtreeNode child = childFor( node, aabbs.get( index ) );
+            if ( child != null ) {
+                node.items[i] = node.items[--node.itemCount];
+                ownerSlots[node.items[i]] = i;
+                child.subtreeCount++;
+                owners[index] = child;
+                ownerSlots[index] = child.add( index );
+            } else {
+                i++;
+            }
+        }
+        
+    }
+    
+    /**
+     * Removes the children of the nodes above the given one whose
+     * descendants are all empty.
+     */
+    private void collapseEmpty( AABBQuadtreeNode node ) {
+        
+        AABBQuadtreeNode top = null;
+        
+        for ( AABBQuadtreeNode n = node; n != null; n = n.parent ) {
+            if ( !n.isLeaf() && n.subtreeCount == n.itemCount ) {
+                top = n;
+            }
+        }
+        
+        if ( top != null ) {
+            top.nw = null;
+            top.ne = null;
+            top.sw = null;
+            top.se = null;
+        }
+        
+    }
+    
+    /**
+     * Returns the child that contains the AABB entirely, or null.
+     */
+    private static AABBQuadtreeNode childFor( AABBQuadtreeNode node, AABB aabb ) {
+        
+        boolean top = aabb.y2 < node.yCenter && aabb.y1 >= node.y1;
+        boolean bottom = aabb.y1 >= node.yCenter && aabb.y2 <= node.y2;
+        boolean left = aabb.x2 < node.xCenter && aabb.x1 >= node.x1;
+        boolean right = aabb.x1 >= node.xCenter && aabb.x2 <= node.x2;
+        
+        if ( top ) {
+            if ( left ) {
+                return node.nw;
+            }
+            if ( right ) {
+                return node.ne;
+            }
+        } else if ( bottom ) {
+            if ( left ) {
+                return node.sw;
+            }
+            if ( right ) {
+                return node.se;
+            }
+        }
+        
+        return null;
+        
+    }
+    
+    private static boolean contains( AABBQuadtreeNode node, AABB aabb ) {
+        return aabb.x1 >= node.x1 && aabb.x2 <= node.x2 && 
+               aabb.y1 >= node.y1 && aabb.y2 <= node.y2;
+    }
+    
+    /**
+     * Copies the rectangles of the nodes into a buffer, so they can be
+     * drawn by another thread while the quadtree is updated.
+     *
+     * @param nodes The buffer, cleared before the nodes are copied.
+     */
+    public void collectNodes( AABBQuadtreeNodeBuffer nodes ) {
+        nodes.clear();
+        collectNodes( root, nodes );
+    }
+    
+    private static void collectNodes( AABBQuadtreeNode node, AABBQuadtreeNodeBuffer nodes ) {
+        
+        nodes.add( node.x1, node.y1, node.x2, node.y2, node.itemCount > 1 );
+        
+        if ( !node.isLeaf() ) {
+            collectNodes( node.nw, nodes );
+            collectNodes( node.ne, nodes );
+            collectNodes( node.sw, nodes );
+            collectNodes( node.se, nodes );
+        }
+        
+    }
+    
+    /**
+     * Draws a quadtree from the nodes copied by collectNodes.
+     *
+     * @param engine The engine.
+     * @param aabbs The AABBs of the quadtree.
+     * @param nodes The nodes.
+     * @param x X coordinate of the drawing position.
+     * @param y Y coordinate of the drawing position.
+     */
+    public static void draw( EngineFrame engine, List<AABB> aabbs, AABBQuadtreeNodeBuffer nodes, double x, double y ) {
+        draw( engine, aabbs, nodes, x, y, 1.0 );
+    }
+
+    /**
+     * Draws a quadtree from the nodes copied by collectNodes.
+     *
+     * @param engine The engine.
+     * @param aabbs The AABBs of the quadtree.
+     * @param nodes The nodes.
+     * @param x X coordinate of the drawing position.
+     * @param y Y coordinate of the drawing position.
+     * @param scale The drawing scale.
+     */
+    public static void draw( EngineFrame engine, List<AABB> aabbs, AABBQuadtreeNodeBuffer nodes, double x, double y, double scale ) {
+        drawAABBs( engine, aabbs, x, y, scale );
+        drawQuadnodes( engine, nodes, x, y, scale );
+    }
+    
+    private static void drawAABBs( EngineFrame engine, List<AABB> aabbs, double x, double y, double scale ) {
+        for ( AABB aabb : aabbs ) {
+            engine.fillRectangle( 
+                x + aabb.x1 * scale, 
+                y + aabb.y1 * scale, 
+                aabb.width * scale, 
+                aabb.height * scale, 
+                aabb.active ? AABB_COLOR : INACTIVE_AABB_COLOR
+            );
+        }
+    }
+    
+    private static void drawQuadnodes( EngineFrame engine, AABBQuadtreeNodeBuffer nodes, double x, double y, double scale ) {
+        
+        double[] bounds = nodes.bounds;
+        
+        for ( int i = 0; i < nodes.count; i++ ) {
+            
+            int r = i * 4;
+            double nx = x + bounds[r] * scale;
+            double ny = y + bounds[r + 1] * scale;
+            double nw = ( bounds[r + 2] - bounds[r] ) * scale;
+            double nh = ( bounds[r + 3] - bounds[r + 1] ) * scale;
+            
+            if ( nodes.shared[i] ) {
+                engine.fillRectangle( nx, ny, nw, nh, COMMON_COLOR );
+            }
+            engine.drawRectangle( nx, ny, nw, nh, OUTLINE_COLOR );
+            
+        }
+        
+    }
+
+    /**
+     * Fork-join task that runs a range of work units of the parallel pair
+     * query, halving it until a single unit is left.
+     */
+    private class PairTask extends RecursiveAction {
+        
+        private final int from;
+        private final int to;
+        
+        PairTask( int from, int to ) {
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute() {
+            if ( to - from == 1 ) {
+                AABBPairBuffer buffer = workBuffers[from];
+                buffer.clear();
+                workTests[from] = workSubtrees[from] ? 
+                        queryPairs( workNodes[from], buffer ) : 
+                        queryNodePairs( workNodes[from], buffer );
+            } else {
+                int mid = ( from + to ) >>> 1;
+                invokeAll( new PairTask( from, mid ), new PairTask( mid, to ) );
+            }
+        }
+        
+    }
+    
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.collision;
+
+import java.util.Arrays;
+
+/**
+ * A node of the AABBQuadtree, represented by a quadrant with start,
+ * end, and center coordinates.
+ *
+ * Each node stores the indexes of the AABBs that fit entirely inside it
+ * but not inside any of its children.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class AABBQuadtreeNode {
+
+    /**
+     * X coordinate of the upper-left vertex.
+     */
+    public final int x1;
+
+    /**
+     * Y coordinate of the upper-left vertex.
+     */
+    public final int y1;
+
+    /**
+     * X coordinate of the lower-right vertex.
+     */
+    public final int x2;
+
+    /**
+     * Y coordinate of the lower-right vertex.
+     */
+    public final int y2;
+
+    /**
+     * X coordinate of the quadrant center.
+     */
+    public final int xCenter;
+
+    /**
+     * Y coordinate of the quadrant center.
+     */
+    public final int yCenter;
+
+    /**
+     * The depth in the tree.
+     */
+    public final int depth;
+
+    /**
+     * Parent node, null for the root.
+     */
+    public final AABBQuadtreeNode parent;
+
+    /**
+     * Northwest child node (upper-left). Null while the node is a leaf.
+     */
+    public AABBQuadtreeNode nw;
+
+    /**
+     * Northeast child node (upper-right). Null while the node is a leaf.
+     */
+    public AABBQuadtreeNode ne;
+
+    /**
+     * Southwest child node (lower-left). Null while the node is a leaf.
+     */
+    public AABBQuadtreeNode sw;
+
+    /**
+     * Southeast child node (lower-right). Null while the node is a leaf.
+     */
+    public AABBQuadtreeNode se;
+
+    /**
+     * Indexes of the AABBs stored in this node, valid in [0, itemCount).
+     */
+    public int[] items;
+
+    /**
+     * Number of AABBs stored in this node.
+     */
+    public int itemCount;
+
+    /**
+     * Number of AABBs stored in this node and in all its descendants.
+     */
+    public int subtreeCount;
+
+    /**
+     * Constructs a new AABBQuadtree node.
+     *
+     * @param x1 X coordinate of the upper-left vertex.
+     * @param y1 Y coordinate of the upper-left vertex.
+     * @param x2 X coordinate of the lower-right vertex.
+     * @param y2 Y coordinate of the lower-right vertex.
+     * @param depth Depth of the node in the tree.
+     * @param parent Parent node.
+     */
+    public AABBQuadtreeNode( int x1, int y1, int x2, int y2, int depth, AABBQuadtreeNode parent ) {
+        this.x1 = x1;
+        this.y1 = y1;
+        this.x2 = x2;
+        this.y2 = y2;
+        this.xCenter = ( x1 + x2 ) / 2;
+        this.yCenter = ( y1 + y2 ) / 2;
+        this.depth = depth;
+        this.parent = parent;
+        this.items = new int[4];
+    }
+
+    /**
+     * Returns whether the node has no children.
+     *
+     * @return True if the node is a leaf, false otherwise.
+     */
+    public boolean isLeaf() {
+        return nw == null;
+    }
+
+    /**
+     * Appends an AABB index.
+     *
+     * @param index AABB index.
+     * @return The position of the index inside items.
+     */
+    int add( int index ) {
+        if ( itemCount == items.length ) {
+            items = Arrays.copyOf( items, items.length * 2 );
+        }
+        items[itemCount] = index;
+        return itemCount++;
+    }
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.collision;
+
+import java.util.Arrays;
+
+/**
+ * Reusable buffer of quadtree node rectangles, backed by primitive arrays
+ * that only grow.
+ *
+ * Node i is the rectangle bounds[4*i] (x1), bounds[4*i+1] (y1),
+ * bounds[4*i+2] (x2) and bounds[4*i+3] (y2), and shared[i] tells whether
+ * it holds more than one AABB. The nodes are copied by the update thread,
+ * so the quadtree can be drawn without walking its live nodes.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class AABBQuadtreeNodeBuffer {
+    
+    /** node rectangles, four values per node */
+    public double[] bounds;
+    
+    /** whether each node holds more than one AABB */
+    public boolean[] shared;
+    
+    /** number of nodes */
+    public int count;
+    
+    /**
+     * Creates an empty buffer.
+     */
+    public AABBQuadtreeNodeBuffer() {
+        this( 64 );
+    }
+    
+    /**
+     * Creates an empty buffer.
+     *
+     * @param initialCapacity Initial capacity, in nodes.
+     */
+    public AABBQuadtreeNodeBuffer( int initialCapacity ) {
+        initialCapacity = Math.max( 1, initialCapacity );
+        bounds = new double[initialCapacity * 4];
+        shared = new boolean[initialCapacity];
+    }
+    
+    /**
+     * Removes every node.
+     */
+    public void clear() {
+        count = 0;
+    }
+    
+    /**
+     * Appends a node.
+     *
+     * @param x1 X coordinate of the upper-left vertex.
+     * @param y1 Y coordinate of the upper-left vertex.
+     * @param x2 X coordinate of the lower-right vertex.
+     * @param y2 Y coordinate of the lower-right vertex.
+     * @param isShared Whether the node holds more than one AABB.
+     */
+    public void add( double x1, double y1, double x2, double y2, boolean isShared ) {
+        
+        if ( count == shared.length ) {
+            bounds = Arrays.copyOf( bounds, bounds.length * 2 );
+            shared = Arrays.copyOf( shared, shared.length * 2 );
+        }
+        
+        int r = count * 4;
+        bounds[r] = x1;
+        bounds[r + 1] = y1;
+        bounds[r + 2] = x2;
+        bounds[r + 3] = y2;
+        shared[count] = isShared;
+        
+        count++;
+        
+    }
+    
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.collision;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Results of the broadphase queries of one update of the collision
+ * simulation: the overlapping pairs and, when the probe is on, the AABBs
+ * in the probe region and the first AABB hit by the probe ray. With the
+ * quadtree, its nodes are copied too, so it is drawn from the results
+ * instead of from the live tree.
+ *
+ * Coordinates are relative to the broadphase area, and indexes refer to
+ * the AABB list of the results, which is the one that was queried even
+ * if the simulation has recreated its AABBs since then.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class BroadphaseResults {
+    
+    /** the AABBs that were queried */
+    public List<AABB> aabbs = Collections.emptyList();
+    
+    /** overlapping pairs */
+    public final AABBPairBuffer pairs = new AABBPairBuffer();
+    
+    /** AABBs that overlap the probe region */
+    public final AABBIndexBuffer region = new AABBIndexBuffer();
+    
+    /** quadtree nodes, empty if the broadphase is not the quadtree */
+    public final AABBQuadtreeNodeBuffer quadtreeNodes = new AABBQuadtreeNodeBuffer();
+    
+    /** whether the probe queries were made */
+    public boolean probed;
+    
+    /** x coordinate of the upper-left vertex of the probe region */
+    public double regionX1;
+    
+    /** y coordinate of the upper-left vertex of the probe region */
+    public double regionY1;
+    
+    /** x coordinate of the lower-right vertex of the probe region */
+    public double regionX2;
+    
+    /** y coordinate of the lower-right vertex of the probe region */
+    public double regionY2;
+    
+    /** x coordinate of the start of the probe ray */
+    public double rayX1;
+    
+    /** y coordinate of the start of the probe ray */
+    public double rayY1;
+    
+    /** x coordinate of the end of the probe ray */
+    public double rayX2;
+    
+    /** y coordinate of the end of the probe ray */
+    public double rayY2;
+    
+    /** index of the first AABB hit by the probe ray, -1 if none */
+    public int rayHit = -1;
+    
+    /** fraction of the probe ray where the hit happened */
+    public double rayFraction = 1;
+    
+    /**
+     * Removes every result.
+     */
+    public void clear() {
+        pairs.clear();
+        region.clear();
+        quadtreeNodes.clear();
+        probed = false;
+        rayHit = -1;
+        rayFraction = 1;
+    }
+    
+}
@@ -18,8 +18,6 @@ package br.com.davidbuzatto.jsge.showcase.collision;
 
 import br.com.davidbuzatto.jsge.collision.CollisionUtils;
 import br.com.davidbuzatto.jsge.collision.aabb.AABB;
-import br.com.davidbuzatto.jsge.collision.aabb.AABBQuadtree;
-import br.com.davidbuzatto.jsge.collision.aabb.AABBQuadtreeNode;
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
 import br.com.davidbuzatto.jsge.core.utils.ColorUtils;
 import br.com.davidbuzatto.jsge.geom.Circle;
@@ -30,12 +28,8 @@ import br.com.davidbuzatto.jsge.geom.QuadCurve;
 import br.com.davidbuzatto.jsge.geom.Rectangle;
 import br.com.davidbuzatto.jsge.geom.Triangle;
 import br.com.davidbuzatto.jsge.math.CurveUtils;
-import br.com.davidbuzatto.jsge.math.MathUtils;
 import br.com.davidbuzatto.jsge.math.Vector2;
 import java.awt.Color;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Examples of using collision detection methods and point
@@ -81,6 +75,8 @@ public class CollisionDetectionExample extends EngineFrame {
     private double amount;
     private double amountVel;
 
+    private PointHitTester pointHitTester;
+    private String[] pointGeomNames;
     private String textPointGeom;
     private String textLineGeom;
     private String textRectGeom;
@@ -88,21 +84,13 @@ public class CollisionDetectionExample extends EngineFrame {
     
     private Color qnOutlineColor;
     private Color commonQnColor;
-    private Color aabbColor;
-    private Color aabbNearbyColor;
     private Color aabbOverlapColor;
+    private Color aabbColor;
+    private Color aabbInactiveColor;
+    private Color probeRegionColor;
     
-    private int qtX;
-    private int qtY;
-    private int qtWidth;
-    private int qtHeight;
-    private int numberOfAABBs;
-    private int maxTreeDepth;
-    
-    private List<AABB> aabbs;
-    private Vector2[] vels;
-    private AABBQuadtree quadtree;
-    private List<Rectangle> overlaps;
+    private CollisionDetectionSimulation sim;
+    private int aabbQuantityOption;
     
     /**
      * Creates the example.
@@ -122,6 +110,15 @@ public class CollisionDetectionExample extends EngineFrame {
         circle = new Circle( 50, 360, 30 );
         triangle = new Triangle( 50, 400, 90, 470, 10, 470 );
         polygon = new Polygon( 50, 530, 5, 45, 0 );
+        
+        // same order of the checks: the first shape hit wins
+        pointHitTester = new PointHitTester();
+        pointHitTester.addLine( line, 5 );
+        pointHitTester.addRectangle( rectangle );
+        pointHitTester.addCircle( circle );
+        pointHitTester.addTriangle( triangle );
+        pointHitTester.addPolygon( polygon );
+        pointGeomNames = new String[]{ "line!", "rectangle!", "circle!", "triangle!", "polygon!" };
 
         moveableLine = new Line( 150, 230, 220, 160 );
         moveableRect = new Rectangle( 135, 255, 100, 50 );
@@ -137,25 +134,15 @@ public class CollisionDetectionExample extends EngineFrame {
         textCircleGeom = "none";
         
         // quadtree
-        qtX = 260;
-        qtY = 30;
-        qtWidth = getScreenWidth() - qtX - 10;
-        qtHeight = qtWidth;
-        
         qnOutlineColor = new Color( 0, 0, 0 );
         commonQnColor = ColorUtils.fade( LIGHTGRAY, 0.5 );
-        
-        aabbColor = ColorUtils.fade( GOLD, 0.7 );
-        aabbNearbyColor = ColorUtils.fade( LIME, 0.7 );
         aabbOverlapColor = ColorUtils.fade( BLUE, 0.7 );
+        aabbColor = ColorUtils.fade( GOLD, 0.7 );
+        aabbInactiveColor = ColorUtils.fade( RED, 0.7 );
+        probeRegionColor = ColorUtils.fade( LIME, 0.7 );
         
-        numberOfAABBs = 50;
-        maxTreeDepth = 5;
-
-        initAABBs();
-        quadtree = new AABBQuadtree( aabbs, qtWidth, qtHeight, maxTreeDepth );
-        
-        overlaps = new CopyOnWriteArrayList<>();
+        sim = new CollisionDetectionSimulation();
+        sim.create( getScreenWidth(), getScreenHeight() );
         
     }
     
@@ -166,19 +153,8 @@ public class CollisionDetectionExample extends EngineFrame {
         
         if ( isMouseButtonPressed( MOUSE_BUTTON_LEFT ) ) {
             
-            if ( CollisionUtils.checkCollisionPointLine( mousePos, line, 5 ) ) {
-                textPointGeom = "line!";
-            } else if ( CollisionUtils.checkCollisionPointRectangle( mousePos, rectangle ) ) {
-                textPointGeom = "rectangle!";
-            } else if ( CollisionUtils.checkCollisionPointCircle( mousePos, circle ) ) {
-                textPointGeom = "circle!";
-            } else if ( CollisionUtils.checkCollisionPointTriangle( mousePos, triangle ) ) {
-                textPointGeom = "triangle!";
-            } else if ( CollisionUtils.checkCollisionPointPolygon( mousePos, polygon ) ) {
-                textPointGeom = "polygon!";
-            } else {
-                textPointGeom = "none";
-            }
+            int hit = pointHitTester.hitTest( mousePos.x, mousePos.y );
+            textPointGeom = hit >= 0 ? pointGeomNames[hit] : "none";
 
             if ( CollisionUtils.checkCollisionPointLine( mousePos, moveableLine, 10 ) ) {
                 mlDragging = true;
@@ -268,9 +244,31 @@ public class CollisionDetectionExample extends EngineFrame {
             moveableCircleColor = noOverlapColor;
         }
         
-        // quadtree
-        updateAABBLocations( delta );
-        quadtree.update();
+        // broadphases
+        if ( isKeyPressed( KEY_F1 ) ) {
+            sim.setIncremental( !sim.incremental );
+        }
+        
+        if ( isKeyPressed( KEY_F2 ) ) {
+            aabbQuantityOption = ( aabbQuantityOption + 1 ) % CollisionDetectionSimulation.AABB_QUANTITY_OPTIONS.length;
+            sim.setNumberOfAABBs( CollisionDetectionSimulation.AABB_QUANTITY_OPTIONS[aabbQuantityOption] );
+        }
+        
+        if ( isKeyPressed( KEY_F3 ) ) {
+            sim.setParallel( !sim.parallel );
+        }
+        
+        if ( isKeyPressed( KEY_F4 ) ) {
+            sim.setBroadphase( ( sim.broadphaseOption + 1 ) % CollisionDetectionSimulation.BROADPHASE_NAMES.length );
+        }
+        
+        // the probe follows the mouse inside the area
+        sim.probeX = mousePos.x - sim.qtX;
+        sim.probeY = mousePos.y - sim.qtY;
+        sim.probing = sim.probeX >= 0 && sim.probeX <= sim.qtWidth && 
+                      sim.probeY >= 0 && sim.probeY <= sim.qtHeight;
+        
+        sim.update( delta );
         
     }
     
@@ -328,115 +326,107 @@ public class CollisionDetectionExample extends EngineFrame {
         drawText( "  Rect x Geom: " + textRectGeom, 10, 100, BLACK );
         drawText( "Circle x Geom: " + textCircleGeom, 10, 130, BLACK );
         
-        // quadtree
-        drawText( String.format( "AABBQuadtree (AABBs: %d, maxDepth: %d) ", numberOfAABBs, maxTreeDepth ), qtX, qtY - 20, BLACK );
-        drawQuadTree( qtX, qtY );
+        // broadphases
+        drawText( 
+            String.format( 
+                "<F4> %s (AABBs: %d, maxDepth: %d)", 
+                CollisionDetectionSimulation.BROADPHASE_NAMES[sim.broadphaseOption], 
+                sim.numberOfAABBs, 
+                sim.maxTreeDepth 
+            ), 
+            sim.qtX, sim.qtY - 20, BLACK 
+        );
+        drawBroadphase( sim.qtX, sim.qtY );
+        
+        String updateText;
+        if ( sim.broadphase == sim.quadtree ) {
+            updateText = String.format( 
+                "<F1> %s: %.3f ms (%d inserted)", 
+                sim.incremental ? "incremental" : "rebuild", 
+                sim.broadphaseUpdateTime, 
+                sim.quadtree.getLastReinsertions()
+            );
+        } else if ( sim.broadphase == sim.dynamicTree ) {
+            updateText = String.format( 
+                "fat bounds: %.3f ms (%d inserted, height %d)", 
+                sim.broadphaseUpdateTime, 
+                sim.dynamicTree.getLastReinsertions(), 
+                sim.dynamicTree.getHeight()
+            );
+        } else if ( sim.broadphase == sim.sweepAndPrune ) {
+            updateText = String.format( 
+                "insertion sort: %.3f ms (%d shifts)", 
+                sim.broadphaseUpdateTime, 
+                sim.sweepAndPrune.getLastSwaps()
+            );
+        } else {
+            updateText = "no update";
+        }
+        drawText( updateText + " <F2> AABBs", sim.qtX, sim.qtY + sim.qtHeight + 4, 14, BLACK );
+        
+        drawText( 
+            String.format( 
+                "%s: %.3f ms (%d tests)%s", 
+                sim.broadphase == sim.quadtree ? ( sim.parallel ? "<F3> parallel pairs" : "<F3> serial pairs" ) : "pairs", 
+                sim.pairQueryTime, 
+                sim.pairTests, 
+                sim.broadphase == sim.dynamicTree ? String.format( ", probe: %.3f ms", sim.probeQueryTime ) : ""
+            ), 
+            sim.qtX, sim.qtY + sim.qtHeight + 20, 14, BLACK 
+        );
         
         drawFPS( 10, 10 );
 
     }
 
-    private void initAABBs() {
+    private void drawBroadphase( double x, double y ) {
         
-        aabbs = new ArrayList<>();
-        vels = new Vector2[numberOfAABBs];
+        BroadphaseResults results = sim.getResults();
         
-        for ( int i = 0; i < numberOfAABBs; i++ ) {
-            
-            AABB aabb = new AABB();
-            aabb.setSize( MathUtils.getRandomValue( 5, qtHeight / 15 ), MathUtils.getRandomValue( 5, qtHeight / 15 ) );
-            aabb.move( MathUtils.getRandomValue( 1, (int) ( qtWidth - aabb.x2 - aabb.x1 - 2 ) ), MathUtils.getRandomValue( 1, (int) ( qtHeight - aabb.y2 - aabb.y1 - 2 ) ) );
-            aabb.type = AABB.Type.DYNAMIC;
-            aabbs.add( aabb );
-            
-            vels[i] = new Vector2( MathUtils.getRandomValue( -100, 100 ), MathUtils.getRandomValue( -100, 100 ) );
-            
-        }
-        
-    }
-    
-    private void calculateOverlaps( AABBQuadtreeNode node ) {
-        
-        if ( node.depth < quadtree.getMaxDepth() ) {
-            
-            int size = node.aabbs.size();
-            
-            for ( int i = 0; i < size; i++ ) {
-                for ( int j = i+1; j < size; j++ ) {
-                    try {
-                        AABB a = node.aabbs.get( i );
-                        AABB b = node.aabbs.get( j );
-                        if ( a.type != AABB.Type.STATIC || b.type != AABB.Type.STATIC ) {
-                            Rectangle ra = new Rectangle( a.x1, a.y1, ( a.x2 - a.x1 ), ( a.y2 - a.y1 ) );
-                            Rectangle rb = new Rectangle( b.x1, b.y1, ( b.x2 - b.x1 ), ( b.y2 - b.y1 ) );
-                            if ( CollisionUtils.checkCollisionRectangles( ra, rb ) ) {
-                                Rectangle ri = CollisionUtils.getCollisionRectangle( ra, rb );
-                                ri.x += qtX;
-                                ri.y += qtY;
-                                overlaps.add( ri );
-                            }
-                        }
-                    } catch ( IndexOutOfBoundsException | NullPointerException exc ) {
-                    }
-                }
+        if ( results.quadtreeNodes.count > 0 ) {
+            AABBQuadtree.draw( this, results.aabbs, results.quadtreeNodes, x, y );
+        } else {
+            drawRectangle( x, y, sim.qtWidth, sim.qtHeight, BLACK );
+            for ( AABB aabb : results.aabbs ) {
+                fillRectangle( x + aabb.x1, y + aabb.y1, aabb.width, aabb.height, aabb.active ? aabbColor : aabbInactiveColor );
+            }
+            if ( sim.broadphase == sim.dynamicTree ) {
+                sim.dynamicTree.draw( this, x, y );
             }
-            
-            calculateOverlaps( node.nw );
-            calculateOverlaps( node.ne );
-            calculateOverlaps( node.sw );
-            calculateOverlaps( node.se );
-            
         }
         
-    }
-    
-    private void drawQuadTree( double x, double y ) {
-        
-        overlaps.clear();
-        calculateOverlaps( quadtree.getRoot() );
-        
-        quadtree.draw( this, x, y );
+        AABBPairBuffer overlaps = results.pairs;
+        double[] areas = overlaps.areas;
+        for ( int i = 0; i < overlaps.count * 4; i += 4 ) {
+            fillRectangle( x + areas[i], y + areas[i+1], areas[i+2], areas[i+3], aabbOverlapColor );
+        }
         
-        for ( Rectangle r : overlaps ) {
-            r.fill( this, aabbOverlapColor );
+        if ( results.probed ) {
+            drawProbe( results, x, y );
         }
         
     }
     
-    private void updateAABBLocations( double delta ) {
-        
-        int k = 0;
+    private void drawProbe( BroadphaseResults results, double x, double y ) {
         
-        for ( AABB aabb : aabbs ) {
-            
-            Vector2 vel = vels[k++];
-            
-            aabb.move( vel.x * delta, vel.y * delta );
-            
-            if ( aabb.x1 <= 0 ) {
-                aabb.moveTo( 0, aabb.y1 );
-                vel.x = -vel.x;
-            } else if ( aabb.x2 >= qtWidth ) {
-                aabb.moveTo( qtWidth - aabb.width, aabb.y1 );
-                vel.x = -vel.x;
-            }
-            
-            if ( aabb.y1 <= 0 ) {
-                aabb.moveTo( aabb.x1, 0 );
-                vel.y = -vel.y;
-            } else if ( aabb.y2 >= qtHeight ) {
-                aabb.moveTo( aabb.x1, qtHeight - aabb.height );
-                vel.y = -vel.y;
-            }
-            
-            /*if ( aabb.x1 <= 0 || aabb.x2 >= qtWidth ) {
-                vel.x = -vel.x;
-            }
-            
-            if ( aabb.y1 <= 0 || aabb.y2 >= qtHeight ) {
-                vel.y = -vel.y;
-            }*/
-            
+        for ( int i = 0; i < results.region.count; i++ ) {
+            AABB aabb = results.aabbs.get( results.region.indexes[i] );
+            fillRectangle( x + aabb.x1, y + aabb.y1, aabb.width, aabb.height, probeRegionColor );
+        }
+        drawRectangle( 
+            x + results.regionX1, y + results.regionY1, 
+            results.regionX2 - results.regionX1, results.regionY2 - results.regionY1, 
+            DARKGREEN 
+        );
+        
+        double hitX = results.rayX1 + ( results.rayX2 - results.rayX1 ) * results.rayFraction;
+        double hitY = results.rayY1 + ( results.rayY2 - results.rayY1 ) * results.rayFraction;
+        drawLine( x + results.rayX1, y + results.rayY1, x + hitX, y + hitY, MAROON );
+        
+        if ( results.rayHit >= 0 ) {
+            AABB aabb = results.aabbs.get( results.rayHit );
+            drawRectangle( x + aabb.x1, y + aabb.y1, aabb.width, aabb.height, MAROON );
+            fillCircle( x + hitX, y + hitY, 3, MAROON );
         }
         
     }
@@ -0,0 +1,428 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.collision;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.core.utils.ColorUtils;
+import br.com.davidbuzatto.jsge.image.Image;
+import br.com.davidbuzatto.jsge.math.MathUtils;
+import br.com.davidbuzatto.jsge.math.Vector2;
+import br.com.davidbuzatto.jsge.showcase.headless.HeadlessColors;
+import br.com.davidbuzatto.jsge.showcase.headless.HeadlessSimulation;
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simulation state of the AABBQuadtree part of the collision detection
+ * example: moving AABBs, the broadphases and the overlapping pairs.
+ *
+ * The pairs can be found by the quadtree, by the dynamic AABB tree, by
+ * sweep and prune or by brute force. The AABBs are always moved through
+ * the current broadphase. With the dynamic AABB tree a probe can also be
+ * placed, which casts a ray from the center of the area and queries the
+ * region around the probe.
+ *
+ * The queries are made at the end of each update and published to the
+ * drawing side through three result sets: update fills the back one and
+ * swaps it with the published one, and getResults swaps the published
+ * one with the front one when a newer result is available. Each side
+ * only touches its own results, so drawing (which the engine does in
+ * another thread) always reads complete queries. The results carry the
+ * AABBs they were made from, so they stay valid when the AABBs are
+ * recreated.
+ *
+ * Several parts of the component code are intentionally left unencapsulated.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class CollisionDetectionSimulation implements HeadlessSimulation {
+    
+    /** Numbers of AABBs that can be chosen. */
+    public static final int[] AABB_QUANTITY_OPTIONS = { 50, 500, 5000, 50000 };
+    
+    /** Names of the broadphases that can be chosen. */
+    public static final String[] BROADPHASE_NAMES = { "quadtree", "dynamic AABB tree", "sweep and prune", "brute force" };
+    
+    /** Half of the size of the probe region. */
+    public static final double PROBE_HALF_SIZE = 50;
+    
+    /** x coordinate of the quadtree drawing position */
+    public int qtX;
+    
+    /** y coordinate of the quadtree drawing position */
+    public int qtY;
+    
+    /** quadtree width */
+    public int qtWidth;
+    
+    /** quadtree height */
+    public int qtHeight;
+    
+    /** number of AABBs */
+    public int numberOfAABBs;
+    
+    /** maximum depth of the quadtree */
+    public int maxTreeDepth;
+    
+    /** the AABBs */
+    public List<AABB> aabbs;
+    
+    /** velocity of each AABB */
+    public Vector2[] vels;
+    
+    /** the quadtree */
+    public AABBQuadtree quadtree;
+    
+    /** the dynamic AABB tree */
+    public DynamicAABBTree dynamicTree;
+    
+    /** the sweep-and-prune broadphase */
+    public SweepAndPrune sweepAndPrune;
+    
+    /** the brute force broadphase */
+    public AABBBroadphase bruteForce;
+    
+    /** the current broadphase */
+    public AABBBroadphase broadphase;
+    
+    /** index of the current broadphase in BROADPHASE_NAMES */
+    public int broadphaseOption;
+    
+    
+    /** whether the quadtree is updated incrementally */
+    public boolean incremental = true;
+    
+    /** whether the overlapping pairs are queried in parallel */
+    public boolean parallel;
+    
+    /** time spent updating the broadphase in the last frame, in milliseconds */
+    public double broadphaseUpdateTime;
+    
+    /** time spent querying the overlapping pairs in the last frame, in milliseconds */
+    public double pairQueryTime;
+    
+    /** number of pair tests of the last query */
+    public long pairTests;
+    
+    /** whether the probe is placed (dynamic AABB tree only) */
+    public boolean probing;
+    
+    /** x coordinate of the probe, relative to the broadphase area */
+    public double probeX;
+    
+    /** y coordinate of the probe, relative to the broadphase area */
+    public double probeY;
+    
+    /** time spent in the probe queries in the last frame, in milliseconds */
+    public double probeQueryTime;
+    
+    private BroadphaseResults backResults;
+    private BroadphaseResults publishedResults;
+    private BroadphaseResults frontResults;
+    private boolean newResults;
+    private final Object resultsLock = new Object();
+    
+    private Color aabbColor;
+    private Color aabbInactiveColor;
+    private Color aabbOverlapColor;
+    
+    @Override
+    public void create( int width, int height ) {
+        
+        qtX = 260;
+        qtY = 30;
+        qtWidth = width - qtX - 10;
+        qtHeight = qtWidth;
+        
+        aabbColor = ColorUtils.fade( HeadlessColors.GOLD, 0.7 );
+        aabbInactiveColor = ColorUtils.fade( HeadlessColors.RED, 0.7 );
+        aabbOverlapColor = ColorUtils.fade( HeadlessColors.BLUE, 0.7 );
+        
+        backResults = new BroadphaseResults();
+        publishedResults = new BroadphaseResults();
+        frontResults = new BroadphaseResults();
+        
+        setNumberOfAABBs( AABB_QUANTITY_OPTIONS[0] );
+        
+    }
+    
+    /**
+     * Recreates the AABBs with the given quantity.
+     *
+     * @param size Number of AABBs.
+     */
+    @Override
+    public void setWorkload( int size ) {
+        setNumberOfAABBs( size );
+    }
+    
+    /**
+     * Recreates the AABBs and the broadphases.
+     *
+     * The AABBs shrink as their number grows, keeping about the same
+     * covered area, and the maximum depth grows one level for each
+     * fourfold increase above 50 AABBs.
+     *
+     * @param numberOfAABBs Number of AABBs.
+     */
+    public void setNumberOfAABBs( int numberOfAABBs ) {
+        
+        this.numberOfAABBs = numberOfAABBs;
+        
+        int extraLevels = 0;
+        for ( int n = 50 * 4; n <= numberOfAABBs; n *= 4 ) {
+            extraLevels++;
+        }
+        maxTreeDepth = Math.min( 10, 5 + extraLevels );
+        
+        initAABBs();
+        quadtree = new AABBQuadtree( aabbs, qtWidth, qtHeight, maxTreeDepth );
+        quadtree.setIncremental( incremental );
+        dynamicTree = new DynamicAABBTree( aabbs );
+        sweepAndPrune = new SweepAndPrune( aabbs );
+        bruteForce = AABBBroadphase.bruteForce( aabbs );
+        setBroadphase( broadphaseOption );
+        
+        // the front results belong to the drawing thread and keep the
+        // previous AABBs until newer results replace them
+        synchronized ( resultsLock ) {
+            backResults.clear();
+            publishedResults.clear();
+            newResults = false;
+        }
+        
+    }
+    
+    /**
+     * Changes how the quadtree is maintained.
+     *
+     * @param incremental True to update it incrementally, false to rebuild
+     * it every frame.
+     */
+    public void setIncremental( boolean incremental ) {
+        this.incremental = incremental;
+        quadtree.setIncremental( incremental );
+    }
+    
+    /**
+     * Changes the broadphase. The new one is rebuilt, since the AABBs
+     * were not moved through it.
+     *
+     * @param broadphaseOption Index of the broadphase in BROADPHASE_NAMES.
+     */
+    public void setBroadphase( int broadphaseOption ) {
+        
+        this.broadphaseOption = broadphaseOption;
+        
+        switch ( broadphaseOption ) {
+            case 0:
+                broadphase = quadtree;
+                break;
+            case 1:
+                broadphase = dynamicTree;
+                break;
+            case 2:
+                broadphase = sweepAndPrune;
+                break;
+            default:
+                broadphase = bruteForce;
+                break;
+        }
+        
+        broadphase.rebuild();
+        
+    }
+    
+    /**
+     * Changes how the quadtree pairs are queried.
+     *
+     * @param parallel True to query them over the fork-join pool, false
+     * to query them in the update thread.
+     */
+    public void setParallel( boolean parallel ) {
+        this.parallel = parallel;
+    }
+    
+    /**
+     * Moves the AABBs, updates the broadphase and publishes the overlapping
+     * pairs.
+     *
+     * @param delta Time delta.
+     */
+    @Override
+    public void update( double delta ) {
+        
+        updateAABBLocations( delta );
+        
+        long start = System.nanoTime();
+        broadphase.update();
+        long queryStart = System.nanoTime();
+        if ( parallel && broadphase == quadtree ) {
+            quadtree.queryPairsParallel( backResults.pairs );
+        } else {
+            broadphase.queryPairs( backResults.pairs );
+        }
+        long end = System.nanoTime();
+        
+        broadphaseUpdateTime = ( queryStart - start ) / 1000000.0;
+        pairQueryTime = ( end - queryStart ) / 1000000.0;
+        pairTests = broadphase.getLastPairTests();
+        
+        probe();
+        
+        backResults.aabbs = aabbs;
+        if ( broadphase == quadtree ) {
+            quadtree.collectNodes( backResults.quadtreeNodes );
+        } else {
+            backResults.quadtreeNodes.clear();
+        }
+        
+        synchronized ( resultsLock ) {
+            BroadphaseResults t = publishedResults;
+            publishedResults = backResults;
+            backResults = t;
+            newResults = true;
+        }
+        
+    }
+    
+    /**
+     * Returns the query results of the latest update. The returned results
+     * are not changed by later updates until this method is called again,
+     * so they must only be used by the thread that draws.
+     *
+     * @return The query results.
+     */
+    public BroadphaseResults getResults() {
+        synchronized ( resultsLock ) {
+            if ( newResults ) {
+                BroadphaseResults t = frontResults;
+                frontResults = publishedResults;
+                publishedResults = t;
+                newResults = false;
+            }
+            return frontResults;
+        }
+    }
+    
+    @Override
+    public void draw( Image image ) {
+        
+        image.clearBackground( HeadlessColors.WHITE );
+        
+        for ( AABB aabb : aabbs ) {
+            image.fillRectangle( 
+                qtX + aabb.x1, qtY + aabb.y1, aabb.width, aabb.height, 
+                aabb.active ? aabbColor : aabbInactiveColor
+            );
+        }
+        
+        AABBPairBuffer overlaps = getResults().pairs;
+        double[] areas = overlaps.areas;
+        for ( int i = 0; i < overlaps.count * 4; i += 4 ) {
+            image.fillRectangle( qtX + areas[i], qtY + areas[i+1], areas[i+2], areas[i+3], aabbOverlapColor );
+        }
+        
+    }
+    
+    private void initAABBs() {
+        
+        aabbs = new ArrayList<>();
+        vels = new Vector2[numberOfAABBs];
+        
+        double scale = Math.sqrt( 50.0 / numberOfAABBs );
+        int minSize = Math.max( 1, (int) ( 5 * scale ) );
+        int maxSize = Math.max( minSize, (int) ( qtHeight / 15 * scale ) );
+        
+        for ( int i = 0; i < numberOfAABBs; i++ ) {
+            
+            AABB aabb = new AABB();
+            aabb.setSize( MathUtils.getRandomValue( minSize, maxSize ), MathUtils.getRandomValue( minSize, maxSize ) );
+            aabb.move( MathUtils.getRandomValue( 1, (int) ( qtWidth - aabb.x2 - aabb.x1 - 2 ) ), MathUtils.getRandomValue( 1, (int) ( qtHeight - aabb.y2 - aabb.y1 - 2 ) ) );
+            aabb.type = AABB.Type.DYNAMIC;
+            aabbs.add( aabb );
+            
+            vels[i] = new Vector2( MathUtils.getRandomValue( -100, 100 ), MathUtils.getRandomValue( -100, 100 ) );
+            
+        }
+        
+    }
+    
+    private void probe() {
+        
+        BroadphaseResults r = backResults;
+        r.region.clear();
+        r.probed = probing && broadphase == dynamicTree;
+        r.rayHit = -1;
+        r.rayFraction = 1;
+        
+        if ( !r.probed ) {
+            return;
+        }
+        
+        long start = System.nanoTime();
+        
+        r.regionX1 = probeX - PROBE_HALF_SIZE;
+        r.regionY1 = probeY - PROBE_HALF_SIZE;
+        r.regionX2 = probeX + PROBE_HALF_SIZE;
+        r.regionY2 = probeY + PROBE_HALF_SIZE;
+        dynamicTree.queryRegion( r.regionX1, r.regionY1, r.regionX2, r.regionY2, r.region );
+        
+        r.rayX1 = qtWidth / 2.0;
+        r.rayY1 = qtHeight / 2.0;
+        r.rayX2 = probeX;
+        r.rayY2 = probeY;
+        r.rayHit = dynamicTree.raycast( r.rayX1, r.rayY1, r.rayX2, r.rayY2 );
+        r.rayFraction = dynamicTree.getLastRaycastFraction();
+        
+        probeQueryTime = ( System.nanoTime() - start ) / 1000000.0;
+        
+    }
+    
+    private void updateAABBLocations( double delta ) {
+        
+        // moving through the broadphase lets the quadtree mark the
+        // AABBs as dirty
+        for ( int k = 0; k < numberOfAABBs; k++ ) {
+            
+            AABB aabb = aabbs.get( k );
+            Vector2 vel = vels[k];
+            
+            broadphase.move( k, vel.x * delta, vel.y * delta );
+            
+            if ( aabb.x1 <= 0 ) {
+                broadphase.moveTo( k, 0, aabb.y1 );
+                vel.x = -vel.x;
+            } else if ( aabb.x2 >= qtWidth ) {
+                broadphase.moveTo( k, qtWidth - aabb.width, aabb.y1 );
+                vel.x = -vel.x;
+            }
+            
+            if ( aabb.y1 <= 0 ) {
+                broadphase.moveTo( k, aabb.x1, 0 );
+                vel.y = -vel.y;
+            } else if ( aabb.y2 >= qtHeight ) {
+                broadphase.moveTo( k, aabb.x1, qtHeight - aabb.height );
+                vel.y = -vel.y;
+            }
+            
+        }
+        
+    }
+    
+}
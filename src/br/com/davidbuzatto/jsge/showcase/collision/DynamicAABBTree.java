@@ -0,0 +1,941 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.collision;
+
+import br.com.davidbuzatto.jsge.collision.aabb.AABB;
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.core.utils.ColorUtils;
+import br.com.davidbuzatto.jsge.showcase.headless.HeadlessColors;
+import java.awt.Color;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Dynamic AABB tree (bounding volume hierarchy) broadphase.
+ *
+ * Each AABB is a leaf of a binary tree whose internal nodes bound their
+ * children. Leaves store an enlarged ("fat") copy of their AABB: a margin
+ * around it, stretched along the last displacement of the AABB by a few
+ * frames of movement. While an AABB stays inside its fat bounds the tree
+ * is not touched; update only reinserts the AABBs that left them. The
+ * sibling of a new leaf is chosen by the surface area (perimeter)
+ * heuristic and the tree is kept balanced by rotations on the way back to
+ * the root, so it does not degrade when the AABBs cluster.
+ *
+ * The tree also keeps the candidate pairs: the pairs of leaves whose fat
+ * bounds overlap. They only change when a leaf is reinserted, so update
+ * just replaces the candidates of the reinserted leaves and the pair query
+ * is a linear pass testing the real bounds of the candidates.
+ *
+ * The nodes live in parallel primitive arrays, recycled through a free
+ * list. Inactive AABBs stay in the tree and are skipped by the queries.
+ *
+ * AABBs are identified by their index in the list given to the tree.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class DynamicAABBTree implements AABBBroadphase {
+    
+    private static final Color NODE_COLOR = ColorUtils.fade( HeadlessColors.GRAY, 0.5 );
+    
+    /**
+     * Default margin around each AABB in its fat bounds.
+     */
+    public static final double DEFAULT_MARGIN = 1.0;
+    
+    /**
+     * Default number of frames of movement covered by the fat bounds.
+     */
+    public static final double DEFAULT_PREDICTION_FRAMES = 4.0;
+    
+    private static final int NULL = -1;
+    
+    // offsets of the fields of a node in the bounds and nodes arrays
+    private static final int X1 = 0;
+    private static final int Y1 = 1;
+    private static final int X2 = 2;
+    private static final int Y2 = 3;
+    private static final int PARENT = 0;
+    private static final int CHILD1 = 1;
+    private static final int CHILD2 = 2;
+    private static final int HEIGHT = 3;
+    
+    /**
+     * List of AABBs in the tree.
+     */
+    private List<AABB> aabbs;
+    
+    private double margin;
+    private double predictionFrames;
+    
+    // node pool, four values per node in each array, so visiting a node
+    // touches few cache lines: fat bounds (x1, y1, x2, y2) and links
+    // (parent, child1, child2, height), height being 0 for leaves and -1
+    // for free nodes, which are linked through parent; item is the AABB
+    // index of the leaves
+    private double[] bounds;
+    private int[] nodes;
+    private int[] item;
+    private int root;
+    private int freeList;
+    
+    // leaf of each AABB
+    private int[] leaves;
+    
+    // AABBs moved since the last update and their displacement
+    private int[] moved;
+    private boolean[] movedFlags;
+    private int movedCount;
+    private double[] displacementX;
+    private double[] displacementY;
+    
+    // pairs of leaves whose fat bounds overlap, as AABB indexes
+    // (two per pair), and the AABBs reinserted by the last update
+    private int[] candidates;
+    private int candidateCount;
+    private int[] reinserted;
+    private boolean[] reinsertedFlags;
+    
+    // stack of the tree traversals
+    private int[] stack;
+    
+    private int lastReinsertions;
+    private long pairTests;
+    private long lastQueryTests;
+    private double lastRaycastFraction;
+    
+    /**
+     * Constructs a new dynamic AABB tree from a set of AABBs.
+     *
+     * @param aabbs The AABBs of the tree.
+     */
+    public DynamicAABBTree( List<AABB> aabbs ) {
+        this.aabbs = aabbs;
+        this.margin = DEFAULT_MARGIN;
+        this.predictionFrames = DEFAULT_PREDICTION_FRAMES;
+        this.stack = new int[64];
+        this.candidates = new int[128];
+        rebuild();
+    }
+    
+    @Override
+    public List<AABB> getAABBs() {
+        return aabbs;
+    }
+    
+    /**
+     * Sets the AABBs, building the tree again.
+     *
+     * @param aabbs A list of AABBs.
+     */
+    public void setAABBs( List<AABB> aabbs ) {
+        this.aabbs = aabbs;
+        rebuild();
+    }
+    
+    /**
+     * Moves an AABB, recording the displacement used to predict its fat
+     * bounds.
+     *
+     * @param index Index of the AABB.
+     * @param deltaX Displacement along x.
+     * @param deltaY Displacement along y.
+     */
+    @Override
+    public void move( int index, double deltaX, double deltaY ) {
+        aabbs.get( index ).move( deltaX, deltaY );
+        markMoved( index, deltaX, deltaY );
+    }
+    
+    /**
+     * Repositions an AABB, recording the displacement used to predict its
+     * fat bounds.
+     *
+     * @param index Index of the AABB.
+     * @param x1 X coordinate of the upper-left vertex.
+     * @param y1 Y coordinate of the upper-left vertex.
+     */
+    @Override
+    public void moveTo( int index, double x1, double y1 ) {
+        AABB aabb = aabbs.get( index );
+        double deltaX = x1 - aabb.x1;
+        double deltaY = y1 - aabb.y1;
+        aabb.moveTo( x1, y1 );
+        markMoved( index, deltaX, deltaY );
+    }
+    
+    /**
+     * Reinserts the moved AABBs that left their fat bounds.
+     */
+    @Override
+    public void update() {
+        
+        if ( leaves.length != aabbs.size() ) {
+            rebuild();
+            return;
+        }
+        
+        int reinsertions = 0;
+        
+        for ( int k = 0; k < movedCount; k++ ) {
+            
+            int index = moved[k];
+            int leaf = leaves[index];
+            AABB aabb = aabbs.get( index );
+            
+            int b = leaf * 4;
+            
+            if ( aabb.x1 < bounds[b + X1] || aabb.y1 < bounds[b + Y1] || 
+                 aabb.x2 > bounds[b + X2] || aabb.y2 > bounds[b + Y2] ) {
+                removeLeaf( leaf );
+                setFatBounds( leaf, index );
+                insertLeaf( leaf );
+                reinsertedFlags[index] = true;
+                reinserted[reinsertions++] = index;
+            }
+            
+            movedFlags[index] = false;
+            displacementX[index] = 0;
+            displacementY[index] = 0;
+            
+        }
+        
+        movedCount = 0;
+        lastReinsertions = reinsertions;
+        
+        if ( reinsertions > 0 ) {
+            updateCandidates( reinsertions );
+        }
+        
+    }
+    
+    /**
+     * Empties the tree and inserts every AABB.
+     */
+    @Override
+    public void rebuild() {
+        
+        int size = aabbs.size();
+        
+        if ( leaves == null || leaves.length != size ) {
+            leaves = new int[size];
+            reinserted = new int[size];
+            reinsertedFlags = new boolean[size];
+            moved = new int[size];
+            movedFlags = new boolean[size];
+            displacementX = new double[size];
+            displacementY = new double[size];
+        }
+        
+        allocateNodes( Math.max( 16, size * 2 ) );
+        root = NULL;
+        
+        for ( int i = 0; i < size; i++ ) {
+            int leaf = allocateNode();
+            item[leaf] = i;
+            nodes[leaf * 4 + HEIGHT] = 0;
+            setFatBounds( leaf, i );
+            insertLeaf( leaf );
+            leaves[i] = leaf;
+            movedFlags[i] = false;
+            displacementX[i] = 0;
+            displacementY[i] = 0;
+        }
+        
+        movedCount = 0;
+        lastReinsertions = size;
+        
+        candidateCount = 0;
+        if ( root != NULL ) {
+            collectCandidates( root );
+        }
+        
+    }
+    
+    /**
+     * Finds every pair of overlapping AABBs, testing the real bounds of
+     * the candidate pairs kept by the tree.
+     *
+     * @param dest The destination buffer.
+     * @return The number of pairs found.
+     */
+    @Override
+    public int queryPairs( AABBPairBuffer dest ) {
+        
+        dest.clear();
+        long tests = 0;
+        
+        int[] candidates = this.candidates;
+        int n = candidateCount * 2;
+        
+        for ( int k = 0; k < n; k += 2 ) {
+            int ia = candidates[k];
+            int ib = candidates[k + 1];
+            AABB a = aabbs.get( ia );
+            AABB b = aabbs.get( ib );
+            if ( a.active && b.active ) {
+                dest.addOverlap( ia, a, ib, b );
+                tests++;
+            }
+        }
+        
+        pairTests = tests;
+        return dest.count;
+        
+    }
+    
+    /**
+     * Returns the number of candidate pairs: pairs of AABBs whose fat
+     * bounds overlap.
+     *
+     * @return The number of candidate pairs.
+     */
+    public int getCandidateCount() {
+        return candidateCount;
+    }
+    
+    @Override
+    public long getLastPairTests() {
+        return pairTests;
+    }
+    
+    /**
+     * Finds the active AABBs that overlap a region.
+     *
+     * @param rx1 X coordinate of the upper-left vertex of the region.
+     * @param ry1 Y coordinate of the upper-left vertex of the region.
+     * @param rx2 X coordinate of the lower-right vertex of the region.
+     * @param ry2 Y coordinate of the lower-right vertex of the region.
+     * @param dest The destination buffer, whose contents are replaced.
+     * @return The number of AABBs found.
+     */
+    public int queryRegion( double rx1, double ry1, double rx2, double ry2, AABBIndexBuffer dest ) {
+        
+        dest.clear();
+        long tests = 0;
+        
+        int top = 0;
+        if ( root != NULL ) {
+            stack[top++] = root;
+        }
+        
+        while ( top > 0 ) {
+            
+            int node = stack[--top];
+            tests++;
+            
+            int k = node * 4;
+            
+            if ( bounds[k + X1] >= rx2 || bounds[k + X2] <= rx1 || bounds[k + Y1] >= ry2 || bounds[k + Y2] <= ry1 ) {
+                continue;
+            }
+            
+            if ( nodes[node * 4 + HEIGHT] == 0 ) {
+                AABB aabb = aabbs.get( item[node] );
+                if ( aabb.active && aabb.x1 < rx2 && aabb.x2 > rx1 && aabb.y1 < ry2 && aabb.y2 > ry1 ) {
+                    dest.add( item[node] );
+                }
+            } else {
+                top = push( top, nodes[node * 4 + CHILD1], nodes[node * 4 + CHILD2] );
+            }
+            
+        }
+        
+        lastQueryTests = tests;
+        return dest.count;
+        
+    }
+    
+    /**
+     * Casts a ray along a segment, finding the first active AABB it hits.
+     * The position of the hit along the segment is available through
+     * getLastRaycastFraction.
+     *
+     * @param sx1 X coordinate of the start of the segment.
+     * @param sy1 Y coordinate of the start of the segment.
+     * @param sx2 X coordinate of the end of the segment.
+     * @param sy2 Y coordinate of the end of the segment.
+     * @return Index of the first AABB hit or -1 if none is hit.
+     */
+    public int raycast( double sx1, double sy1, double sx2, double sy2 ) {
+        
+        double dx = sx2 - sx1;
+        double dy = sy2 - sy1;
+        double maxFraction = 1;
+        int hit = NULL;
+        long tests = 0;
+        
+        int top = 0;
+        if ( root != NULL ) {
+            stack[top++] = root;
+        }
+        
+        while ( top > 0 ) {
+            
+            int node = stack[--top];
+            tests++;
+            
+            int k = node * 4;
+            
+            if ( segmentFraction( sx1, sy1, dx, dy, maxFraction, bounds[k + X1], bounds[k + Y1], bounds[k + X2], bounds[k + Y2] ) < 0 ) {
+                continue;
+            }
+            
+            if ( nodes[node * 4 + HEIGHT] == 0 ) {
+                AABB aabb = aabbs.get( item[node] );
+                if ( aabb.active ) {
+                    double t = segmentFraction( sx1, sy1, dx, dy, maxFraction, aabb.x1, aabb.y1, aabb.x2, aabb.y2 );
+                    if ( t >= 0 ) {
+                        maxFraction = t;
+                        hit = item[node];
+                    }
+                }
+            } else {
+                top = push( top, nodes[node * 4 + CHILD1], nodes[node * 4 + CHILD2] );
+            }
+            
+        }
+        
+        lastQueryTests = tests;
+        lastRaycastFraction = hit == NULL ? 1 : maxFraction;
+        return hit;
+        
+    }
+    
+    /**
+     * Returns the fraction of the segment of the last ray cast where the
+     * hit happened, or 1 if nothing was hit.
+     *
+     * @return The fraction, between 0 and 1.
+     */
+    public double getLastRaycastFraction() {
+        return lastRaycastFraction;
+    }
+    
+    /**
+     * Returns how many nodes were visited by the last region query or ray
+     * cast.
+     *
+     * @return The number of visited nodes.
+     */
+    public long getLastQueryTests() {
+        return lastQueryTests;
+    }
+    
+    /**
+     * Returns how many AABBs were inserted again by the last update.
+     *
+     * @return The number of reinsertions.
+     */
+    public int getLastReinsertions() {
+        return lastReinsertions;
+    }
+    
+    /**
+     * Returns the height of the tree (0 when it has a single leaf).
+     *
+     * @return The height of the tree or -1 if it is empty.
+     */
+    public int getHeight() {
+        return root == NULL ? -1 : nodes[root * 4 + HEIGHT];
+    }
+    
+    /**
+     * Gets the margin around each AABB in its fat bounds.
+     *
+     * @return The margin.
+     */
+    public double getMargin() {
+        return margin;
+    }
+    
+    /**
+     * Sets the margin around each AABB in its fat bounds. Used by the
+     * next reinsertions.
+     *
+     * @param margin The margin.
+     */
+    public void setMargin( double margin ) {
+        this.margin = margin;
+    }
+    
+    /**
+     * Gets the number of frames of movement covered by the fat bounds.
+     *
+     * @return The number of frames.
+     */
+    public double getPredictionFrames() {
+        return predictionFrames;
+    }
+    
+    /**
+     * Sets the number of frames of movement covered by the fat bounds.
+     * Used by the next reinsertions.
+     *
+     * @param predictionFrames The number of frames.
+     */
+    public void setPredictionFrames( double predictionFrames ) {
+        this.predictionFrames = predictionFrames;
+    }
+    
+    /**
+     * Draws the bounds of the internal nodes of the tree.
+     *
+     * @param engine The engine.
+     * @param x X coordinate of the drawing position.
+     * @param y Y coordinate of the drawing position.
+     */
+    public void draw( EngineFrame engine, double x, double y ) {
+        
+        // walks the pool instead of the links, so it is safe to draw
+        // while the tree is updated in another thread
+        double[] bounds = this.bounds;
+        int[] nodes = this.nodes;
+        int n = Math.min( bounds.length, nodes.length ) / 4;
+        
+        for ( int i = 0; i < n; i++ ) {
+            if ( nodes[i * 4 + HEIGHT] > 0 ) {
+                int k = i * 4;
+                engine.drawRectangle( x + bounds[k + X1], y + bounds[k + Y1], bounds[k + X2] - bounds[k + X1], bounds[k + Y2] - bounds[k + Y1], NODE_COLOR );
+            }
+        }
+        
+    }
+    
+    private void markMoved( int index, double deltaX, double deltaY ) {
+        displacementX[index] += deltaX;
+        displacementY[index] += deltaY;
+        if ( !movedFlags[index] ) {
+            movedFlags[index] = true;
+            moved[movedCount++] = index;
+        }
+    }
+    
+    private void setFatBounds( int leaf, int index ) {
+        
+        AABB aabb = aabbs.get( index );
+        double px = displacementX[index] * predictionFrames;
+        double py = displacementY[index] * predictionFrames;
+        
+        int k = leaf * 4;
+        
+        bounds[k + X1] = aabb.x1 - margin + Math.min( px, 0 );
+        bounds[k + Y1] = aabb.y1 - margin + Math.min( py, 0 );
+        bounds[k + X2] = aabb.x2 + margin + Math.max( px, 0 );
+        bounds[k + Y2] = aabb.y2 + margin + Math.max( py, 0 );
+        
+    }
+    
+    /**
+     * Drops the candidates of the reinserted AABBs and queries the tree
+     * with their new fat bounds. A pair of two reinserted AABBs is only
+     * added by the one with the lower index.
+     */
+    private void updateCandidates( int reinsertions ) {
+        
+        int[] candidates = this.candidates;
+        int n = candidateCount * 2;
+        int kept = 0;
+        
+        for ( int k = 0; k < n; k += 2 ) {
+            int a = candidates[k];
+            int b = candidates[k + 1];
+            if ( !reinsertedFlags[a] && !reinsertedFlags[b] ) {
+                candidates[kept++] = a;
+                candidates[kept++] = b;
+            }
+        }
+        candidateCount = kept / 2;
+        
+        for ( int r = 0; r < reinsertions; r++ ) {
+            
+            int index = reinserted[r];
+            int leaf = leaves[index];
+            
+            int top = 0;
+            stack[top++] = root;
+            
+            while ( top > 0 ) {
+                
+                int node = stack[--top];
+                
+                if ( node == leaf || !overlaps( node, leaf ) ) {
+                    continue;
+                }
+                
+                if ( nodes[node * 4 + HEIGHT] == 0 ) {
+                    int other = item[node];
+                    if ( !reinsertedFlags[other] || index < other ) {
+                        addCandidate( index, other );
+                    }
+                } else {
+                    top = push( top, nodes[node * 4 + CHILD1], nodes[node * 4 + CHILD2] );
+                }
+                
+            }
+            
+        }
+        
+        for ( int r = 0; r < reinsertions; r++ ) {
+            reinsertedFlags[reinserted[r]] = false;
+        }
+        
+    }
+    
+    /**
+     * Collects every candidate pair of a subtree by testing it against
+     * itself: two subtrees are only descended when their bounds overlap,
+     * so each pair of leaves is visited once.
+     */
+    private void collectCandidates( int node ) {
+        if ( nodes[node * 4 + HEIGHT] > 0 ) {
+            collectCandidates( nodes[node * 4 + CHILD1] );
+            collectCandidates( nodes[node * 4 + CHILD2] );
+            collectCandidates( nodes[node * 4 + CHILD1], nodes[node * 4 + CHILD2] );
+        }
+    }
+    
+    private void collectCandidates( int a, int b ) {
+        
+        if ( !overlaps( a, b ) ) {
+            return;
+        }
+        
+        if ( nodes[a * 4 + HEIGHT] == 0 && nodes[b * 4 + HEIGHT] == 0 ) {
+            addCandidate( item[a], item[b] );
+        } else if ( nodes[b * 4 + HEIGHT] == 0 || ( nodes[a * 4 + HEIGHT] > 0 && nodes[a * 4 + HEIGHT] >= nodes[b * 4 + HEIGHT] ) ) {
+            // descends the taller subtree
+            collectCandidates( nodes[a * 4 + CHILD1], b );
+            collectCandidates( nodes[a * 4 + CHILD2], b );
+        } else {
+            collectCandidates( a, nodes[b * 4 + CHILD1] );
+            collectCandidates( a, nodes[b * 4 + CHILD2] );
+        }
+        
+    }
+    
+    private void addCandidate( int a, int b ) {
+        if ( candidateCount * 2 == candidates.length ) {
+            candidates = Arrays.copyOf( candidates, candidates.length * 2 );
+        }
+        candidates[candidateCount * 2] = a;
+        candidates[candidateCount * 2 + 1] = b;
+        candidateCount++;
+    }
+    
+    private boolean overlaps( int a, int b ) {
+        int ka = a * 4;
+        int kb = b * 4;
+        return bounds[ka + X1] < bounds[kb + X2] && bounds[ka + X2] > bounds[kb + X1] && 
+               bounds[ka + Y1] < bounds[kb + Y2] && bounds[ka + Y2] > bounds[kb + Y1];
+    }
+    
+    /**
+     * Slab test of a segment against a box. Returns the fraction of the
+     * segment where it enters the box, or -1 if it does not touch the box
+     * up to maxFraction.
+     */
+    private static double segmentFraction( 
+            double sx, double sy, double dx, double dy, double maxFraction, 
+            double bx1, double by1, double bx2, double by2 ) {
+        
+        double tMin = 0;
+        double tMax = maxFraction;
+        
+        if ( dx == 0 ) {
+            if ( sx < bx1 || sx > bx2 ) {
+                return -1;
+            }
+        } else {
+            double t1 = ( bx1 - sx ) / dx;
+            double t2 = ( bx2 - sx ) / dx;
+            tMin = Math.max( tMin, Math.min( t1, t2 ) );
+            tMax = Math.min( tMax, Math.max( t1, t2 ) );
+        }
+        
+        if ( dy == 0 ) {
+            if ( sy < by1 || sy > by2 ) {
+                return -1;
+            }
+        } else {
+            double t1 = ( by1 - sy ) / dy;
+            double t2 = ( by2 - sy ) / dy;
+            tMin = Math.max( tMin, Math.min( t1, t2 ) );
+            tMax = Math.min( tMax, Math.max( t1, t2 ) );
+        }
+        
+        return tMin <= tMax ? tMin : -1;
+        
+    }
+    
+    private int push( int top, int a, int b ) {
+        if ( top + 2 > stack.length ) {
+            stack = Arrays.copyOf( stack, stack.length * 2 );
+        }
+        stack[top++] = a;
+        stack[top++] = b;
+        return top;
+    }
+    
+    private void insertLeaf( int leaf ) {
+        
+        if ( root == NULL ) {
+            root = leaf;
+            nodes[leaf * 4 + PARENT] = NULL;
+            return;
+        }
+        
+        // finds the best sibling, descending while it is cheaper than
+        // pairing the leaf with the current node
+        int index = root;
+        while ( nodes[index * 4 + HEIGHT] > 0 ) {
+            
+            int c1 = nodes[index * 4 + CHILD1];
+            int c2 = nodes[index * 4 + CHILD2];
+            
+            double perimeter = perimeter( index );
+            double combinedPerimeter = unionPerimeter( index, leaf );
+            
+            double cost = 2 * combinedPerimeter;
+            double inheritanceCost = 2 * ( combinedPerimeter - perimeter );
+            
+            double cost1 = unionPerimeter( c1, leaf ) + inheritanceCost;
+            if ( nodes[c1 * 4 + HEIGHT] > 0 ) {
+                cost1 -= perimeter( c1 );
+            }
+            
+            double cost2 = unionPerimeter( c2, leaf ) + inheritanceCost;
+            if ( nodes[c2 * 4 + HEIGHT] > 0 ) {
+                cost2 -= perimeter( c2 );
+            }
+            
+            if ( cost < cost1 && cost < cost2 ) {
+                break;
+            }
+            
+            index = cost1 < cost2 ? c1 : c2;
+            
+        }
+        
+        int sibling = index;
+        int oldParent = nodes[sibling * 4 + PARENT];
+        int newParent = allocateNode();
+        
+        nodes[newParent * 4 + PARENT] = oldParent;
+        item[newParent] = NULL;
+        setUnion( newParent, sibling, leaf );
+        nodes[newParent * 4 + HEIGHT] = nodes[sibling * 4 + HEIGHT] + 1;
+        
+        if ( oldParent != NULL ) {
+            replaceChild( oldParent, sibling, newParent );
+        } else {
+            root = newParent;
+        }
+        
+        nodes[newParent * 4 + CHILD1] = sibling;
+        nodes[newParent * 4 + CHILD2] = leaf;
+        nodes[sibling * 4 + PARENT] = newParent;
+        nodes[leaf * 4 + PARENT] = newParent;
+        
+        refit( nodes[leaf * 4 + PARENT] );
+        
+    }
+    
+    private void removeLeaf( int leaf ) {
+        
+        if ( leaf == root ) {
+            root = NULL;
+            return;
+        }
+        
+        int p = nodes[leaf * 4 + PARENT];
+        int grandParent = nodes[p * 4 + PARENT];
+        int sibling = nodes[p * 4 + CHILD1] == leaf ? nodes[p * 4 + CHILD2] : nodes[p * 4 + CHILD1];
+        
+        if ( grandParent != NULL ) {
+            replaceChild( grandParent, p, sibling );
+            nodes[sibling * 4 + PARENT] = grandParent;
+            freeNode( p );
+            refit( grandParent );
+        } else {
+            root = sibling;
+            nodes[sibling * 4 + PARENT] = NULL;
+            freeNode( p );
+        }
+        
+    }
+    
+    /**
+     * Walks from a node to the root, balancing the nodes and fixing their
+     * bounds and heights.
+     */
+    private void refit( int index ) {
+        while ( index != NULL ) {
+            index = balance( index );
+            int c1 = nodes[index * 4 + CHILD1];
+            int c2 = nodes[index * 4 + CHILD2];
+            nodes[index * 4 + HEIGHT] = 1 + Math.max( nodes[c1 * 4 + HEIGHT], nodes[c2 * 4 + HEIGHT] );
+            setUnion( index, c1, c2 );
+            index = nodes[index * 4 + PARENT];
+        }
+    }
+    
+    /**
+     * If one child of a node is more than one level taller than the other,
+     * rotates the taller child up. Returns the node that took the place of
+     * the given one.
+     */
+    private int balance( int a ) {
+        
+        if ( nodes[a * 4 + HEIGHT] < 2 ) {
+            return a;
+        }
+        
+        int b = nodes[a * 4 + CHILD1];
+        int c = nodes[a * 4 + CHILD2];
+        int heightDifference = nodes[c * 4 + HEIGHT] - nodes[b * 4 + HEIGHT];
+        
+        if ( heightDifference > 1 ) {
+            rotateUp( a, c, b, false );
+            return c;
+        }
+        
+        if ( heightDifference < -1 ) {
+            rotateUp( a, b, c, true );
+            return b;
+        }
+        
+        return a;
+        
+    }
+    
+    /**
+     * Rotates the child "up" of a node to its place. The taller grandchild
+     * stays under "up" and the other one goes to the node, next to
+     * "other". upIsFirst tells whether "up" is child1 of the node.
+     */
+    private void rotateUp( int a, int up, int other, boolean upIsFirst ) {
+        
+        int f = nodes[up * 4 + CHILD1];
+        int g = nodes[up * 4 + CHILD2];
+        
+        nodes[up * 4 + CHILD1] = a;
+        nodes[up * 4 + PARENT] = nodes[a * 4 + PARENT];
+        nodes[a * 4 + PARENT] = up;
+        
+        if ( nodes[up * 4 + PARENT] != NULL ) {
+            replaceChild( nodes[up * 4 + PARENT], a, up );
+        } else {
+            root = up;
+        }
+        
+        int taller = nodes[f * 4 + HEIGHT] > nodes[g * 4 + HEIGHT] ? f : g;
+        int shorter = taller == f ? g : f;
+        
+        nodes[up * 4 + CHILD2] = taller;
+        if ( upIsFirst ) {
+            nodes[a * 4 + CHILD1] = shorter;
+        } else {
+            nodes[a * 4 + CHILD2] = shorter;
+        }
+        nodes[shorter * 4 + PARENT] = a;
+        
+        setUnion( a, other, shorter );
+        setUnion( up, a, taller );
+        nodes[a * 4 + HEIGHT] = 1 + Math.max( nodes[other * 4 + HEIGHT], nodes[shorter * 4 + HEIGHT] );
+        nodes[up * 4 + HEIGHT] = 1 + Math.max( nodes[a * 4 + HEIGHT], nodes[taller * 4 + HEIGHT] );
+        
+    }
+    
+    private void replaceChild( int node, int oldChild, int newChild ) {
+        if ( nodes[node * 4 + CHILD1] == oldChild ) {
+            nodes[node * 4 + CHILD1] = newChild;
+        } else {
+            nodes[node * 4 + CHILD2] = newChild;
+        }
+    }
+    
+    private void setUnion( int node, int a, int b ) {
+        int k = node * 4;
+        int ka = a * 4;
+        int kb = b * 4;
+        bounds[k + X1] = Math.min( bounds[ka + X1], bounds[kb + X1] );
+        bounds[k + Y1] = Math.min( bounds[ka + Y1], bounds[kb + Y1] );
+        bounds[k + X2] = Math.max( bounds[ka + X2], bounds[kb + X2] );
+        bounds[k + Y2] = Math.max( bounds[ka + Y2], bounds[kb + Y2] );
+    }
+    
+    private double perimeter( int node ) {
+        int k = node * 4;
+        return 2 * ( ( bounds[k + X2] - bounds[k + X1] ) + ( bounds[k + Y2] - bounds[k + Y1] ) );
+    }
+    
+    private double unionPerimeter( int a, int b ) {
+        int ka = a * 4;
+        int kb = b * 4;
+        double w = Math.max( bounds[ka + X2], bounds[kb + X2] ) - Math.min( bounds[ka + X1], bounds[kb + X1] );
+        double h = Math.max( bounds[ka + Y2], bounds[kb + Y2] ) - Math.min( bounds[ka + Y1], bounds[kb + Y1] );
+        return 2 * ( w + h );
+    }
+    
+    private void allocateNodes( int capacity ) {
+        
+        bounds = new double[capacity * 4];
+        nodes = new int[capacity * 4];
+        item = new int[capacity];
+        
+        linkFreeNodes( 0, capacity );
+        
+    }
+    
+    private void linkFreeNodes( int from, int to ) {
+        for ( int i = from; i < to; i++ ) {
+            nodes[i * 4 + PARENT] = i + 1 < to ? i + 1 : NULL;
+            nodes[i * 4 + HEIGHT] = -1;
+        }
+        freeList = from;
+    }
+    
+    private int allocateNode() {
+        
+        if ( freeList == NULL ) {
+            int capacity = item.length;
+            int newCapacity = capacity * 2;
+            bounds = Arrays.copyOf( bounds, newCapacity * 4 );
+            nodes = Arrays.copyOf( nodes, newCapacity * 4 );
+            item = Arrays.copyOf( item, newCapacity );
+            linkFreeNodes( capacity, newCapacity );
+        }
+        
+        int node = freeList;
+        freeList = nodes[node * 4 + PARENT];
+        nodes[node * 4 + PARENT] = NULL;
+        nodes[node * 4 + CHILD1] = NULL;
+        nodes[node * 4 + CHILD2] = NULL;
+        nodes[node * 4 + HEIGHT] = 0;
+        item[node] = NULL;
+        return node;
+        
+    }
+    
+    private void freeNode( int node ) {
+        nodes[node * 4 + PARENT] = freeList;
+        nodes[node * 4 + HEIGHT] = -1;
+        freeList = node;
+    }
+    
+}
@@ -0,0 +1,513 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.collision;
+
+import br.com.davidbuzatto.jsge.geom.Circle;
+import br.com.davidbuzatto.jsge.geom.Line;
+import br.com.davidbuzatto.jsge.geom.Polygon;
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+import br.com.davidbuzatto.jsge.geom.Triangle;
+import java.util.Arrays;
+
+/**
+ * A set of shapes indexed for batched point hit testing.
+ *
+ * The shapes are copied into packed primitive arrays when added (regular
+ * polygons have their vertices computed once), so later changes to the
+ * geometric objects are not seen until the set is filled again. Each
+ * shape has a bounding box, and the boxes are organized in a bounding
+ * volume hierarchy, built when the set is first queried after a change.
+ * A point is only tested exactly against the shapes whose boxes contain
+ * it, so the cost of a query grows with the logarithm of the number of
+ * shapes instead of linearly.
+ *
+ * The exact tests give the same results as the corresponding
+ * CollisionUtils.checkCollisionPoint* methods. When a point hits more
+ * than one shape, the first added one is reported, like a chain of
+ * checks in the order the shapes were added.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class PointHitTester {
+    
+    private static final byte LINE = 0;
+    private static final byte RECTANGLE = 1;
+    private static final byte CIRCLE = 2;
+    private static final byte TRIANGLE = 3;
+    private static final byte POLYGON = 4;
+    
+    private static final int LEAF_SIZE = 4;
+    
+    // shapes: type, bounding box (x1, y1, x2, y2) and where their
+    // parameters start in params
+    private byte[] types;
+    private double[] shapeBounds;
+    private int[] paramStarts;
+    private double[] params;
+    private int paramCount;
+    private int shapeCount;
+    
+    // hierarchy in depth-first order: the left child of an internal node
+    // is the next node and nodeStarts holds the right one; leaves hold
+    // nodeCounts shapes of order from nodeStarts
+    private double[] nodeBounds;
+    private int[] nodeStarts;
+    private int[] nodeCounts;
+    private int nodeCount;
+    private int[] order;
+    private double[] centers;
+    private boolean built;
+    
+    private int[] stack;
+    private long lastTests;
+    
+    /**
+     * Creates an empty set.
+     */
+    public PointHitTester() {
+        types = new byte[16];
+        shapeBounds = new double[16 * 4];
+        paramStarts = new int[16];
+        params = new double[16 * 6];
+        stack = new int[64];
+    }
+    
+    /**
+     * Adds a line. Same test as CollisionUtils.checkCollisionPointLine.
+     *
+     * @param line The line.
+     * @param threshold The proximity threshold between the point and the line.
+     * @return Index of the shape.
+     */
+    public int addLine( Line line, int threshold ) {
+        int index = addShape( LINE, 
+            Math.min( line.x1, line.x2 ) - threshold, Math.min( line.y1, line.y2 ) - threshold, 
+            Math.max( line.x1, line.x2 ) + threshold, Math.max( line.y1, line.y2 ) + threshold );
+        addParams( line.x1, line.y1, line.x2, line.y2, threshold );
+        return index;
+    }
+    
+    /**
+     * Adds a rectangle. Same test as CollisionUtils.checkCollisionPointRectangle.
+     *
+     * @param rec The rectangle.
+     * @return Index of the shape.
+     */
+    public int addRectangle( Rectangle rec ) {
+        int index = addShape( RECTANGLE, rec.x, rec.y, rec.x + rec.width, rec.y + rec.height );
+        addParams( rec.x, rec.y, rec.width, rec.height );
+        return index;
+    }
+    
+    /**
+     * Adds a circle. Same test as CollisionUtils.checkCollisionPointCircle.
+     *
+     * @param circle The circle.
+     * @return Index of the shape.
+     */
+    public int addCircle( Circle circle ) {
+        int index = addShape( CIRCLE, 
+            circle.x - circle.radius, circle.y - circle.radius, 
+            circle.x + circle.radius, circle.y + circle.radius );
+        addParams( circle.x, circle.y, circle.radius );
+        return index;
+    }
+    
+    /**
+     * Adds a triangle. Same test as CollisionUtils.checkCollisionPointTriangle.
+     *
+     * @param triangle The triangle.
+     * @return Index of the shape.
+     */
+    public int addTriangle( Triangle triangle ) {
+        int index = addShape( TRIANGLE, 
+            Math.min( triangle.x1, Math.min( triangle.x2, triangle.x3 ) ), 
+            Math.min( triangle.y1, Math.min( triangle.y2, triangle.y3 ) ), 
+            Math.max( triangle.x1, Math.max( triangle.x2, triangle.x3 ) ), 
+            Math.max( triangle.y1, Math.max( triangle.y2, triangle.y3 ) ) );
+        addParams( triangle.x1, triangle.y1, triangle.x2, triangle.y2, triangle.x3, triangle.y3 );
+        return index;
+    }
+    
+    /**
+     * Adds a regular polygon. Same test as
+     * CollisionUtils.checkCollisionPointPolygon: polygons with less than
+     * three sides are never hit.
+     *
+     * @param polygon The polygon.
+     * @return Index of the shape.
+     */
+    public int addPolygon( Polygon polygon ) {
+        
+        int sides = Math.max( 0, polygon.sides );
+        int index = addShape( POLYGON, 
+            polygon.x - polygon.radius, polygon.y - polygon.radius, 
+            polygon.x + polygon.radius, polygon.y + polygon.radius );
+        
+        addParams( sides );
+        
+        double angle = 360.0 / sides;
+        for ( int i = 0; i < sides; i++ ) {
+            addParams( 
+                polygon.x + Math.cos( Math.toRadians( polygon.rotation + angle * i ) ) * polygon.radius,
+                polygon.y + Math.sin( Math.toRadians( polygon.rotation + angle * i ) ) * polygon.radius
+            );
+        }
+        
+        return index;
+        
+    }
+    
+    /**
+     * Removes every shape.
+     */
+    public void clear() {
+        shapeCount = 0;
+        paramCount = 0;
+        built = false;
+    }
+    
+    /**
+     * Returns the number of shapes.
+     *
+     * @return The number of shapes.
+     */
+    public int getShapeCount() {
+        return shapeCount;
+    }
+    
+    /**
+     * Finds the first shape hit by a point.
+     *
+     * @param x The x coordinate of the point.
+     * @param y The y coordinate of the point.
+     * @return Index of the first shape hit by the point or -1 if none is hit.
+     */
+    public int hitTest( double x, double y ) {
+        build();
+        lastTests = 0;
+        return query( x, y );
+    }
+    
+    /**
+     * Finds the first shape hit by each point of a batch.
+     *
+     * @param points The points, packed as x0, y0, x1, y1...
+     * @param count Number of points.
+     * @param hits Receives, for each point, the index of the first shape
+     * hit by it or -1 if none is hit.
+     * @return The number of points that hit some shape.
+     */
+    public int hitTest( double[] points, int count, int[] hits ) {
+        
+        build();
+        lastTests = 0;
+        int hitCount = 0;
+        
+        for ( int i = 0; i < count; i++ ) {
+            int hit = query( points[i * 2], points[i * 2 + 1] );
+            hits[i] = hit;
+            if ( hit >= 0 ) {
+                hitCount++;
+            }
+        }
+        
+        return hitCount;
+        
+    }
+    
+    /**
+     * Returns how many exact shape tests were made by the last hit test.
+     *
+     * @return The number of shape tests.
+     */
+    public long getLastTests() {
+        return lastTests;
+    }
+    
+    /**
+     * Builds the bounding volume hierarchy if the shapes changed since
+     * the last build. Called by the hit tests.
+     */
+    public void build() {
+        
+        if ( built ) {
+            return;
+        }
+        
+        int capacity = Math.max( 1, 2 * shapeCount );
+        if ( nodeStarts == null || nodeStarts.length < capacity ) {
+            nodeBounds = new double[capacity * 4];
+            nodeStarts = new int[capacity];
+            nodeCounts = new int[capacity];
+        }
+        if ( order == null || order.length < shapeCount ) {
+            order = new int[types.length];
+            centers = new double[types.length * 2];
+        }
+        
+        for ( int i = 0; i < shapeCount; i++ ) {
+            order[i] = i;
+            centers[i * 2] = ( shapeBounds[i * 4] + shapeBounds[i * 4 + 2] ) / 2;
+            centers[i * 2 + 1] = ( shapeBounds[i * 4 + 1] + shapeBounds[i * 4 + 3] ) / 2;
+        }
+        
+        nodeCount = 0;
+        if ( shapeCount > 0 ) {
+            buildNode( 0, shapeCount );
+        }
+        
+        built = true;
+        
+    }
+    
+    private int query( double x, double y ) {
+        
+        if ( shapeCount == 0 ) {
+            return -1;
+        }
+        
+        int best = -1;
+        int top = 0;
+        stack[top++] = 0;
+        
+        while ( top > 0 ) {
+            
+            int node = stack[--top];
+            int k = node * 4;
+            
+            if ( x < nodeBounds[k] || x > nodeBounds[k + 2] || y < nodeBounds[k + 1] || y > nodeBounds[k + 3] ) {
+                continue;
+            }
+            
+            int count = nodeCounts[node];
+            
+            if ( count > 0 ) {
+                
+                int start = nodeStarts[node];
+                for ( int i = start; i < start + count; i++ ) {
+                    int shape = order[i];
+                    // only a shape added before the current best can replace it
+                    if ( ( best < 0 || shape < best ) && contains( shape, x, y ) ) {
+                        best = shape;
+                    }
+                }
+                
+            } else {
+                if ( top + 2 > stack.length ) {
+                    stack = Arrays.copyOf( stack, stack.length * 2 );
+                }
+                stack[top++] = nodeStarts[node];
+                stack[top++] = node + 1;
+            }
+            
+        }
+        
+        return best;
+        
+    }
+    
+    private boolean contains( int shape, double x, double y ) {
+        
+        int k = shape * 4;
+        if ( x < shapeBounds[k] || x > shapeBounds[k + 2] || y < shapeBounds[k + 1] || y > shapeBounds[k + 3] ) {
+            return false;
+        }
+        
+        lastTests++;
+        
+        double[] p = params;
+        int s = paramStarts[shape];
+        
+        switch ( types[shape] ) {
+            
+            case LINE: {
+                double dxc = x - p[s];
+                double dyc = y - p[s + 1];
+                double dxl = p[s + 2] - p[s];
+                double dyl = p[s + 3] - p[s + 1];
+                double cross = dxc * dyl - dyc * dxl;
+                if ( Math.abs( cross ) < ( p[s + 4] * Math.max( Math.abs( dxl ), Math.abs( dyl ) ) ) ) {
+                    if ( Math.abs( dxl ) >= Math.abs( dyl ) ) {
+                        return ( dxl > 0 ) ? ( ( p[s] <= x ) && ( x <= p[s + 2] ) ) : ( ( p[s + 2] <= x ) && ( x <= p[s] ) );
+                    }
+                    return ( dyl > 0 ) ? ( ( p[s + 1] <= y ) && ( y <= p[s + 3] ) ) : ( ( p[s + 3] <= y ) && ( y <= p[s + 1] ) );
+                }
+                return false;
+            }
+            
+            case RECTANGLE:
+                return x >= p[s] && x < p[s] + p[s + 2] && y >= p[s + 1] && y < p[s + 1] + p[s + 3];
+            
+            case CIRCLE: {
+                double dx = x - p[s];
+                double dy = y - p[s + 1];
+                return dx * dx + dy * dy <= p[s + 2] * p[s + 2];
+            }
+            
+            case TRIANGLE: {
+                double p1x = p[s], p1y = p[s + 1];
+                double p2x = p[s + 2], p2y = p[s + 3];
+                double p3x = p[s + 4], p3y = p[s + 5];
+                double den = ( p2y - p3y ) * ( p1x - p3x ) + ( p3x - p2x ) * ( p1y - p3y );
+                double alpha = ( ( p2y - p3y ) * ( x - p3x ) + ( p3x - p2x ) * ( y - p3y ) ) / den;
+                double beta = ( ( p3y - p1y ) * ( x - p3x ) + ( p1x - p3x ) * ( y - p3y ) ) / den;
+                double gamma = 1.0 - alpha - beta;
+                return alpha > 0 && beta > 0 && gamma > 0;
+            }
+            
+            default: {
+                int sides = (int) p[s];
+                boolean inside = false;
+                if ( sides > 2 ) {
+                    int v = s + 1;
+                    for ( int i = 0, j = sides - 1; i < sides; j = i++ ) {
+                        double xi = p[v + i * 2], yi = p[v + i * 2 + 1];
+                        double xj = p[v + j * 2], yj = p[v + j * 2 + 1];
+                        if ( ( yi > y ) != ( yj > y ) && ( x < ( xj - xi ) * ( y - yi ) / ( yj - yi ) + xi ) ) {
+                            inside = !inside;
+                        }
+                    }
+                }
+                return inside;
+            }
+            
+        }
+        
+    }
+    
+    /**
+     * Builds the node of the shapes in order[from, to), splitting them at
+     * the median center along the longest axis of their centers.
+     */
+    private int buildNode( int from, int to ) {
+        
+        int node = nodeCount++;
+        int k = node * 4;
+        
+        double bx1 = Double.POSITIVE_INFINITY, by1 = Double.POSITIVE_INFINITY;
+        double bx2 = Double.NEGATIVE_INFINITY, by2 = Double.NEGATIVE_INFINITY;
+        double cx1 = Double.POSITIVE_INFINITY, cy1 = Double.POSITIVE_INFINITY;
+        double cx2 = Double.NEGATIVE_INFINITY, cy2 = Double.NEGATIVE_INFINITY;
+        
+        for ( int i = from; i < to; i++ ) {
+            int shape = order[i];
+            bx1 = Math.min( bx1, shapeBounds[shape * 4] );
+            by1 = Math.min( by1, shapeBounds[shape * 4 + 1] );
+            bx2 = Math.max( bx2, shapeBounds[shape * 4 + 2] );
+            by2 = Math.max( by2, shapeBounds[shape * 4 + 3] );
+            cx1 = Math.min( cx1, centers[shape * 2] );
+            cy1 = Math.min( cy1, centers[shape * 2 + 1] );
+            cx2 = Math.max( cx2, centers[shape * 2] );
+            cy2 = Math.max( cy2, centers[shape * 2 + 1] );
+        }
+        
+        nodeBounds[k] = bx1;
+        nodeBounds[k + 1] = by1;
+        nodeBounds[k + 2] = bx2;
+        nodeBounds[k + 3] = by2;
+        
+        if ( to - from <= LEAF_SIZE ) {
+            nodeStarts[node] = from;
+            nodeCounts[node] = to - from;
+            return node;
+        }
+        
+        int axis = cx2 - cx1 >= cy2 - cy1 ? 0 : 1;
+        int mid = ( from + to ) >>> 1;
+        select( from, to - 1, mid, axis );
+        
+        nodeCounts[node] = 0;
+        buildNode( from, mid );
+        nodeStarts[node] = buildNode( mid, to );
+        
+        return node;
+        
+    }
+    
+    /**
+     * Partially sorts order[left..right] so the shape at position n has
+     * its center where it would be if the range was sorted along the
+     * axis (quickselect).
+     */
+    private void select( int left, int right, int n, int axis ) {
+        
+        while ( left < right ) {
+            
+            double pivot = centers[order[( left + right ) >>> 1] * 2 + axis];
+            int i = left;
+            int j = right;
+            
+            while ( i <= j ) {
+                while ( centers[order[i] * 2 + axis] < pivot ) {
+                    i++;
+                }
+                while ( centers[order[j] * 2 + axis] > pivot ) {
+                    j--;
+                }
+                if ( i <= j ) {
+                    int t = order[i];
+                    order[i] = order[j];
+                    order[j] = t;
+                    i++;
+                    j--;
+                }
+            }
+            
+            if ( n <= j ) {
+                right = j;
+            } else if ( n >= i ) {
+                left = i;
+            } else {
+                return;
+            }
+            
+        }
+        
+    }
+    
+    private int addShape( byte type, double x1, double y1, double x2, double y2 ) {
+        
+        if ( shapeCount == types.length ) {
+            int capacity = types.length * 2;
+            types = Arrays.copyOf( types, capacity );
+            shapeBounds = Arrays.copyOf( shapeBounds, capacity * 4 );
+            paramStarts = Arrays.copyOf( paramStarts, capacity );
+        }
+        
+        int index = shapeCount++;
+        types[index] = type;
+        shapeBounds[index * 4] = x1;
+        shapeBounds[index * 4 + 1] = y1;
+        shapeBounds[index * 4 + 2] = x2;
+        shapeBounds[index * 4 + 3] = y2;
+        paramStarts[index] = paramCount;
+        built = false;
+        
+        return index;
+        
+    }
+    
+    private void addParams( double... values ) {
+        if ( paramCount + values.length > params.length ) {
+            params = Arrays.copyOf( params, Math.max( params.length * 2, paramCount + values.length ) );
+        }
+        System.arraycopy( values, 0, params, paramCount, values.length );
+        paramCount += values.length;
+    }
+    
+}
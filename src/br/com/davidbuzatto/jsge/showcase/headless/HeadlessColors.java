@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.headless;
+
+import java.awt.Color;
+
+/**
+ * Copies of the EngineFrame colors used by the simulations.
+ *
+ * Reading a color from EngineFrame initializes that class, which needs a
+ * display, so the simulations use these instead.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public final class HeadlessColors {
+    
+    /** Same as EngineFrame.GRAY. */
+    public static final Color GRAY       = new Color( 130, 130, 130 );
+    
+    /** Same as EngineFrame.GOLD. */
+    public static final Color GOLD       = new Color( 255, 203, 0 );
+    
+    /** Same as EngineFrame.ORANGE. */
+    public static final Color ORANGE     = new Color( 255, 161, 0 );
+    
+    /** Same as EngineFrame.PINK. */
+    public static final Color PINK       = new Color( 255, 109, 194 );
+    
+    /** Same as EngineFrame.RED. */
+    public static final Color RED        = new Color( 230, 41, 55 );
+    
+    /** Same as EngineFrame.MAROON. */
+    public static final Color MAROON     = new Color( 190, 33, 55 );
+    
+    /** Same as EngineFrame.LIME. */
+    public static final Color LIME       = new Color( 0, 158, 47 );
+    
+    /** Same as EngineFrame.BLUE. */
+    public static final Color BLUE       = new Color( 0, 121, 241 );
+    
+    /** Same as EngineFrame.VIOLET. */
+    public static final Color VIOLET     = new Color( 135, 60, 190 );
+    
+    /** Same as EngineFrame.WHITE. */
+    public static final Color WHITE      = new Color( 255, 255, 255 );
+    
+    /** Same as EngineFrame.BLACK. */
+    public static final Color BLACK      = new Color( 0, 0, 0 );
+    
+    /** Same as EngineFrame.RAYWHITE. */
+    public static final Color RAYWHITE   = new Color( 245, 245, 245 );
+    
+    private HeadlessColors() {
+    }
+    
+}
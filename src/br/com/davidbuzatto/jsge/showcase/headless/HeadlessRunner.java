@@ -0,0 +1,239 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.headless;
+
+import br.com.davidbuzatto.jsge.image.Image;
+import br.com.davidbuzatto.jsge.showcase.animation.AnimationsSimulation;
+import br.com.davidbuzatto.jsge.showcase.ball.BouncingBallSimulation;
+import br.com.davidbuzatto.jsge.showcase.collision.CollisionDetectionSimulation;
+import br.com.davidbuzatto.jsge.showcase.particles.ParticlesSimulation;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Runs an example simulation without a window, with a fixed timestep and
+ * as fast as the CPU allows, reporting ticks per second, per-phase timings
+ * and allocations.
+ *
+ * Usage: HeadlessRunner simulation [ticks] [updatesPerSecond] [draw] [n=size]
+ * <ul>
+ * <li>simulation: particles, ball, collision, collision-rebuild,
+ * collision-parallel, collision-bvh, collision-sap or animations;</li>
+ * <li>ticks: number of fixed steps (default 6000);</li>
+ * <li>updatesPerSecond: defines the fixed step (default 60);</li>
+ * <li>draw: "draw" to also draw each tick into an offscreen image;</li>
+ * <li>n=size: size of the workload, see HeadlessSimulation.setWorkload.</li>
+ * </ul>
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class HeadlessRunner {
+    
+    private static final Map<String, Supplier<HeadlessSimulation>> SIMULATIONS = new LinkedHashMap<>();
+    private static final Map<String, int[]> SCREEN_SIZES = new LinkedHashMap<>();
+    
+    static {
+        SIMULATIONS.put( "particles", ParticlesSimulation::new );
+        SIMULATIONS.put( "ball", BouncingBallSimulation::new );
+        SIMULATIONS.put( "collision", CollisionDetectionSimulation::new );
+        SIMULATIONS.put( "collision-rebuild", () -> {
+            CollisionDetectionSimulation s = new CollisionDetectionSimulation();
+            s.incremental = false;
+            return s;
+        });
+        SIMULATIONS.put( "collision-parallel", () -> {
+            CollisionDetectionSimulation s = new CollisionDetectionSimulation();
+            s.parallel = true;
+            return s;
+        });
+        SIMULATIONS.put( "collision-bvh", () -> {
+            CollisionDetectionSimulation s = new CollisionDetectionSimulation();
+            s.broadphaseOption = 1;
+            return s;
+        });
+        SIMULATIONS.put( "collision-sap", () -> {
+            CollisionDetectionSimulation s = new CollisionDetectionSimulation();
+            s.broadphaseOption = 2;
+            return s;
+        });
+        SIMULATIONS.put( "animations", AnimationsSimulation::new );
+        SCREEN_SIZES.put( "particles", new int[]{ 800, 450 } );
+        SCREEN_SIZES.put( "ball", new int[]{ 800, 450 } );
+        SCREEN_SIZES.put( "collision", new int[]{ 800, 710 } );
+        SCREEN_SIZES.put( "collision-rebuild", new int[]{ 800, 710 } );
+        SCREEN_SIZES.put( "collision-parallel", new int[]{ 800, 710 } );
+        SCREEN_SIZES.put( "collision-bvh", new int[]{ 800, 710 } );
+        SCREEN_SIZES.put( "collision-sap", new int[]{ 800, 710 } );
+        SCREEN_SIZES.put( "animations", new int[]{ 875, 940 } );
+    }
+    
+    private final HeadlessSimulation simulation;
+    private final int width;
+    private final int height;
+    private int workload;
+    
+    private long ticks;
+    private long updateNanos;
+    private long maxUpdateNanos;
+    private long drawNanos;
+    private long maxDrawNanos;
+    private long allocatedBytes;
+    private long wallNanos;
+    
+    /**
+     * Creates a runner.
+     *
+     * @param simulation The simulation.
+     * @param width Width of the simulated screen.
+     * @param height Height of the simulated screen.
+     */
+    public HeadlessRunner( HeadlessSimulation simulation, int width, int height ) {
+        this.simulation = simulation;
+        this.width = width;
+        this.height = height;
+    }
+    
+    /**
+     * Sets the size of the workload, passed to the simulation after it is
+     * created. Zero keeps the simulation default.
+     *
+     * @param workload Size of the workload.
+     */
+    public void setWorkload( int workload ) {
+        this.workload = workload;
+    }
+    
+    /**
+     * Creates the simulation and steps it.
+     *
+     * @param ticks Number of fixed steps.
+     * @param delta Fixed step, in seconds.
+     * @param draw Whether each step is also drawn into an offscreen image.
+     */
+    public void run( long ticks, double delta, boolean draw ) {
+        
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        com.sun.management.ThreadMXBean allocBean = threadBean instanceof com.sun.management.ThreadMXBean b ? b : null;
+        long threadId = Thread.currentThread().getId();
+        
+        simulation.create( width, height );
+        if ( workload > 0 ) {
+            simulation.setWorkload( workload );
+        }
+        Image image = draw ? new Image( width, height ) : null;
+        
+        long allocStart = allocBean != null ? allocBean.getThreadAllocatedBytes( threadId ) : 0;
+        long start = System.nanoTime();
+        
+        for ( long i = 0; i < ticks; i++ ) {
+            
+            long t0 = System.nanoTime();
+            simulation.update( delta );
+            long t1 = System.nanoTime();
+            
+            updateNanos += t1 - t0;
+            maxUpdateNanos = Math.max( maxUpdateNanos, t1 - t0 );
+            
+            if ( draw ) {
+                simulation.draw( image );
+                long t2 = System.nanoTime();
+                drawNanos += t2 - t1;
+                maxDrawNanos = Math.max( maxDrawNanos, t2 - t1 );
+            }
+            
+        }
+        
+        wallNanos = System.nanoTime() - start;
+        allocatedBytes = allocBean != null ? allocBean.getThreadAllocatedBytes( threadId ) - allocStart : -1;
+        this.ticks = ticks;
+        
+    }
+    
+    /**
+     * Creates a textual report of the last run.
+     *
+     * @return The report.
+     */
+    public String report() {
+        
+        StringBuilder sb = new StringBuilder();
+        double seconds = wallNanos / 1e9;
+        
+        sb.append( String.format( "ticks: %d in %.3f s (%.1f ticks/s)%n", ticks, seconds, ticks / seconds ) );
+        sb.append( String.format( "update: avg %.4f ms, max %.4f ms%n", updateNanos / 1e6 / ticks, maxUpdateNanos / 1e6 ) );
+        
+        if ( drawNanos > 0 ) {
+            sb.append( String.format( "draw: avg %.4f ms, max %.4f ms%n", drawNanos / 1e6 / ticks, maxDrawNanos / 1e6 ) );
+        }
+        
+        if ( allocatedBytes >= 0 ) {
+            sb.append( String.format( "allocated (runner thread): %.3f MB, %.1f bytes/tick%n", allocatedBytes / 1048576.0, (double) allocatedBytes / ticks ) );
+        } else {
+            sb.append( String.format( "allocated: not supported by this JVM%n" ) );
+        }
+        
+        return sb.toString();
+        
+    }
+    
+    /**
+     * Runs a simulation from the command line.
+     *
+     * @param args Arguments.
+     */
+    public static void main( String[] args ) {
+        
+        if ( args.length == 0 || !SIMULATIONS.containsKey( args[0] ) ) {
+            System.out.println( "usage: HeadlessRunner " + String.join( "|", SIMULATIONS.keySet() ) + " [ticks] [updatesPerSecond] [draw] [n=size]" );
+            return;
+        }
+        
+        String name = args[0];
+        long ticks = 6000;
+        int ups = 60;
+        boolean draw = false;
+        int workload = 0;
+        int position = 0;
+        
+        for ( int i = 1; i < args.length; i++ ) {
+            if ( args[i].equals( "draw" ) ) {
+                draw = true;
+            } else if ( args[i].startsWith( "n=" ) ) {
+                workload = Integer.parseInt( args[i].substring( 2 ) );
+            } else if ( position++ == 0 ) {
+                ticks = Long.parseLong( args[i] );
+            } else {
+                ups = Integer.parseInt( args[i] );
+            }
+        }
+        
+        int[] size = SCREEN_SIZES.get( name );
+        
+        HeadlessRunner runner = new HeadlessRunner( SIMULATIONS.get( name ).get(), size[0], size[1] );
+        runner.setWorkload( workload );
+        runner.run( ticks, 1.0 / ups, draw );
+        
+        System.out.printf( "simulation: %s (%dx%d, step %.6f s, draw: %s, workload: %s)%n", 
+                name, size[0], size[1], 1.0 / ups, draw ? "yes" : "no", workload > 0 ? workload : "default" );
+        System.out.print( runner.report() );
+        
+    }
+    
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.headless;
+
+import br.com.davidbuzatto.jsge.image.Image;
+
+/**
+ * The simulation part of an example, decoupled from the EngineFrame window
+ * so it can be stepped and profiled without a display.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public interface HeadlessSimulation {
+    
+    /**
+     * Creates the simulation state.
+     *
+     * @param width Width of the simulated screen.
+     * @param height Height of the simulated screen.
+     */
+    public void create( int width, int height );
+    
+    /**
+     * Changes the size of the workload (number of particles, AABBs, etc.),
+     * if the simulation supports it. Called after create.
+     *
+     * @param size Size of the workload.
+     */
+    public default void setWorkload( int size ) {
+    }
+    
+    /**
+     * Advances the simulation.
+     *
+     * @param delta Time delta.
+     */
+    public void update( double delta );
+    
+    /**
+     * Draws the simulation into an offscreen image.
+     *
+     * @param image The target image, with the simulated screen size.
+     */
+    public void draw( Image image );
+    
+}
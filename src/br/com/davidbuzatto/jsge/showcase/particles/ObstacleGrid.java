@@ -0,0 +1,224 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.particles;
+
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+import java.util.Arrays;
+
+/**
+ * Spatial hash of obstacle slots, used as a broadphase for the
+ * particle/obstacle collision.
+ *
+ * The plane is divided in square cells and each cell is hashed into a fixed
+ * number of buckets, so obstacles may be placed anywhere. An obstacle is
+ * registered in every bucket its rectangle touches and a query returns each
+ * overlapping obstacle slot once, in ascending slot order.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ObstacleGrid {
+
+    private final double cellSize;
+    private final int mask;
+    private final int[][] buckets;
+    private final int[] bucketSizes;
+
+    // query stamps, used to report each slot only once per query
+    private final int[] stamps;
+    private int currentStamp;
+
+    /**
+     * Creates an obstacle grid.
+     *
+     * @param cellSize Size of the side of each cell.
+     * @param bucketCount Number of buckets. Rounded up to a power of two.
+     * @param maxObstacles Maximum number of obstacle slots.
+     */
+    public ObstacleGrid( double cellSize, int bucketCount, int maxObstacles ) {
+
+        int n = Integer.highestOneBit( Math.max( 1, bucketCount - 1 ) ) << 1;
+
+        this.cellSize = cellSize;
+        this.mask = n - 1;
+        this.buckets = new int[n][4];
+        this.bucketSizes = new int[n];
+        this.stamps = new int[maxObstacles];
+
+    }
+
+    /**
+     * Returns the maximum number of obstacle slots.
+     *
+     * @return The maximum number of obstacle slots.
+     */
+    public int capacity() {
+        return stamps.length;
+    }
+
+    /**
+     * Registers an obstacle slot.
+     *
+     * @param slot Obstacle slot.
+     * @param rect Obstacle rectangle.
+     */
+    public void insert( int slot, Rectangle rect ) {
+
+        int minCX = cell( rect.x );
+        int minCY = cell( rect.y );
+        int maxCX = cell( rect.x + rect.width );
+        int maxCY = cell( rect.y + rect.height );
+
+        for ( int cy = minCY; cy <= maxCY; cy++ ) {
+            for ( int cx = minCX; cx <= maxCX; cx++ ) {
+
+                int b = bucket( cx, cy );
+
+                // different cells can hash to the same bucket
+                if ( containsInBucket( b, slot ) ) {
+                    continue;
+                }
+
+                if ( bucketSizes[b] == buckets[b].length ) {
+                    buckets[b] = Arrays.copyOf( buckets[b], buckets[b].length * 2 );
+                }
+                buckets[b][bucketSizes[b]++] = slot;
+
+            }
+        }
+
+    }
+
+    /**
+     * Unregisters an obstacle slot. The rectangle must be the same one used
+     * to insert it.
+     *
+     * @param slot Obstacle slot.
+     * @param rect Obstacle rectangle.
+     */
+    public void remove( int slot, Rectangle rect ) {
+
+        int minCX = cell( rect.x );
+        int minCY = cell( rect.y );
+        int maxCX = cell( rect.x + rect.width );
+        int maxCY = cell( rect.y + rect.height );
+
+        for ( int cy = minCY; cy <= maxCY; cy++ ) {
+            for ( int cx = minCX; cx <= maxCX; cx++ ) {
+
+                int b = bucket( cx, cy );
+                int[] bucket = buckets[b];
+
+                for ( int i = 0; i < bucketSizes[b]; i++ ) {
+                    if ( bucket[i] == slot ) {
+                        bucket[i] = bucket[--bucketSizes[b]];
+                        break;
+                    }
+                }
+
+            }
+        }
+
+    }
+
+    /**
+     * Removes every obstacle slot.
+     */
+    public void clear() {
+        Arrays.fill( bucketSizes, 0 );
+    }
+
+    /**
+     * Collects the obstacle slots registered in the cells touched by an area.
+     *
+     * @param minX Minimum x of the area.
+     * @param minY Minimum y of the area.
+     * @param maxX Maximum x of the area.
+     * @param maxY Maximum y of the area.
+     * @param dest Destination of the slots. Must hold at least capacity() elements.
+     * @return How many slots were written into dest.
+     */
+    public int query( double minX, double minY, double maxX, double maxY, int[] dest ) {
+
+        int minCX = cell( minX );
+        int minCY = cell( minY );
+        int maxCX = cell( maxX );
+        int maxCY = cell( maxY );
+
+        int count = 0;
+        int stamp = nextStamp();
+
+        for ( int cy = minCY; cy <= maxCY; cy++ ) {
+            for ( int cx = minCX; cx <= maxCX; cx++ ) {
+
+                int b = bucket( cx, cy );
+                int[] bucket = buckets[b];
+
+                for ( int i = 0; i < bucketSizes[b]; i++ ) {
+                    int slot = bucket[i];
+                    if ( stamps[slot] != stamp ) {
+                        stamps[slot] = stamp;
+                        dest[count++] = slot;
+                    }
+                }
+
+            }
+        }
+
+        // keeps the same order as a linear scan over the slots;
+        // candidate lists are tiny, so insertion sort is enough
+        for ( int i = 1; i < count; i++ ) {
+            int v = dest[i];
+            int j = i - 1;
+            while ( j >= 0 && dest[j] > v ) {
+                dest[j + 1] = dest[j];
+                j--;
+            }
+            dest[j + 1] = v;
+        }
+
+        return count;
+
+    }
+
+    private boolean containsInBucket( int b, int slot ) {
+        int[] bucket = buckets[b];
+        for ( int i = 0; i < bucketSizes[b]; i++ ) {
+            if ( bucket[i] == slot ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int nextStamp() {
+        currentStamp++;
+        if ( currentStamp == 0 ) {
+            Arrays.fill( stamps, 0 );
+            currentStamp = 1;
+        }
+        return currentStamp;
+    }
+
+    private int cell( double v ) {
+        return (int) Math.floor( v / cellSize );
+    }
+
+    private int bucket( int cx, int cy ) {
+        return ( ( cx * 73856093 ) ^ ( cy * 19349663 ) ) & mask;
+    }
+
+}
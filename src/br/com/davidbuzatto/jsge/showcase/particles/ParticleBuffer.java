@@ -0,0 +1,381 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.particles;
+
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+import java.awt.Color;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Particle storage backed by parallel primitive arrays (structure of arrays).
+ *
+ * Each particle lives in a slot index shared by all the arrays. Slots are
+ * written in place when a particle is emitted, so once the buffer is created
+ * no object is allocated to store or to update particles.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ParticleBuffer {
+
+    /** x coordinate of the position */
+    public final double[] posX;
+
+    /** y coordinate of the position */
+    public final double[] posY;
+
+    /** x coordinate of the position before the last update */
+    public final double[] prevX;
+
+    /** y coordinate of the position before the last update */
+    public final double[] prevY;
+
+    /** x component of the velocity */
+    public final double[] velX;
+
+    /** y component of the velocity */
+    public final double[] velY;
+
+    /** radius */
+    public final double[] radius;
+
+    /** friction */
+    public final double[] friction;
+
+    /** elasticity */
+    public final double[] elasticity;
+
+    /** packed ARGB color */
+    public final int[] color;
+
+    /** age, in seconds */
+    public final double[] age;
+
+    /** lifetime, in seconds */
+    public final double[] lifetime;
+
+    private static final double MAX_FALL_SPEED = 500;
+
+    /** ranges smaller than this are not split when updating in parallel */
+    private static final int PARALLEL_THRESHOLD = 8192;
+
+    private Color lastColor;
+
+    /**
+     * Creates a particle buffer.
+     *
+     * @param capacity Maximum number of particles.
+     */
+    public ParticleBuffer( int capacity ) {
+        posX = new double[capacity];
+        posY = new double[capacity];
+        prevX = new double[capacity];
+        prevY = new double[capacity];
+        velX = new double[capacity];
+        velY = new double[capacity];
+        radius = new double[capacity];
+        friction = new double[capacity];
+        elasticity = new double[capacity];
+        color = new int[capacity];
+        age = new double[capacity];
+        lifetime = new double[capacity];
+    }
+
+    /**
+     * Returns the maximum number of particles.
+     *
+     * @return The capacity of the buffer.
+     */
+    public int capacity() {
+        return posX.length;
+    }
+
+    /**
+     * Writes a particle into a slot, replacing whatever was there.
+     *
+     * @param i Slot index.
+     * @param x x coordinate of the position.
+     * @param y y coordinate of the position.
+     * @param vx x component of the velocity.
+     * @param vy y component of the velocity.
+     * @param radius Radius.
+     * @param friction Friction.
+     * @param elasticity Elasticity.
+     * @param color Packed ARGB color.
+     * @param lifetime Lifetime, in seconds.
+     */
+    public void set( int i, double x, double y, double vx, double vy, double radius, double friction, double elasticity, int color, double lifetime ) {
+        this.posX[i] = x;
+        this.posY[i] = y;
+        this.prevX[i] = x;
+        this.prevY[i] = y;
+        this.velX[i] = vx;
+        this.velY[i] = vy;
+        this.radius[i] = radius;
+        this.friction[i] = friction;
+        this.elasticity[i] = elasticity;
+        this.color[i] = color;
+        this.age[i] = 0.0;
+        this.lifetime[i] = lifetime;
+    }
+
+    /**
+     * Copies a particle from one slot to another.
+     *
+     * @param src Source slot.
+     * @param dst Destination slot.
+     */
+    public void copy( int src, int dst ) {
+        posX[dst] = posX[src];
+        posY[dst] = posY[src];
+        prevX[dst] = prevX[src];
+        prevY[dst] = prevY[src];
+        velX[dst] = velX[src];
+        velY[dst] = velY[src];
+        radius[dst] = radius[src];
+        friction[dst] = friction[src];
+        elasticity[dst] = elasticity[src];
+        color[dst] = color[src];
+        age[dst] = age[src];
+        lifetime[dst] = lifetime[src];
+    }
+
+    /**
+     * Updates the particles in the slot range [from, to).
+     *
+     * @param from First slot (inclusive).
+     * @param to Last slot (exclusive).
+     * @param delta Time delta.
+     */
+    void update( int from, int to, double delta ) {
+
+        for ( int i = from; i < to; i++ ) {
+
+            prevX[i] = posX[i];
+            prevY[i] = posY[i];
+            posX[i] += velX[i] * delta;
+            posY[i] += velY[i] * delta;
+
+            velX[i] = velX[i] * friction[i];
+            velY[i] = velY[i] * friction[i] + ParticlesExample.GRAVITY;
+
+            if ( velY[i] > MAX_FALL_SPEED ) {
+                velY[i] = MAX_FALL_SPEED;
+            }
+
+            age[i] += delta;
+
+        }
+
+    }
+
+    /**
+     * Updates the particles in the slot range [from, to), splitting the
+     * range in chunks over the common fork-join pool. Each particle is
+     * integrated by the same code as the serial update, so the results
+     * are identical to it.
+     *
+     * @param from First slot (inclusive).
+     * @param to Last slot (exclusive).
+     * @param delta Time delta.
+     */
+    void updateParallel( int from, int to, double delta ) {
+        if ( to - from <= PARALLEL_THRESHOLD ) {
+            update( from, to, delta );
+        } else {
+            ForkJoinPool.commonPool().invoke( new UpdateTask( from, to, delta ) );
+        }
+    }
+
+    /**
+     * Draws the particles in the slot range [from, to).
+     *
+     * @param from First slot (inclusive).
+     * @param to Last slot (exclusive).
+     * @param engine EngineFrame.
+     */
+    void draw( int from, int to, EngineFrame engine ) {
+
+        for ( int i = from; i < to; i++ ) {
+            // neighbour slots usually share the same color, so the
+            // last one is reused instead of creating one per particle
+            if ( lastColor == null || lastColor.getRGB() != color[i] ) {
+                lastColor = new Color( color[i], true );
+            }
+            engine.fillCircle( posX[i], posY[i], radius[i], lastColor );
+        }
+
+    }
+
+    /**
+     * Checks whether a particle has collided with a rectangle.
+     * Same test as CollisionUtils.checkCollisionCircleRectangle, but
+     * reading the center directly from the arrays.
+     *
+     * @param i Slot index.
+     * @param rec The rectangle.
+     * @return True if the particle has collided with the rectangle, false otherwise.
+     */
+    boolean checkCollisionRectangle( int i, Rectangle rec ) {
+
+        double halfWidth = rec.width / 2.0;
+        double halfHeight = rec.height / 2.0;
+        double r = radius[i];
+
+        double dx = Math.abs( posX[i] - ( rec.x + halfWidth ) );
+        double dy = Math.abs( posY[i] - ( rec.y + halfHeight ) );
+
+        if ( dx > ( halfWidth + r ) ) {
+            return false;
+        }
+        if ( dy > ( halfHeight + r ) ) {
+            return false;
+        }
+
+        if ( dx <= halfWidth ) {
+            return true;
+        }
+        if ( dy <= halfHeight ) {
+            return true;
+        }
+
+        double cornerDistanceSq = ( dx - halfWidth ) * ( dx - halfWidth ) +
+                                  ( dy - halfHeight ) * ( dy - halfHeight );
+
+        return cornerDistanceSq <= ( r * r );
+
+    }
+
+    /**
+     * Finds when a particle, moving in a straight line from its previous
+     * position to the current one, first touches a rectangle (swept circle
+     * test). The circle touches the rectangle when its center enters the
+     * rectangle expanded by the radius with rounded corners, so the
+     * movement is tested against the expanded sides and then, if it enters
+     * through a corner, against the circle of that corner.
+     *
+     * @param i Slot index.
+     * @param rec The rectangle.
+     * @return The fraction of the movement, in [0, 1], when the particle
+     * first touches the rectangle, or -1 if it does not touch it while
+     * moving or was already touching it at the previous position.
+     */
+    double sweepRectangle( int i, Rectangle rec ) {
+
+        double r = radius[i];
+        double x0 = prevX[i];
+        double y0 = prevY[i];
+        double dx = posX[i] - x0;
+        double dy = posY[i] - y0;
+
+        double tMin = Double.NEGATIVE_INFINITY;
+        double tMax = Double.POSITIVE_INFINITY;
+
+        if ( dx == 0 ) {
+            if ( x0 < rec.x - r || x0 > rec.x + rec.width + r ) {
+                return -1;
+            }
+        } else {
+            double t1 = ( rec.x - r - x0 ) / dx;
+            double t2 = ( rec.x + rec.width + r - x0 ) / dx;
+            tMin = Math.max( tMin, Math.min( t1, t2 ) );
+            tMax = Math.min( tMax, Math.max( t1, t2 ) );
+        }
+
+        if ( dy == 0 ) {
+            if ( y0 < rec.y - r || y0 > rec.y + rec.height + r ) {
+                return -1;
+            }
+        } else {
+            double t1 = ( rec.y - r - y0 ) / dy;
+            double t2 = ( rec.y + rec.height + r - y0 ) / dy;
+            tMin = Math.max( tMin, Math.min( t1, t2 ) );
+            tMax = Math.min( tMax, Math.max( t1, t2 ) );
+        }
+
+        if ( tMin > tMax || tMin > 1 || tMax < 0 ) {
+            return -1;
+        }
+
+        // where the center enters the expanded rectangle, or the previous
+        // position if it was already inside it
+        double t = Math.max( tMin, 0 );
+        double hx = x0 + dx * t;
+        double hy = y0 + dy * t;
+
+        boolean outsideX = hx < rec.x || hx > rec.x + rec.width;
+        boolean outsideY = hy < rec.y || hy > rec.y + rec.height;
+
+        if ( !outsideX || !outsideY ) {
+            return tMin < 0 ? -1 : tMin;
+        }
+
+        // entered through a corner: the circle of the corner is the
+        // only part that can be touched
+        double cx = hx < rec.x ? rec.x : rec.x + rec.width;
+        double cy = hy < rec.y ? rec.y : rec.y + rec.height;
+
+        double fx = x0 - cx;
+        double fy = y0 - cy;
+        double a = dx * dx + dy * dy;
+        double b = fx * dx + fy * dy;
+        double c = fx * fx + fy * fy - r * r;
+
+        if ( c <= 0 || a == 0 ) {
+            return -1;
+        }
+
+        double discriminant = b * b - a * c;
+        if ( discriminant < 0 ) {
+            return -1;
+        }
+
+        double tc = ( -b - Math.sqrt( discriminant ) ) / a;
+        return tc < 0 || tc > 1 ? -1 : tc;
+
+    }
+
+    /**
+     * Fork-join task that updates a slot range, halving it until it is
+     * below the parallel threshold.
+     */
+    private class UpdateTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final double delta;
+
+        UpdateTask( int from, int to, double delta ) {
+            this.from = from;
+            this.to = to;
+            this.delta = delta;
+        }
+
+        @Override
+        protected void compute() {
+            if ( to - from <= PARALLEL_THRESHOLD ) {
+                update( from, to, delta );
+            } else {
+                int mid = ( from + to ) >>> 1;
+                invokeAll( new UpdateTask( from, mid, delta ), new UpdateTask( mid, to, delta ) );
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.particles;
+
+import java.util.SplittableRandom;
+
+/**
+ * A reusable distribution of scalar values sampled when emitting particles.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+@FunctionalInterface
+public interface ParticleDistribution {
+    
+    /**
+     * Samples a value.
+     *
+     * @param random The random number generator.
+     * @return The sampled value.
+     */
+    public double sample( SplittableRandom random );
+    
+    /**
+     * Creates a distribution that always returns the same value.
+     *
+     * @param value The value.
+     * @return The distribution.
+     */
+    public static ParticleDistribution constant( double value ) {
+        return ( SplittableRandom random ) -> value;
+    }
+    
+    /**
+     * Creates a uniform distribution over [min, max).
+     *
+     * @param min Minimum value (inclusive).
+     * @param max Maximum value (exclusive).
+     * @return The distribution.
+     */
+    public static ParticleDistribution uniform( double min, double max ) {
+        
+        if ( max < min ) {
+            throw new IllegalArgumentException( "max must be greater than or equal to min!" );
+        }
+        
+        if ( max == min ) {
+            return constant( min );
+        }
+        
+        return ( SplittableRandom random ) -> random.nextDouble( min, max );
+        
+    }
+    
+    /**
+     * Creates a normal (gaussian) distribution.
+     *
+     * @param mean Mean.
+     * @param stdDev Standard deviation.
+     * @return The distribution.
+     */
+    public static ParticleDistribution normal( double mean, double stdDev ) {
+        return ( SplittableRandom random ) -> random.nextGaussian( mean, stdDev );
+    }
+    
+}
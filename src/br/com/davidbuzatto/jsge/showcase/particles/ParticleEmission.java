@@ -0,0 +1,72 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.particles;
+
+/**
+ * Reusable description of how an emitter creates its particles.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ParticleEmission {
+    
+    /** velocity distribution */
+    public ParticleVelocity velocity;
+    
+    /** radius distribution */
+    public ParticleDistribution radius;
+    
+    /** starting hue */
+    public double startHue;
+    
+    /** ending hue */
+    public double endHue;
+    
+    /** lifetime of the particles, in seconds */
+    public double lifetime;
+    
+    /**
+     * Creates a particle emission.
+     *
+     * @param velocity Velocity distribution.
+     * @param radius Radius distribution.
+     * @param startHue Starting hue. The color is interpolated up to the
+     * ending hue following the emitter hue angle.
+     * @param endHue Ending hue.
+     */
+    public ParticleEmission( ParticleVelocity velocity, ParticleDistribution radius, double startHue, double endHue ) {
+        this( velocity, radius, startHue, endHue, Double.POSITIVE_INFINITY );
+    }
+    
+    /**
+     * Creates a particle emission.
+     *
+     * @param velocity Velocity distribution.
+     * @param radius Radius distribution.
+     * @param startHue Starting hue. The color is interpolated up to the
+     * ending hue following the emitter hue angle.
+     * @param endHue Ending hue.
+     * @param lifetime Lifetime of the particles, in seconds.
+     */
+    public ParticleEmission( ParticleVelocity velocity, ParticleDistribution radius, double startHue, double endHue, double lifetime ) {
+        this.velocity = velocity;
+        this.radius = radius;
+        this.startHue = startHue;
+        this.endHue = endHue;
+        this.lifetime = lifetime;
+    }
+    
+}
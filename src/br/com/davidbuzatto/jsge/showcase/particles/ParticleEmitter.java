@@ -18,10 +18,11 @@ package br.com.davidbuzatto.jsge.showcase.particles;
 
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
 import br.com.davidbuzatto.jsge.core.utils.ColorUtils;
+import br.com.davidbuzatto.jsge.geom.Rectangle;
 import br.com.davidbuzatto.jsge.math.Vector2;
-import br.com.davidbuzatto.jsge.collision.CollisionUtils;
 import br.com.davidbuzatto.jsge.math.MathUtils;
 import java.awt.Color;
+import java.util.SplittableRandom;
 
 /**
  * A particle emitter.
@@ -63,17 +64,26 @@ public class ParticleEmitter {
     /** whether the mouse is over it */
     public boolean mouseOver;
 
-    /** position of a new particle */
+    /** slot overwritten by a new particle when the buffer is full */
     public int newParticlePos;
 
-    /** particle count */
+    /** live particle count; live particles are kept in [0, particleQuantity) */
     public int particleQuantity;
 
     /** particles */
-    public Particle[] particles;
+    public ParticleBuffer particles;
+
+    /** whether the particles are updated in parallel */
+    public boolean parallel;
+
+    /** whether fast particles are collided along their movement */
+    public boolean continuous;
     
     private double xOffset;
     private double yOffset;
+    private int[] obstacleCandidates;
+    private final SplittableRandom random = new SplittableRandom();
+    private final double[] sampledVel = new double[2];
     
     private static final double PE_RANDOM_MULTIPLIER = 1000.0;
     
@@ -101,7 +111,7 @@ public class ParticleEmitter {
         this.draggable = draggable;
         this.newParticlePos = 0;
         this.particleQuantity = 0;
-        this.particles = new Particle[maxParticles];
+        this.particles = new ParticleBuffer( maxParticles );
     }
     
     /**
@@ -116,10 +126,25 @@ public class ParticleEmitter {
             engine.drawCircle(pos, radius, EngineFrame.RAYWHITE );
         }
 
-        for ( int i = 0; i < particleQuantity; i++ ) {
-            particles[i].draw( engine );
+        particles.draw( 0, particleQuantity, engine );
+
+    }
+    
+    /**
+     * Draws the emitter, rasterizing the particles with a batched renderer.
+     *
+     * @param engine The engine.
+     * @param renderer The renderer, already prepared to the current frame.
+     */
+    public void draw( EngineFrame engine, ParticleRenderer renderer ) {
+
+        if ( draggable && mouseOver ) {
+            engine.fillCircle(pos, radius, ColorUtils.fade(EngineFrame.RAYWHITE, 0.5 ) );    
+            engine.drawCircle(pos, radius, EngineFrame.RAYWHITE );
         }
 
+        renderer.render( particles, 0, particleQuantity );
+
     }
 
     /**
@@ -128,6 +153,16 @@ public class ParticleEmitter {
      * @param engine The engine.
      */
     public void updateMoveSin( double delta, EngineFrame engine ) {
+        updateMoveSin( delta, engine.getScreenWidth() );
+    }
+
+    /**
+     * Updates the position using sine and the angle, without depending
+     * on an engine window.
+     * @param delta Time delta.
+     * @param screenWidth Width of the area the emitter bounces in.
+     */
+    public void updateMoveSin( double delta, double screenWidth ) {
 
         pos.x += vel.x * delta;
         pos.y += vel.y * Math.sin( Math.toRadians( posAngle ) ) * delta;
@@ -141,13 +176,11 @@ public class ParticleEmitter {
 
         if ( pos.x < 40.0f ) {
             vel.x *= -1.0f;
-        } else if ( pos.x >= engine.getScreenWidth() - 40.0f ) {
+        } else if ( pos.x >= screenWidth - 40.0f ) {
             vel.x *= -1.0f;
         }
 
-        for ( int i = 0; i < particleQuantity; i++ ) {
-            particles[i].update( delta );
-        }
+        updateParticles( delta );
 
     }
 
@@ -159,11 +192,16 @@ public class ParticleEmitter {
     public void updateStatic( double delta ) {
 
         updateHueAngleBouncing( delta );
+        updateParticles( delta );
 
-        for ( int i = 0; i < particleQuantity; i++ ) {
-            particles[i].update( delta );
-        }
+    }
 
+    private void updateParticles( double delta ) {
+        if ( parallel ) {
+            particles.updateParallel( 0, particleQuantity, delta );
+        } else {
+            particles.update( 0, particleQuantity, delta );
+        }
     }
 
     /**
@@ -194,22 +232,81 @@ public class ParticleEmitter {
      * @param color Color.
      */
     public void emitParticle( Vector2 pos, Vector2 vel, double radius, Color color ) {
+        emitParticle( pos.x, pos.y, vel.x, vel.y, radius, color.getRGB() );
+    }
 
-        int k = newParticlePos % particles.length;
+    /**
+     * Emits a particle that lives until it leaves the screen.
+     *
+     * @param x x coordinate of the position.
+     * @param y y coordinate of the position.
+     * @param velX x component of the velocity.
+     * @param velY y component of the velocity.
+     * @param radius Radius.
+     * @param color Packed ARGB color.
+     */
+    public void emitParticle( double x, double y, double velX, double velY, double radius, int color ) {
+        emitParticle( x, y, velX, velY, radius, color, Double.POSITIVE_INFINITY );
+    }
 
-        particles[k] = new Particle( 
-            new Vector2( pos.x, pos.y ), 
-            vel,
-            radius,
-            0.99,
-            0.9,
-            color
-        );
+    /**
+     * Emits a particle. The particle is appended after the live ones and,
+     * when the buffer is full, the slots are overwritten in round-robin order.
+     *
+     * @param x x coordinate of the position.
+     * @param y y coordinate of the position.
+     * @param velX x component of the velocity.
+     * @param velY y component of the velocity.
+     * @param radius Radius.
+     * @param color Packed ARGB color.
+     * @param lifetime Lifetime, in seconds.
+     */
+    public void emitParticle( double x, double y, double velX, double velY, double radius, int color, double lifetime ) {
+
+        int k;
+
+        if ( particleQuantity < particles.capacity() ) {
+            k = particleQuantity++;
+        } else {
+            k = newParticlePos;
+            newParticlePos = ( newParticlePos + 1 ) % particles.capacity();
+        }
+
+        particles.set( k, x, y, velX, velY, radius, 0.99, 0.9, color, lifetime );
+
+    }
+    
+    /**
+     * Removes the particles that are dead or that left the screen, moving
+     * the last live particle into each freed slot. Particles above the top
+     * of the screen are kept, since the gravity brings them back.
+     *
+     * @param screenWidth Screen width.
+     * @param screenHeight Screen height.
+     */
+    public void cullParticles( double screenWidth, double screenHeight ) {
+
+        ParticleBuffer p = particles;
+        int i = 0;
 
-        newParticlePos++;
+        while ( i < particleQuantity ) {
+
+            double r = p.radius[i];
+
+            if ( p.age[i] >= p.lifetime[i] || 
+                 p.posX[i] + r < 0 || 
+                 p.posX[i] - r > screenWidth || 
+                 p.posY[i] - r > screenHeight ) {
+                particleQuantity--;
+                p.copy( particleQuantity, i );
+            } else {
+                i++;
+            }
 
-        if ( particleQuantity < particles.length ) {
-            particleQuantity++;
+        }
+
+        if ( newParticlePos >= particleQuantity ) {
+            newParticlePos = 0;
         }
 
     }
@@ -224,7 +321,7 @@ public class ParticleEmitter {
      * @param endHue Ending hue.
      */
     public void emitParticleColorInterval( Vector2 vel, double minRadius, double maxRadius, double startHue, double endHue ) {
-        emitParticlePositionColorInterval( pos, vel, minRadius, maxRadius, startHue, endHue );
+        emitParticlePositionColorInterval( pos.x, pos.y, vel.x, vel.y, minRadius, maxRadius, startHue, endHue );
     }
 
     /**
@@ -238,18 +335,68 @@ public class ParticleEmitter {
      * @param endHue Ending hue.
      */
     public void emitParticlePositionColorInterval( Vector2 pos, Vector2 vel, double minRadius, double maxRadius, double startHue, double endHue ) {
+        emitParticlePositionColorInterval( pos.x, pos.y, vel.x, vel.y, minRadius, maxRadius, startHue, endHue );
+    }
+
+    private void emitParticlePositionColorInterval( double x, double y, double velX, double velY, double minRadius, double maxRadius, double startHue, double endHue ) {
         emitParticle( 
-            pos, 
-            vel, 
+            x, y, 
+            velX, velY, 
             MathUtils.getRandomValue( (int) (minRadius * PE_RANDOM_MULTIPLIER), (int) (maxRadius * PE_RANDOM_MULTIPLIER) ) / PE_RANDOM_MULTIPLIER,
-            ColorUtils.colorFromHSV( 
-                MathUtils.lerp( startHue, endHue, hueAngle / 360.0f ), 
+            Color.HSBtoRGB( 
+                (float) ( MathUtils.lerp( startHue, endHue, hueAngle / 360.0f ) / 360.0 ), 
                 1.0f, 
                 1.0f
             )
         );
     }
 
+    /**
+     * Emits particles at the emitter position.
+     *
+     * @param emission How the particles are created.
+     * @param quantity How many particles to emit.
+     */
+    public void emit( ParticleEmission emission, int quantity ) {
+        emit( pos.x, pos.y, emission, quantity );
+    }
+
+    /**
+     * Emits particles at a position.
+     *
+     * @param pos Position.
+     * @param emission How the particles are created.
+     * @param quantity How many particles to emit.
+     */
+    public void emit( Vector2 pos, ParticleEmission emission, int quantity ) {
+        emit( pos.x, pos.y, emission, quantity );
+    }
+
+    /**
+     * Emits particles at a position. Values are sampled from the emitter
+     * random number generator and no object is created per particle.
+     *
+     * @param x x coordinate of the position.
+     * @param y y coordinate of the position.
+     * @param emission How the particles are created.
+     * @param quantity How many particles to emit.
+     */
+    public void emit( double x, double y, ParticleEmission emission, int quantity ) {
+
+        // the hue angle does not change during an emission
+        int color = Color.HSBtoRGB( 
+            (float) ( MathUtils.lerp( emission.startHue, emission.endHue, hueAngle / 360.0f ) / 360.0 ), 
+            1.0f, 
+            1.0f
+        );
+
+        for ( int i = 0; i < quantity; i++ ) {
+            emission.velocity.sample( random, launchAngle, sampledVel );
+            emitParticle( x, y, sampledVel[0], sampledVel[1], emission.radius.sample( random ), color, emission.lifetime );
+        }
+
+    }
+
     /**
      * Checks whether the mouse position is over the emitter.
      *
@@ -291,12 +438,10 @@ public class ParticleEmitter {
         int quantity ) {
 
         for ( int i = 0; i < quantity; i++ ) {
-            emitParticleColorInterval( 
-                createVel( 
-                    MathUtils.getRandomValue( (int) (minVelX * PE_RANDOM_MULTIPLIER), (int) (maxVelX * PE_RANDOM_MULTIPLIER) ) / PE_RANDOM_MULTIPLIER, 
-                    MathUtils.getRandomValue( (int) (minVelY * PE_RANDOM_MULTIPLIER), (int) (maxVelY * PE_RANDOM_MULTIPLIER) ) / PE_RANDOM_MULTIPLIER, 
-                    randomSignX, randomSignY
-                ),
+            emitParticlePositionColorInterval( 
+                this.pos.x, this.pos.y,
+                MathUtils.getRandomValue( (int) (minVelX * PE_RANDOM_MULTIPLIER), (int) (maxVelX * PE_RANDOM_MULTIPLIER) ) / PE_RANDOM_MULTIPLIER * randomSign( randomSignX ), 
+                MathUtils.getRandomValue( (int) (minVelY * PE_RANDOM_MULTIPLIER), (int) (maxVelY * PE_RANDOM_MULTIPLIER) ) / PE_RANDOM_MULTIPLIER * randomSign( randomSignY ), 
                 minRadius, maxRadius,
                 startHue, endHue
             );
@@ -331,12 +476,9 @@ public class ParticleEmitter {
 
         for ( int i = 0; i < quantity; i++ ) {
             emitParticlePositionColorInterval( 
-                pos,
-                createVel( 
-                    MathUtils.getRandomValue( (int) (minVelX * PE_RANDOM_MULTIPLIER), (int) (maxVelX * PE_RANDOM_MULTIPLIER) ) / PE_RANDOM_MULTIPLIER, 
-                    MathUtils.getRandomValue( (int) (minVelY * PE_RANDOM_MULTIPLIER), (int) (maxVelY * PE_RANDOM_MULTIPLIER) ) / PE_RANDOM_MULTIPLIER, 
-                    randomSignX, randomSignY
-                ),
+                pos.x, pos.y,
+                MathUtils.getRandomValue( (int) (minVelX * PE_RANDOM_MULTIPLIER), (int) (maxVelX * PE_RANDOM_MULTIPLIER) ) / PE_RANDOM_MULTIPLIER * randomSign( randomSignX ), 
+                MathUtils.getRandomValue( (int) (minVelY * PE_RANDOM_MULTIPLIER), (int) (maxVelY * PE_RANDOM_MULTIPLIER) ) / PE_RANDOM_MULTIPLIER * randomSign( randomSignY ), 
                 minRadius, maxRadius,
                 startHue, endHue
             );
@@ -377,12 +519,10 @@ public class ParticleEmitter {
                 }
             }
 
-            emitParticleColorInterval( 
-                createVel( 
-                    rVel * Math.sin( Math.toRadians( launchAngle + launAngleOffset ) ), 
-                    rVel * Math.cos( Math.toRadians( launchAngle + launAngleOffset ) ), 
-                    false, false
-                ),
+            emitParticlePositionColorInterval( 
+                this.pos.x, this.pos.y,
+                rVel * Math.sin( Math.toRadians( launchAngle + launAngleOffset ) ), 
+                rVel * Math.cos( Math.toRadians( launchAngle + launAngleOffset ) ), 
                 minRadius, maxRadius,
                 startHue, endHue
             );
@@ -426,12 +566,9 @@ public class ParticleEmitter {
             }
 
             emitParticlePositionColorInterval( 
-                pos,
-                createVel( 
-                    rVel * Math.sin( Math.toRadians( launchAngle + launAngleOffset ) ), 
-                    rVel * Math.cos( Math.toRadians( launchAngle + launAngleOffset ) ), 
-                    false, false
-                ),
+                pos.x, pos.y,
+                rVel * Math.sin( Math.toRadians( launchAngle + launAngleOffset ) ), 
+                rVel * Math.cos( Math.toRadians( launchAngle + launAngleOffset ) ), 
                 minRadius, maxRadius,
                 startHue, endHue
             );
@@ -439,16 +576,8 @@ public class ParticleEmitter {
 
     }
     
-    private Vector2 createVel( double velX, double velY, boolean randomSignX, boolean randomSignY ) {
-
-        double multX = randomSignX ? ( MathUtils.getRandomValue( 0, 1 ) == 0 ? 1.0 : -1.0 ) : 1.0;
-        double multY = randomSignY ? ( MathUtils.getRandomValue( 0, 1 ) == 0 ? 1.0 : -1.0 ) : 1.0;
-
-        return new Vector2(
-            velX * multX,
-            velY * multY
-        );
-
+    private double randomSign( boolean randomSign ) {
+        return randomSign ? ( MathUtils.getRandomValue( 0, 1 ) == 0 ? 1.0 : -1.0 ) : 1.0;
     }
     
     /**
@@ -501,29 +630,136 @@ public class ParticleEmitter {
      */
     public void resolveParticlesObstaclesCollision( Obstacle[] obstacles, int obstacleQuantity ) {        
 
+        for ( int i = 0; i < particleQuantity; i++ ) {
+            for ( int j = 0; j < obstacleQuantity; j++ ) {
+                resolveParticleObstacleCollision( i, obstacles[j] );
+            }
+        }
+
+    }
+    
+    /**
+     * Resolves the collision of the particles with the obstacles, testing
+     * each particle only against the obstacles registered in the grid cells
+     * it touches.
+     * 
+     * When continuous is set, a particle that moved more than its radius
+     * in the last update could have passed through an obstacle without
+     * ever overlapping it, so it is swept from its previous position
+     * against the obstacles along the way and stopped at the first one it
+     * touches. Slower particles always overlap what they run into and keep
+     * the cheaper overlap test.
+     * 
+     * @param obstacles The obstacles.
+     * @param grid Grid with the obstacle slots.
+     */
+    public void resolveParticlesObstaclesCollision( Obstacle[] obstacles, ObstacleGrid grid ) {
+
+        if ( obstacleCandidates == null || obstacleCandidates.length < grid.capacity() ) {
+            obstacleCandidates = new int[grid.capacity()];
+        }
+
+        ParticleBuffer p = particles;
+        int[] candidates = obstacleCandidates;
+
         for ( int i = 0; i < particleQuantity; i++ ) {
 
-            Particle p = particles[i];
+            double r = p.radius[i];
+            double x = p.posX[i];
+            double y = p.posY[i];
+            double dx = x - p.prevX[i];
+            double dy = y - p.prevY[i];
+            int count;
+
+            if ( continuous && dx * dx + dy * dy > r * r ) {
+
+                double x0 = p.prevX[i];
+                double y0 = p.prevY[i];
+                count = grid.query( 
+                    Math.min( x0, x ) - r, Math.min( y0, y ) - r, 
+                    Math.max( x0, x ) + r, Math.max( y0, y ) + r, 
+                    candidates );
+
+                int first = -1;
+                double firstTime = 2;
+
+                for ( int j = 0; j < count; j++ ) {
+                    double t = p.sweepRectangle( i, obstacles[candidates[j]].rect );
+                    if ( t >= 0 && t < firstTime ) {
+                        first = candidates[j];
+                        firstTime = t;
+                    }
+                }
 
-            for ( int j = 0; j < obstacleQuantity; j++ ) {
-                Obstacle o = obstacles[j];
-                if ( CollisionUtils.checkCollisionCircleRectangle( p.pos, p.radius, o.topCP ) ) {
-                    p.vel.y = -200.f;
-                    p.vel.y *= p.elasticity;
-                } else if ( CollisionUtils.checkCollisionCircleRectangle( p.pos, p.radius, o.bottomCP ) ) {
-                    p.pos.y = o.rect.y + o.rect.height + p.radius;
-                    p.vel.y *= p.elasticity;
-                } else if ( CollisionUtils.checkCollisionCircleRectangle( p.pos, p.radius, o.leftCP ) ) {
-                    p.pos.x = o.rect.x - p.radius;
-                    p.vel.x = -Math.abs( p.vel.x );
-                    p.vel.x *= p.elasticity;
-                } else if ( CollisionUtils.checkCollisionCircleRectangle( p.pos, p.radius, o.rightCP ) ) {
-                    p.pos.x = o.rect.x + o.rect.width + p.radius;
-                    p.vel.x = Math.abs( p.vel.x );
-                    p.vel.x *= p.elasticity;
+                if ( first >= 0 ) {
+                    resolveParticleObstacleImpact( i, obstacles[first], firstTime );
+                    continue;
                 }
+
+            } else {
+                count = grid.query( x - r, y - r, x + r, y + r, candidates );
             }
 
+            for ( int j = 0; j < count; j++ ) {
+                resolveParticleObstacleCollision( i, obstacles[candidates[j]] );
+            }
+
+        }
+
+    }
+    
+    private void resolveParticleObstacleCollision( int i, Obstacle o ) {
+
+        ParticleBuffer p = particles;
+
+        if ( p.checkCollisionRectangle( i, o.topCP ) ) {
+            p.velY[i] = -200.f;
+            p.velY[i] *= p.elasticity[i];
+        } else if ( p.checkCollisionRectangle( i, o.bottomCP ) ) {
+            p.posY[i] = o.rect.y + o.rect.height + p.radius[i];
+            p.velY[i] *= p.elasticity[i];
+        } else if ( p.checkCollisionRectangle( i, o.leftCP ) ) {
+            p.posX[i] = o.rect.x - p.radius[i];
+            p.velX[i] = -Math.abs( p.velX[i] );
+            p.velX[i] *= p.elasticity[i];
+        } else if ( p.checkCollisionRectangle( i, o.rightCP ) ) {
+            p.posX[i] = o.rect.x + o.rect.width + p.radius[i];
+            p.velX[i] = Math.abs( p.velX[i] );
+            p.velX[i] *= p.elasticity[i];
+        }
+
+    }
+    
+    /**
+     * Moves a particle back to where it first touched an obstacle and
+     * bounces it like the overlap test does for the side it touched.
+     */
+    private void resolveParticleObstacleImpact( int i, Obstacle o, double time ) {
+
+        ParticleBuffer p = particles;
+        Rectangle rec = o.rect;
+
+        p.posX[i] = p.prevX[i] + ( p.posX[i] - p.prevX[i] ) * time;
+        p.posY[i] = p.prevY[i] + ( p.posY[i] - p.prevY[i] ) * time;
+
+        // from the closest point of the rectangle to the center
+        double nx = p.posX[i] - Math.max( rec.x, Math.min( p.posX[i], rec.x + rec.width ) );
+        double ny = p.posY[i] - Math.max( rec.y, Math.min( p.posY[i], rec.y + rec.height ) );
+
+        if ( Math.abs( ny ) >= Math.abs( nx ) ) {
+            if ( ny <= 0 ) {
+                p.velY[i] = -200.f;
+                p.velY[i] *= p.elasticity[i];
+            } else {
+                p.velY[i] = Math.abs( p.velY[i] );
+                p.velY[i] *= p.elasticity[i];
+            }
+        } else if ( nx < 0 ) {
+            p.velX[i] = -Math.abs( p.velX[i] );
+            p.velX[i] *= p.elasticity[i];
+        } else {
+            p.velX[i] = Math.abs( p.velX[i] );
+            p.velX[i] *= p.elasticity[i];
         }
 
     }
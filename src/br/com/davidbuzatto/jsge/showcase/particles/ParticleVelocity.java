@@ -0,0 +1,94 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.particles;
+
+import java.util.SplittableRandom;
+
+/**
+ * A reusable distribution of particle velocities.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+@FunctionalInterface
+public interface ParticleVelocity {
+    
+    /**
+     * Samples a velocity.
+     *
+     * @param random The random number generator.
+     * @param launchAngle Launch angle of the emitter, in degrees.
+     * @param vel Destination of the velocity: x component at index 0 and
+     * y component at index 1.
+     */
+    public void sample( SplittableRandom random, double launchAngle, double[] vel );
+    
+    /**
+     * Creates a velocity with independent components.
+     *
+     * @param velX Distribution of the x component.
+     * @param velY Distribution of the y component.
+     * @param randomSignX Whether the sign of the x component is random.
+     * @param randomSignY Whether the sign of the y component is random.
+     * @return The velocity distribution.
+     */
+    public static ParticleVelocity box( 
+        ParticleDistribution velX, ParticleDistribution velY,
+        boolean randomSignX, boolean randomSignY ) {
+        
+        return ( SplittableRandom random, double launchAngle, double[] vel ) -> {
+            vel[0] = velX.sample( random );
+            vel[1] = velY.sample( random );
+            if ( randomSignX && random.nextBoolean() ) {
+                vel[0] = -vel[0];
+            }
+            if ( randomSignY && random.nextBoolean() ) {
+                vel[1] = -vel[1];
+            }
+        };
+        
+    }
+    
+    /**
+     * Creates a velocity in polar form, relative to the emitter launch angle.
+     *
+     * @param speed Distribution of the speed.
+     * @param angleOffset Distribution of the offset to the launch angle, in degrees.
+     * @return The velocity distribution.
+     */
+    public static ParticleVelocity polar( ParticleDistribution speed, ParticleDistribution angleOffset ) {
+        
+        return ( SplittableRandom random, double launchAngle, double[] vel ) -> {
+            double s = speed.sample( random );
+            double angle = launchAngle + angleOffset.sample( random );
+            vel[0] = s * SinCosTable.sin( angle );
+            vel[1] = s * SinCosTable.cos( angle );
+        };
+        
+    }
+    
+    /**
+     * Creates a velocity inside a cone centered at the emitter launch angle.
+     *
+     * @param speed Distribution of the speed.
+     * @param halfAngle Half of the cone aperture, in degrees.
+     * @return The velocity distribution.
+     */
+    public static ParticleVelocity cone( ParticleDistribution speed, double halfAngle ) {
+        return polar( speed, ParticleDistribution.uniform( -halfAngle, halfAngle ) );
+    }
+    
+}
@@ -17,10 +17,7 @@
 package br.com.davidbuzatto.jsge.showcase.particles;
 
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
-import br.com.davidbuzatto.jsge.geom.Rectangle;
 import br.com.davidbuzatto.jsge.math.Vector2;
-import java.util.ArrayList;
-import java.util.List;
 
 /**
  * Example of particle generation.
@@ -35,20 +32,11 @@ public class ParticlesExample extends EngineFrame {
      */
     public static final double GRAVITY = 50;
     
-    private ParticleEmitter peMoveSin;
-    private ParticleEmitter peMouseDown;
-    private ParticleEmitter peStaticRight;
-    private ParticleEmitter peStaticTop;
-    private List<ParticleEmitter> emitters;
-
-    private int newObstaclePos;
-    private int obstacleQuantity;
-    private int maxObstacles;
-    private Obstacle[] obstacles;
+    private ParticlesSimulation sim;
     
-    private double timeToNextObstacle = 0.1;
-    private double nextObstacleCounter = 0.0;
     private boolean showInfo = true;
+    private boolean batchedRendering;
+    private double particlesDrawTime;
     
     /**
      * Creates the example.
@@ -59,62 +47,8 @@ public class ParticlesExample extends EngineFrame {
     
     @Override
     public void create() {
-        
-        peMoveSin = new ParticleEmitter( 
-            new Vector2( 40.0, 40.0 ),
-            new Vector2( 150.0, 100.0 ),
-            0.0,
-            200.0,
-            200.0,
-            0.0,
-            false,
-            1000
-        );
-
-        peMouseDown = new ParticleEmitter(
-            new Vector2(),
-            new Vector2(),
-            0.0,
-            0.0,
-            200.0,
-            0.0,
-            false,
-            1000
-        );
-
-        peStaticRight = new ParticleEmitter( 
-            new Vector2( 40.0, getScreenHeight() / 2 ),
-            new Vector2(),
-            90.0,
-            0.0,
-            200.0,
-            10.0,
-            true,
-            1000
-        );
-
-        peStaticTop = new ParticleEmitter(
-            new Vector2( getScreenWidth() * 0.75, getScreenHeight() - 40 ),
-            new Vector2(),
-            180.0,
-            0.0,
-            200.0,
-            10.0,
-            true,
-            1000
-        );
-        
-        emitters = new ArrayList<>();
-        emitters.add( peMoveSin );
-        emitters.add( peMouseDown );
-        emitters.add( peStaticRight );
-        emitters.add( peStaticTop );
-
-        newObstaclePos = 0;
-        obstacleQuantity = 0;
-        maxObstacles = 400;
-        obstacles = new Obstacle[400];
-    
+        sim = new ParticlesSimulation();
+        sim.create( getScreenWidth(), getScreenHeight() );
     }
     
     @Override
@@ -122,52 +56,17 @@ public class ParticlesExample extends EngineFrame {
         
         Vector2 mousePos = getMousePositionPoint();
 
-        boolean d1 = peStaticRight.resolveParticleEmitterMouseOperations( this );
-        boolean d2 = peStaticTop.resolveParticleEmitterMouseOperations( this );
+        boolean d1 = sim.peStaticRight.resolveParticleEmitterMouseOperations( this );
+        boolean d2 = sim.peStaticTop.resolveParticleEmitterMouseOperations( this );
 
-        peMoveSin.emitParticleColorIntervalQuantity( 
-            0, 150,
-            50, 50,
-            true, false,
-            2, 6,
-            180.0, 240.0,
-            5
-        );
+        sim.emit();
 
         if ( !d1 && !d2 && isMouseButtonDown( MOUSE_BUTTON_LEFT ) ) {
-            peMouseDown.emitParticlePolarPositionColorIntervalQuantity( 
-                mousePos,
-                100, 200,
-                0, 200, true,
-                2, 6,
-                0.0, 60.0,
-                5
-            );
+            sim.emitMouse( mousePos );
         }
 
-        peStaticRight.emitParticlePolarColorIntervalQuantity( 
-            300, 500,
-            0, 20, true,
-            2, 6,
-            75.0, 165.0, 
-            5
-        );
-
-        peStaticTop.emitParticlePolarColorIntervalQuantity( 
-            400, 1000,
-            0, 8, true,
-            1, 3,
-            270.0, 330.0, 
-            5
-        );
-
-        peMoveSin.updateMoveSin( delta, this );
-        peMouseDown.updateStatic( delta );
-        peStaticRight.updateStatic( delta );
-        peStaticTop.updateStatic( delta );
-
         if ( isMouseButtonDown( MOUSE_BUTTON_RIGHT ) ) {
-            createObstacle( delta, mousePos );
+            sim.createObstacle( delta, mousePos.x, mousePos.y );
         }
 
         if ( isKeyPressed( KEY_F1 ) ) {
@@ -175,13 +74,27 @@ public class ParticlesExample extends EngineFrame {
         }
 
         if ( isKeyPressed( KEY_F2 ) ) {
-            resetObstacles();
+            sim.resetObstacles();
+        }
+
+        if ( isKeyPressed( KEY_F3 ) ) {
+            sim.setParallel( !sim.parallel );
+        }
+
+        if ( isKeyPressed( KEY_F4 ) ) {
+            sim.maxParticlesOption = ( sim.maxParticlesOption + 1 ) % ParticlesSimulation.MAX_PARTICLES_OPTIONS.length;
+            sim.createEmitters( ParticlesSimulation.MAX_PARTICLES_OPTIONS[sim.maxParticlesOption] );
+        }
+
+        if ( isKeyPressed( KEY_F5 ) ) {
+            batchedRendering = !batchedRendering;
+        }
+
+        if ( isKeyPressed( KEY_F6 ) ) {
+            sim.setContinuous( !sim.continuous );
         }
 
-        peMoveSin.resolveParticlesObstaclesCollision( obstacles, obstacleQuantity );
-        peMouseDown.resolveParticlesObstaclesCollision( obstacles, obstacleQuantity );
-        peStaticRight.resolveParticlesObstaclesCollision( obstacles, obstacleQuantity );
-        peStaticTop.resolveParticlesObstaclesCollision( obstacles, obstacleQuantity );
+        sim.updateParticles( delta );
         
     }
     
@@ -191,62 +104,47 @@ public class ParticlesExample extends EngineFrame {
         clearBackground( BLACK );
         setFontStyle( FONT_BOLD );
 
-        peMoveSin.draw( this );
-        peMouseDown.draw( this );
-        peStaticRight.draw( this );
-        peStaticTop.draw( this );
+        long drawStart = System.nanoTime();
+        if ( batchedRendering ) {
+            sim.particleRenderer.begin( getScreenWidth(), getScreenHeight() );
+            for ( ParticleEmitter pe : sim.emitters ) {
+                pe.draw( this, sim.particleRenderer );
+            }
+            sim.particleRenderer.end( this );
+        } else {
+            for ( ParticleEmitter pe : sim.emitters ) {
+                pe.draw( this );
+            }
+        }
+        particlesDrawTime = ( System.nanoTime() - drawStart ) / 1000000.0;
 
-        for ( int i = 0; i < obstacleQuantity; i++ ) {
-            obstacles[i].draw( this );
+        for ( int i = 0; i < sim.obstacleQuantity; i++ ) {
+            sim.obstacles[i].draw( this );
         }
 
         if ( showInfo ) {
             drawFPS( 20, 20 );
             int y = 20;
-            drawText( String.format( "particles (moving): %d", peMoveSin.particleQuantity ), 20, y += 20, 20, WHITE );
-            drawText( String.format( "particles (mouse): %d", peMouseDown.particleQuantity ), 20, y += 20, 20, WHITE );
-            drawText( String.format( "particles (static left): %d", peStaticRight.particleQuantity ), 20, y += 20, 20, WHITE );
-            drawText( String.format( "particles (static right): %d", peStaticTop.particleQuantity ), 20, y += 20, 20, WHITE );
-            drawText( String.format( "obstacles: %d", obstacleQuantity ), 20, (y += 20), 20, WHITE );
+            drawText( String.format( "particles (moving): %d", sim.peMoveSin.particleQuantity ), 20, y += 20, 20, WHITE );
+            drawText( String.format( "particles (mouse): %d", sim.peMouseDown.particleQuantity ), 20, y += 20, 20, WHITE );
+            drawText( String.format( "particles (static left): %d", sim.peStaticRight.particleQuantity ), 20, y += 20, 20, WHITE );
+            drawText( String.format( "particles (static right): %d", sim.peStaticTop.particleQuantity ), 20, y += 20, 20, WHITE );
+            drawText( String.format( "obstacles: %d", sim.obstacleQuantity ), 20, (y += 20), 20, WHITE );
+            drawText( String.format( "max particles per emitter: %d", ParticlesSimulation.MAX_PARTICLES_OPTIONS[sim.maxParticlesOption] ), 20, (y += 20), 20, WHITE );
+            drawText( String.format( "particles update (%s): %.3f ms", sim.parallel ? "parallel" : "serial", sim.particlesUpdateTime ), 20, (y += 20), 20, WHITE );
+            drawText( String.format( "particles draw (%s): %.3f ms", batchedRendering ? "batched" : "shapes", particlesDrawTime ), 20, (y += 20), 20, WHITE );
+            drawText( String.format( "obstacle collision: %s", sim.continuous ? "continuous" : "overlap" ), 20, (y += 20), 20, WHITE );
+            drawText( String.format( "frame time: %.3f ms", getFrameTime() * 1000.0 ), 20, (y += 20), 20, WHITE );
             drawText( "<F1>: show/hide this info", 20, (y += 20), 20, WHITE );
             drawText( "<F2>: reset obstacles", 20, (y += 20), 20, WHITE );
+            drawText( "<F3>: toggle serial/parallel update", 20, (y += 20), 20, WHITE );
+            drawText( "<F4>: change max particles", 20, (y += 20), 20, WHITE );
+            drawText( "<F5>: toggle shapes/batched drawing", 20, (y += 20), 20, WHITE );
+            drawText( "<F6>: toggle continuous/overlap collision", 20, (y += 20), 20, WHITE );
         }
 
     }
     
-    private void createObstacle( double delta, Vector2 pos ) {
-
-        nextObstacleCounter += delta;
-
-        if ( nextObstacleCounter >= timeToNextObstacle ) {
-
-            nextObstacleCounter = 0;
-
-            int k = newObstaclePos % maxObstacles;
-
-            pos.x -= 10.0;
-            pos.y -= 10.0;
-
-            obstacles[k] = new Obstacle( 
-                new Rectangle( pos.x, pos.y, 20, 20 ),
-                RAYWHITE
-            );
-
-            newObstaclePos++;
-
-            if ( obstacleQuantity < maxObstacles ) {
-                obstacleQuantity++;
-            }
-
-        }
-
-    }
-    
-    private void resetObstacles() {
-        newObstaclePos = 0;
-        obstacleQuantity = 0;
-    }
-
     /**
      * Runs the example.
      * @param args Arguments.
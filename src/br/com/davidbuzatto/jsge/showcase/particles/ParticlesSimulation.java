@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.particles;
+
+import br.com.davidbuzatto.jsge.geom.Rectangle;
+import br.com.davidbuzatto.jsge.image.Image;
+import br.com.davidbuzatto.jsge.math.Vector2;
+import br.com.davidbuzatto.jsge.showcase.headless.HeadlessColors;
+import br.com.davidbuzatto.jsge.showcase.headless.HeadlessSimulation;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Simulation state of the particles example: emitters, obstacles and the
+ * per frame emission, update, culling and collision.
+ * Several parts of the component code are intentionally left unencapsulated.
+ *
+ * ParticlesExample drives it from the user input. When run headless, the
+ * mouse emitter follows a fixed path and obstacles are created along it.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class ParticlesSimulation implements HeadlessSimulation {
+    
+    /** Emitter capacities that can be chosen. */
+    public static final int[] MAX_PARTICLES_OPTIONS = { 1000, 10000, 100000, 1000000 };
+    
+    /** moving emitter */
+    public ParticleEmitter peMoveSin;
+    
+    /** emitter driven by the mouse */
+    public ParticleEmitter peMouseDown;
+    
+    /** static emitter, at the left */
+    public ParticleEmitter peStaticRight;
+    
+    /** static emitter, at the bottom */
+    public ParticleEmitter peStaticTop;
+    
+    /** all the emitters */
+    public List<ParticleEmitter> emitters;
+    
+    private ParticleEmission moveSinEmission;
+    private ParticleEmission mouseDownEmission;
+    private ParticleEmission staticRightEmission;
+    private ParticleEmission staticTopEmission;
+    
+    /** next obstacle slot */
+    public int newObstaclePos;
+    
+    /** number of obstacles */
+    public int obstacleQuantity;
+    
+    /** maximum number of obstacles */
+    public int maxObstacles;
+    
+    /** obstacles, in a ring buffer */
+    public Obstacle[] obstacles;
+    
+    /** obstacle broadphase */
+    public ObstacleGrid obstacleGrid;
+    
+    private double timeToNextObstacle = 0.1;
+    private double nextObstacleCounter = 0.0;
+    
+    /** selected option of MAX_PARTICLES_OPTIONS */
+    public int maxParticlesOption;
+    
+    /** particles emitted by each emitter per frame */
+    public int particlesPerFrame;
+    
+    /** whether the particles are updated in parallel */
+    public boolean parallel;
+    
+    /** whether fast particles are collided along their movement */
+    public boolean continuous;
+    
+    /** time spent updating the particles in the last frame, in milliseconds */
+    public double particlesUpdateTime;
+    
+    /** batched renderer */
+    public ParticleRenderer particleRenderer;
+    
+    private int screenWidth;
+    private int screenHeight;
+    
+    // headless mouse path
+    private double time;
+    private final Vector2 pathPos = new Vector2();
+    
+    @Override
+    public void create( int width, int height ) {
+        
+        screenWidth = width;
+        screenHeight = height;
+        
+        maxParticlesOption = 0;
+        continuous = true;
+        createEmitters( MAX_PARTICLES_OPTIONS[maxParticlesOption] );
+        
+        moveSinEmission = new ParticleEmission(
+            ParticleVelocity.box( 
+                ParticleDistribution.uniform( 0, 150 ), 
+                ParticleDistribution.constant( 50 ), 
+                true, false
+            ),
+            ParticleDistribution.uniform( 2, 6 ),
+            180.0, 240.0
+        );
+        
+        mouseDownEmission = new ParticleEmission(
+            ParticleVelocity.cone( ParticleDistribution.uniform( 100, 200 ), 200 ),
+            ParticleDistribution.uniform( 2, 6 ),
+            0.0, 60.0,
+            4.0
+        );
+        
+        staticRightEmission = new ParticleEmission(
+            ParticleVelocity.cone( ParticleDistribution.uniform( 300, 500 ), 20 ),
+            ParticleDistribution.uniform( 2, 6 ),
+            75.0, 165.0
+        );
+        
+        staticTopEmission = new ParticleEmission(
+            ParticleVelocity.cone( ParticleDistribution.uniform( 400, 1000 ), 8 ),
+            ParticleDistribution.uniform( 1, 3 ),
+            270.0, 330.0
+        );
+
+        newObstaclePos = 0;
+        obstacleQuantity = 0;
+        maxObstacles = 400;
+        obstacles = new Obstacle[400];
+        obstacleGrid = new ObstacleGrid( 40, 1024, maxObstacles );
+        
+        particleRenderer = new ParticleRenderer();
+        
+    }
+    
+    /**
+     * Creates the emitters, discarding the current particles.
+     *
+     * @param maxParticles Maximum number of particles of each emitter.
+     */
+    public void createEmitters( int maxParticles ) {
+        
+        // the emission rate grows with the capacity so the larger
+        // buffers are filled in a few seconds
+        particlesPerFrame = Math.max( 5, maxParticles / 200 );
+        
+        peMoveSin = new ParticleEmitter( 
+            new Vector2( 40.0, 40.0 ),
+            new Vector2( 150.0, 100.0 ),
+            0.0,
+            200.0,
+            200.0,
+            0.0,
+            false,
+            maxParticles
+        );
+
+        peMouseDown = new ParticleEmitter(
+            new Vector2(),
+            new Vector2(),
+            0.0,
+            0.0,
+            200.0,
+            0.0,
+            false,
+            maxParticles
+        );
+
+        peStaticRight = new ParticleEmitter( 
+            new Vector2( 40.0, screenHeight / 2 ),
+            new Vector2(),
+            90.0,
+            0.0,
+            200.0,
+            10.0,
+            true,
+            maxParticles
+        );
+
+        peStaticTop = new ParticleEmitter(
+            new Vector2( screenWidth * 0.75, screenHeight - 40 ),
+            new Vector2(),
+            180.0,
+            0.0,
+            200.0,
+            10.0,
+            true,
+            maxParticles
+        );
+        
+        emitters = new ArrayList<>();
+        emitters.add( peMoveSin );
+        emitters.add( peMouseDown );
+        emitters.add( peStaticRight );
+        emitters.add( peStaticTop );
+        
+        for ( ParticleEmitter pe : emitters ) {
+            pe.parallel = parallel;
+            pe.continuous = continuous;
+        }
+        
+    }
+    
+    /**
+     * Recreates the emitters with the given capacity.
+     *
+     * @param size Maximum number of particles of each emitter.
+     */
+    @Override
+    public void setWorkload( int size ) {
+        createEmitters( size );
+    }
+    
+    /**
+     * Changes how the particles are updated.
+     *
+     * @param parallel Whether the particles are updated in parallel.
+     */
+    public void setParallel( boolean parallel ) {
+        this.parallel = parallel;
+        for ( ParticleEmitter pe : emitters ) {
+            pe.parallel = parallel;
+        }
+    }
+    
+    /**
+     * Changes how the particles are collided with the obstacles.
+     *
+     * @param continuous Whether fast particles are collided along their
+     * movement, so they can not pass through obstacles between updates.
+     */
+    public void setContinuous( boolean continuous ) {
+        this.continuous = continuous;
+        for ( ParticleEmitter pe : emitters ) {
+            pe.continuous = continuous;
+        }
+    }
+    
+    /**
+     * Emits the particles of the emitters that are not driven by the mouse.
+     */
+    public void emit() {
+        peMoveSin.emit( moveSinEmission, particlesPerFrame );
+        peStaticRight.emit( staticRightEmission, particlesPerFrame );
+        peStaticTop.emit( staticTopEmission, particlesPerFrame );
+    }
+    
+    /**
+     * Emits the particles of the mouse emitter.
+     *
+     * @param pos Position of the emission.
+     */
+    public void emitMouse( Vector2 pos ) {
+        peMouseDown.emit( pos, mouseDownEmission, particlesPerFrame );
+    }
+    
+    /**
+     * Updates, culls and collides the particles of every emitter.
+     *
+     * @param delta Time delta.
+     */
+    public void updateParticles( double delta ) {
+        
+        long updateStart = System.nanoTime();
+        peMoveSin.updateMoveSin( delta, screenWidth );
+        peMouseDown.updateStatic( delta );
+        peStaticRight.updateStatic( delta );
+        peStaticTop.updateStatic( delta );
+        particlesUpdateTime = ( System.nanoTime() - updateStart ) / 1000000.0;
+        
+        for ( ParticleEmitter pe : emitters ) {
+            pe.cullParticles( screenWidth, screenHeight );
+        }
+        
+        for ( ParticleEmitter pe : emitters ) {
+            pe.resolveParticlesObstaclesCollision( obstacles, obstacleGrid );
+        }
+        
+    }
+    
+    /**
+     * Creates an obstacle centered at a position, respecting the interval
+     * between obstacles.
+     *
+     * @param delta Time delta.
+     * @param x x coordinate of the center.
+     * @param y y coordinate of the center.
+     */
+    public void createObstacle( double delta, double x, double y ) {
+
+        nextObstacleCounter += delta;
+
+        if ( nextObstacleCounter >= timeToNextObstacle ) {
+
+            nextObstacleCounter = 0;
+
+            int k = newObstaclePos % maxObstacles;
+
+            // the ring buffer is overwriting the oldest obstacle
+            if ( obstacleQuantity == maxObstacles ) {
+                obstacleGrid.remove( k, obstacles[k].rect );
+            }
+
+            obstacles[k] = new Obstacle( 
+                new Rectangle( x - 10.0, y - 10.0, 20, 20 ),
+                HeadlessColors.RAYWHITE
+            );
+            obstacleGrid.insert( k, obstacles[k].rect );
+
+            newObstaclePos++;
+
+            if ( obstacleQuantity < maxObstacles ) {
+                obstacleQuantity++;
+            }
+
+        }
+
+    }
+    
+    /**
+     * Removes every obstacle.
+     */
+    public void resetObstacles() {
+        newObstaclePos = 0;
+        obstacleQuantity = 0;
+        obstacleGrid.clear();
+    }
+    
+    @Override
+    public void update( double delta ) {
+        
+        // stands in for the mouse, going back and forth over the screen
+        time += delta;
+        pathPos.x = screenWidth * ( 0.5 + 0.4 * Math.sin( time * 0.5 ) );
+        pathPos.y = screenHeight * ( 0.5 + 0.2 * Math.sin( time * 1.3 ) );
+        
+        emit();
+        emitMouse( pathPos );
+        updateParticles( delta );
+        createObstacle( delta, pathPos.x, pathPos.y + 60 );
+        
+    }
+    
+    @Override
+    public void draw( Image image ) {
+        
+        image.clearBackground( HeadlessColors.BLACK );
+        
+        particleRenderer.begin( screenWidth, screenHeight );
+        for ( ParticleEmitter pe : emitters ) {
+            particleRenderer.render( pe.particles, 0, pe.particleQuantity );
+        }
+        particleRenderer.end( image );
+        
+        for ( int i = 0; i < obstacleQuantity; i++ ) {
+            Rectangle r = obstacles[i].rect;
+            image.fillRectangle( r.x, r.y, r.width, r.height, obstacles[i].color );
+        }
+        
+    }
+    
+}
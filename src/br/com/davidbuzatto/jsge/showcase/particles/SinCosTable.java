@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.particles;
+
+/**
+ * Precomputed sine and cosine of angles in degrees, with a resolution of
+ * a tenth of degree.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public final class SinCosTable {
+    
+    private static final int STEPS_PER_DEGREE = 10;
+    private static final int SIZE = 360 * STEPS_PER_DEGREE;
+    private static final double[] SIN = new double[SIZE];
+    private static final double[] COS = new double[SIZE];
+    
+    static {
+        for ( int i = 0; i < SIZE; i++ ) {
+            double rad = Math.toRadians( (double) i / STEPS_PER_DEGREE );
+            SIN[i] = Math.sin( rad );
+            COS[i] = Math.cos( rad );
+        }
+    }
+    
+    private SinCosTable() {
+    }
+    
+    /**
+     * Returns the sine of an angle.
+     *
+     * @param degrees The angle, in degrees.
+     * @return The sine of the angle.
+     */
+    public static double sin( double degrees ) {
+        return SIN[index( degrees )];
+    }
+    
+    /**
+     * Returns the cosine of an angle.
+     *
+     * @param degrees The angle, in degrees.
+     * @return The cosine of the angle.
+     */
+    public static double cos( double degrees ) {
+        return COS[index( degrees )];
+    }
+    
+    private static int index( double degrees ) {
+        return Math.floorMod( (int) Math.round( degrees * STEPS_PER_DEGREE ), SIZE );
+    }
+    
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.turtle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An L-system over ASCII symbols: an axiom and a table of rules indexed by
+ * symbol. Symbols without a rule are kept as they are in every generation.
+ *
+ * The productions are expanded into byte arrays. The length of each
+ * generation is computed from the rules beforehand, so a production is
+ * allocated once with its exact size and written depth first, without
+ * building the intermediate generations. The expansions of each symbol
+ * that fit in a small block are kept and copied as a whole.
+ *
+ * A generation can also be read symbol by symbol through a Cursor, which
+ * expands the rules on demand and only keeps one position per generation.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class LSystem {
+    
+    private static final int SYMBOLS = 128;
+    
+    /** Largest expansion of a symbol kept as a block, in bytes. */
+    private static final int BLOCK_SIZE = 4096;
+    
+    private final byte[] axiom;
+    private final byte[][] rules;
+    
+    // lengths.get( g )[s]: length of symbol s after g generations
+    private final List<long[]> lengths;
+    
+    // blocks.get( g )[s]: symbol s after g generations, while it is short
+    private final List<byte[][]> blocks;
+    
+    /**
+     * Creates an L-system without rules.
+     *
+     * @param axiom The axiom, made of ASCII symbols.
+     */
+    public LSystem( String axiom ) {
+        this.axiom = toBytes( axiom );
+        this.rules = new byte[SYMBOLS][];
+        this.lengths = new ArrayList<>();
+        this.blocks = new ArrayList<>();
+    }
+    
+    /**
+     * Sets the rule of a symbol. An empty replacement removes the symbol
+     * from the next generation.
+     *
+     * @param symbol The symbol, an ASCII character.
+     * @param replacement What the symbol is replaced by in the next
+     * generation.
+     */
+    public void setRule( char symbol, String replacement ) {
+        rules[checkSymbol( symbol )] = toBytes( replacement );
+        lengths.clear();
+        blocks.clear();
+    }
+    
+    /**
+     * Returns the number of symbols of a generation.
+     *
+     * @param generation The generation. The axiom is generation 0.
+     * @return The number of symbols.
+     */
+    public long getLength( int generation ) {
+        
+        if ( generation < 0 ) {
+            throw new IllegalArgumentException( "generation must be non negative" );
+        }
+        
+        long length = 0;
+        for ( byte s : axiom ) {
+            length = saturatedAdd( length, lengthsOf( generation )[s] );
+        }
+        
+        return length;
+        
+    }
+    
+    /**
+     * Expands a generation.
+     *
+     * @param generation The generation. The axiom is generation 0.
+     * @return The production, one byte per symbol.
+     * @throws IllegalArgumentException If the production does not fit in
+     * an array.
+     */
+    public byte[] expand( int generation ) {
+        
+        long length = getLength( generation );
+        if ( length > Integer.MAX_VALUE - 8 ) {
+            throw new IllegalArgumentException( 
+                String.format( "generation %d has %d symbols, too many for an array", generation, length ) );
+        }
+        
+        byte[] production = new byte[(int) length];
+        int pos = 0;
+        for ( byte s : axiom ) {
+            pos = write( s, generation, production, pos );
+        }
+        
+        return production;
+        
+    }
+    
+    /**
+     * Creates a cursor over the symbols of a generation. Nothing is
+     * expanded beforehand.
+     *
+     * @param generation The generation. The axiom is generation 0.
+     * @return The cursor, at the first symbol.
+     */
+    public Cursor cursor( int generation ) {
+        if ( generation < 0 ) {
+            throw new IllegalArgumentException( "generation must be non negative" );
+        }
+        return new Cursor( generation );
+    }
+    
+    /**
+     * Returns the axiom.
+     *
+     * @return The axiom.
+     */
+    public String getAxiom() {
+        return new String( axiom );
+    }
+    
+    /**
+     * Returns the rule of a symbol.
+     *
+     * @param symbol The symbol.
+     * @return The replacement of the symbol, or null if it has no rule.
+     */
+    public String getRule( char symbol ) {
+        byte[] rule = rules[checkSymbol( symbol )];
+        return rule != null ? new String( rule ) : null;
+    }
+    
+    /**
+     * Returns a description of the axiom and the rules, equal for
+     * L-systems that produce the same generations, to be used in keys.
+     *
+     * @return The axiom followed by each rule, as symbol=replacement.
+     */
+    public String getSignature() {
+        StringBuilder sb = new StringBuilder( new String( axiom ) );
+        for ( int s = 0; s < SYMBOLS; s++ ) {
+            if ( rules[s] != null ) {
+                sb.append( ';' ).append( (char) s ).append( '=' ).append( new String( rules[s] ) );
+            }
+        }
+        return sb.toString();
+    }
+    
+    /**
+     * Writes a symbol expanded by some generations.
+     */
+    private int write( byte symbol, int depth, byte[] out, int pos ) {
+        
+        byte[] rule = rules[symbol];
+        
+        if ( depth == 0 || rule == null ) {
+            out[pos] = symbol;
+            return pos + 1;
+        }
+        
+        byte[] block = blockOf( depth, symbol );
+        if ( block != null ) {
+            System.arraycopy( block, 0, out, pos, block.length );
+            return pos + block.length;
+        }
+        
+        for ( byte s : rule ) {
+            pos = write( s, depth - 1, out, pos );
+        }
+        
+        return pos;
+        
+    }
+    
+    private byte[] blockOf( int depth, byte symbol ) {
+        
+        while ( blocks.size() <= depth ) {
+            blocks.add( new byte[SYMBOLS][] );
+        }
+        
+        byte[][] level = blocks.get( depth );
+        byte[] block = level[symbol];
+        
+        if ( block == null ) {
+            long length = lengthsOf( depth )[symbol];
+            if ( length > BLOCK_SIZE ) {
+                return null;
+            }
+            block = new byte[(int) length];
+            int pos = 0;
+            for ( byte s : rules[symbol] ) {
+                pos = write( s, depth - 1, block, pos );
+            }
+            level[symbol] = block;
+        }
+        
+        return block;
+        
+    }
+    
+    private long[] lengthsOf( int generation ) {
+        
+        if ( lengths.isEmpty() ) {
+            long[] first = new long[SYMBOLS];
+            Arrays.fill( first, 1 );
+            lengths.add( first );
+        }
+        
+        while ( lengths.size() <= generation ) {
+            long[] previous = lengths.get( lengths.size() - 1 );
+            long[] next = new long[SYMBOLS];
+            for ( int s = 0; s < SYMBOLS; s++ ) {
+                if ( rules[s] == null ) {
+                    next[s] = 1;
+                } else {
+                    long length = 0;
+                    for ( byte r : rules[s] ) {
+                        length = saturatedAdd( length, previous[r] );
+                    }
+                    next[s] = length;
+                }
+            }
+            lengths.add( next );
+        }
+        
+        return lengths.get( generation );
+        
+    }
+    
+    private static long saturatedAdd( long a, long b ) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+    
+    private static int checkSymbol( char symbol ) {
+        if ( symbol >= SYMBOLS ) {
+            throw new IllegalArgumentException( "symbols must be ASCII characters: " + symbol );
+        }
+        return symbol;
+    }
+    
+    private static byte[] toBytes( String s ) {
+        byte[] bytes = new byte[s.length()];
+        for ( int i = 0; i < bytes.length; i++ ) {
+            bytes[i] = (byte) checkSymbol( s.charAt( i ) );
+        }
+        return bytes;
+    }
+    
+    /**
+     * Reads the symbols of a generation in order, expanding the rules as
+     * it goes. The state is a stack with the rule being read, and the
+     * position in it, for each generation, so the memory does not depend
+     * on the length of the production.
+     *
+     * The rules must not change while a cursor is in use. Since a cursor
+     * only reads the axiom and the rules, it can be used by another thread
+     * than the one that created it.
+     */
+    public class Cursor {
+        
+        private final int generation;
+        private final byte[][] strings;
+        private final int[] positions;
+        private int top;
+        private long read;
+        
+        private Cursor( int generation ) {
+            this.generation = generation;
+            this.strings = new byte[generation + 1][];
+            this.positions = new int[generation + 1];
+            strings[0] = axiom;
+        }
+        
+        /**
+         * Reads the next symbol.
+         *
+         * @return The symbol, or -1 after the last one.
+         */
+        public int next() {
+            
+            while ( top >= 0 ) {
+                
+                byte[] string = strings[top];
+                
+                if ( positions[top] == string.length ) {
+                    top--;
+                    continue;
+                }
+                
+                byte s = string[positions[top]++];
+                byte[] rule = rules[s];
+                
+                // the symbols of the top level are in the last generation
+                if ( top == generation || rule == null ) {
+                    read++;
+                    return s;
+                }
+                
+                top++;
+                strings[top] = rule;
+                positions[top] = 0;
+                
+            }
+            
+            return -1;
+            
+        }
+        
+        /**
+         * Returns the generation read by this cursor.
+         *
+         * @return The generation.
+         */
+        public int getGeneration() {
+            return generation;
+        }
+        
+        /**
+         * Returns the L-system read by this cursor.
+         *
+         * @return The L-system.
+         */
+        public LSystem getLSystem() {
+            return LSystem.this;
+        }
+        
+        /**
+         * Returns how many symbols were read.
+         *
+         * @return The number of symbols read.
+         */
+        public long getSymbolsRead() {
+            return read;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.turtle;
+
+import br.com.davidbuzatto.jsge.math.MathUtils;
+import java.util.Arrays;
+
+/**
+ * A turtle driven by the symbols of an L-system generation, read from a
+ * cursor only as they are needed, so the production is never stored. The
+ * segments it draws are added to a TurtlePath.
+ *
+ * The symbols are the usual ones:
+ * <ul>
+ * <li>F: moves forward, drawing;</li>
+ * <li>+ and -: rotate by the angle, clockwise and counterclockwise;</li>
+ * <li>[ and ]: save and restore the position and heading;</li>
+ * <li>a digit: repeats the next F, + or - that many times;</li>
+ * <li>anything else: nothing.</li>
+ * </ul>
+ *
+ * The movement is the one of Turtle: headings in degrees, -90 pointing
+ * up.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class LSystemTurtle {
+    
+    private final LSystem.Cursor cursor;
+    private final TurtlePath path;
+    private final double length;
+    private final double angle;
+    
+    private double x;
+    private double y;
+    private double heading;
+    
+    // x, y and heading of each saved state
+    private double[] states;
+    private int stateCount;
+    
+    private int repeats;
+    private boolean finished;
+    
+    /**
+     * Creates the turtle. Nothing is read until it is advanced.
+     *
+     * @param cursor Cursor over the generation to draw.
+     * @param path Receives the segments.
+     * @param x X coordinate of the start.
+     * @param y Y coordinate of the start.
+     * @param heading Start heading, in degrees.
+     * @param length Distance moved by each F.
+     * @param angle Rotation of each + or -, in degrees.
+     */
+    public LSystemTurtle( LSystem.Cursor cursor, TurtlePath path, double x, double y, double heading, double length, double angle ) {
+        this.cursor = cursor;
+        this.path = path;
+        this.x = x;
+        this.y = y;
+        this.heading = heading;
+        this.length = length;
+        this.angle = angle;
+        this.states = new double[3 * 16];
+        this.repeats = 1;
+    }
+    
+    /**
+     * Reads and interprets some symbols.
+     *
+     * @param symbols Maximum number of symbols to read.
+     * @return Whether there are symbols left.
+     */
+    public boolean advance( int symbols ) {
+        
+        for ( int i = 0; i < symbols && !finished; i++ ) {
+            int symbol = cursor.next();
+            if ( symbol < 0 ) {
+                finished = true;
+            } else {
+                interpret( symbol );
+            }
+        }
+        
+        return !finished;
+        
+    }
+    
+    /**
+     * Reads and interprets the whole generation.
+     */
+    public void advanceToEnd() {
+        while ( advance( Integer.MAX_VALUE ) ) {
+        }
+    }
+    
+    private void interpret( int symbol ) {
+        switch ( symbol ) {
+            case 'F':
+                for ( int j = 0; j < repeats; j++ ) {
+                    double nx = x + length * Math.cos( heading * MathUtils.DEG2RAD );
+                    double ny = y + length * Math.sin( heading * MathUtils.DEG2RAD );
+                    path.addSegment( x, y, nx, ny );
+                    x = nx;
+                    y = ny;
+                }
+                repeats = 1;
+                break;
+            case '+':
+                heading += angle * repeats;
+                repeats = 1;
+                break;
+            case '-':
+                heading -= angle * repeats;
+                repeats = 1;
+                break;
+            case '[':
+                if ( stateCount * 3 == states.length ) {
+                    states = Arrays.copyOf( states, states.length * 2 );
+                }
+                states[stateCount * 3] = x;
+                states[stateCount * 3 + 1] = y;
+                states[stateCount * 3 + 2] = heading;
+                stateCount++;
+                break;
+            case ']':
+                if ( stateCount > 0 ) {
+                    stateCount--;
+                    x = states[stateCount * 3];
+                    y = states[stateCount * 3 + 1];
+                    heading = states[stateCount * 3 + 2];
+                }
+                break;
+            default:
+                if ( symbol >= '0' && symbol <= '9' ) {
+                    repeats = symbol - '0';
+                }
+                break;
+        }
+    }
+    
+    /**
+     * Returns whether every symbol of the generation was read.
+     *
+     * @return Whether the generation ended.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+    
+    /**
+     * Returns how many symbols were read.
+     *
+     * @return The number of symbols read.
+     */
+    public long getSymbolsRead() {
+        return cursor.getSymbolsRead();
+    }
+    
+    /**
+     * Returns the path with the segments drawn so far.
+     *
+     * @return The path.
+     */
+    public TurtlePath getPath() {
+        return path;
+    }
+    
+}
@@ -19,21 +19,55 @@ package br.com.davidbuzatto.jsge.showcase.turtle;
 import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
 import br.com.davidbuzatto.jsge.core.utils.ColorUtils;
 import br.com.davidbuzatto.jsge.math.MathUtils;
-import br.com.davidbuzatto.jsge.turtle.Turtle;
+import java.awt.Color;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.nio.file.Path;
 
 /**
  * Turtle Graphics example for drawing an L-System that generates Penrose
  * patterns.
+ * 
+ * The productions are read symbol by symbol from LSystem, without being
+ * expanded, and interpreted into a compact TurtlePath in a background
+ * thread by TurtlePathGenerator. The segments are drawn as they are
+ * built, and the thread only builds a bounded number of segments ahead of
+ * the ones revealed, so large generations do not take the memory of their
+ * whole path; changing the generation cancels the one being built.
+ *
+ * The built paths are kept in memory by a TurtlePathCache, so going back
+ * to a generation does not build it again. They are also saved in a
+ * directory, so reopening the example does not build them either, only
+ * when one is given with -Djsge.lsystem.cache=directory: the files are not
+ * limited in size, and the largest generations take tens of megabytes.
+ *
+ * The path is drawn by a TurtlePathRenderer, which keeps the segments
+ * already revealed in an image and only draws the new ones each frame.
  *
  * @author Prof. Dr. David Buzatto
  */
 public class PenroseLSystemExample extends EngineFrame {
     
-    private static final int MAX_GENERATIONS = 6;
+    private static final int MAX_GENERATIONS = 10;
+    
+    // generation drawn with the full draw length; each generation halves
+    // the length, so this keeps the size of the figures
+    private static final int SIZE_GENERATIONS = 6;
     private static final int STEPS_STEP = 12;
     private static final double DRAW_LENGTH = 650;
+    private static final double THETA = 36;
+    private static final double PEN_WIDTH = 2;
+    private static final Color PEN_COLOR = ColorUtils.fade( BLACK, 0.2 );
+    private static final long CACHE_BUDGET = 128L << 20;
+    private static final String CACHE_DIRECTORY_PROPERTY = "jsge.lsystem.cache";
+    
+    private LSystem penrose;
+    private TurtlePathGenerator generator;
+    private TurtlePathRenderer renderer;
     
-    private Turtle turtle;
+    // path being drawn, taken from the generator and growing until complete
+    private TurtlePathGenerator.Result pathResult;
+    private TurtlePath path;
     
     private int generations;
     private int steps = 1;
@@ -43,12 +77,31 @@ public class PenroseLSystemExample extends EngineFrame {
      */
     public PenroseLSystemExample() {
         super( 800, 450, "Penrose L-System", 60, true, false, false, false, false, false );
+        addWindowListener( new WindowAdapter() {
+            @Override
+            public void windowClosing( WindowEvent e ) {
+                stopGenerator();
+            }
+            // closing with ESC disposes the window without windowClosing
+            @Override
+            public void windowClosed( WindowEvent e ) {
+                stopGenerator();
+            }
+        });
     }
     
     @Override
     public void create() {
         generations = 1;
-        turtle = createPenroseTurtle( DRAW_LENGTH, generations, 5 );
+        penrose = createPenroseLSystem();
+        generator = new TurtlePathGenerator();
+        String cacheDirectory = System.getProperty( CACHE_DIRECTORY_PROPERTY );
+        generator.setCache( new TurtlePathCache( 
+            CACHE_BUDGET, cacheDirectory != null ? Path.of( cacheDirectory ) : null 
+        ));
+        renderer = new TurtlePathRenderer();
+        path = new TurtlePath( PEN_COLOR, PEN_WIDTH );
+        startPenroseGeneration( DRAW_LENGTH, generations );
     }
     
     @Override
@@ -56,135 +109,89 @@ public class PenroseLSystemExample extends EngineFrame {
         
         if ( isKeyPressed( KEY_UP ) ) {
             if ( generations < MAX_GENERATIONS ) {
-                steps = 1;
                 generations++;
-                turtle = createPenroseTurtle( DRAW_LENGTH, generations, MAX_GENERATIONS );
+                startPenroseGeneration( DRAW_LENGTH, generations );
             }
         } else if ( isKeyPressed( KEY_DOWN ) ) {
             if ( generations > 1 ) {
-                steps = 1;
                 generations--;
-                turtle = createPenroseTurtle( DRAW_LENGTH, generations, MAX_GENERATIONS );
+                startPenroseGeneration( DRAW_LENGTH, generations );
             }
         }
         
-        steps = MathUtils.clamp( steps + STEPS_STEP, 1, turtle.getStepCount() );
+        TurtlePathGenerator.Result result = generator.poll();
+        if ( result != null ) {
+            pathResult = result;
+            path = result.path;
+            steps = 1;
+        }
+        
+        steps = MathUtils.clamp( steps + STEPS_STEP, 1, path.getSegmentCount() );
+        if ( pathResult != null ) {
+            pathResult.request( steps );
+        }
         
     }
     
     @Override
     public void draw() {
         clearBackground( WHITE );
-        turtle.draw( steps, this );
+        renderer.draw( path, steps, this );
+        TurtlePathGenerator.Result result = pathResult;
+        String status;
+        if ( result == null || result.generation != generator.getGeneration() && generator.isBuilding() ) {
+            status = String.format( "building generation %d", generator.getGeneration() );
+        } else if ( !result.isComplete() ) {
+            status = String.format( 
+                "generation %d: %d segments built, %.0f%% of the symbols read", 
+                result.generation, result.path.getSegmentCount(), generator.getProgress() * 100 
+            );
+        } else {
+            status = String.format( 
+                "generation %d: %d segments, %s in %.0f ms", 
+                result.generation, result.path.getSegmentCount(), 
+                result.cached ? "taken from the cache" : "built", result.getBuildTime() 
+            );
+        }
+        drawText( status, 10, getScreenHeight() - 50, 20, BLACK );
         drawText( "Use up and down arrows to change generations" , 10, getScreenHeight() - 25, 20, BLACK );
         drawFPS( 10, 10 );
     }
     
-    private class PenroseLSystem {
-        String production;
-        String ruleW;
-        String ruleX;
-        String ruleY;
-        String ruleZ;
-        double drawLength;
-        double theta;
-    }
-    
-    private PenroseLSystem createPenroseLSystem( double drawLength ) {
+    private LSystem createPenroseLSystem() {
+        
+        LSystem ls = new LSystem( "[X]++[X]++[X]++[X]++[X]" );
+        ls.setRule( 'W', "YF++ZF4-XF[-YF4-WF]++" );
+        ls.setRule( 'X', "+YF--ZF[3-WF--XF]+" );
+        ls.setRule( 'Y', "-WF++XF[+++YF++ZF]-" );
+        ls.setRule( 'Z', "--YF++++WF[+ZF++++XF]--XF" );
+        
+        // F only draws: it is dropped from the next generation, where the
+        // rules add their own segments
+        ls.setRule( 'F', "" );
         
-        PenroseLSystem ls = new PenroseLSystem();
-        ls.production = "[X]++[X]++[X]++[X]++[X]";
-        ls.ruleW = "YF++ZF4-XF[-YF4-WF]++";
-        ls.ruleX = "+YF--ZF[3-WF--XF]+";
-        ls.ruleY = "-WF++XF[+++YF++ZF]-";
-        ls.ruleZ = "--YF++++WF[+ZF++++XF]--XF";
-        ls.drawLength = drawLength;
-        ls.theta = 36;
-
         return ls;
         
     }
     
-    private void buildProductionStep( PenroseLSystem ls ) {
-        
-        String newProduction = "";
-        
-        for ( int i = 0; i < ls.production.length(); i++ ) {
-            char step = ls.production.charAt( i );
-            switch ( step ) {
-                case 'W': newProduction += ls.ruleW; break;
-                case 'X': newProduction += ls.ruleX; break;
-                case 'Y': newProduction += ls.ruleY; break;
-                case 'Z': newProduction += ls.ruleZ; break;
-                default:
-                    if ( step != 'F' ) {
-                        newProduction += step;
-                    }
-                    break;
-            }
+    // the thread of the generator would otherwise wait for requests
+    // forever, keeping the partial path and the cache
+    private void stopGenerator() {
+        if ( generator != null ) {
+            generator.shutdown();
         }
-        
-        ls.drawLength *= 0.5;
-        ls.production = newProduction;
-        
     }
     
-    private Turtle createPenroseTurtle( double drawLength, int generations, int maxGenerations ) {
-        
-        PenroseLSystem ls = createPenroseLSystem( drawLength * ( generations / (double) maxGenerations ) );
+    private void startPenroseGeneration( double drawLength, int generations ) {
         
-        for ( int i = 0; i < generations; i++ ) {
-            buildProductionStep( ls );
-        }
-        
-        Turtle t = new Turtle( getScreenWidth() / 2, getScreenHeight() / 2 );
-        t.setPenColor( ColorUtils.fade( BLACK, 0 ) );
-        t.setPenWidth( 2 );
-        
-        int repeats = 1;
-        
-        for ( int i = 0; i < ls.production.length(); i++ ) {
-            char step = ls.production.charAt( i );
-            switch ( step ) {
-                case 'F':
-                    for ( int j = 0; j < repeats; j++ ) {
-                        t.setPenColor( ColorUtils.fade( BLACK, 0.2 ) );
-                        /*t.setPenColor( 
-                            ColorUtils.fade( 
-                                ColorUtils.colorFromHSV( t.getCurrentState().angle(), 1, 1 ), 0.2
-                            )
-                        );*/
-                        t.forward( ls.drawLength );
-                    }
-                    repeats = 1;
-                    break;
-                case '+':
-                    for ( int j = 0; j < repeats; j++ ) {
-                        t.rotate( ls.theta );
-                    }
-                    repeats = 1;
-                    break;
-                case '-':
-                    for ( int j = 0; j < repeats; j++ ) {
-                        t.rotate( -ls.theta );
-                    }
-                    repeats = 1;
-                    break;
-                case '[':
-                    t.saveState();
-                    break;
-                case ']':
-                    t.restoreStateKeepPath();
-                    break;
-                default:
-                    if ( ( step >= 48 ) && ( step <= 57 ) ){
-                        repeats = (int) step - 48;
-                    }
-                    break;
-            }
-        }
+        // halved for each generation
+        double length = drawLength * ( generations / (double) SIZE_GENERATIONS ) / ( 1 << generations );
         
-        return t;
+        generator.start( 
+            penrose.cursor( generations ), penrose.getLength( generations ), 
+            new TurtlePath( PEN_COLOR, PEN_WIDTH ), 
+            getScreenWidth() / 2, getScreenHeight() / 2, -90, length, THETA 
+        );
         
     }
     
@@ -0,0 +1,333 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.turtle;
+
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.image.Image;
+import java.awt.BasicStroke;
+import java.awt.Graphics2D;
+import java.awt.Paint;
+import java.awt.RenderingHints;
+import java.awt.geom.Line2D;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * The segments drawn by a turtle, stored as coordinates in a float array,
+ * drawn with the same pen.
+ *
+ * A Turtle keeps an object for every step, including rotations and pen
+ * changes, which is too much for the deep generations of an L-system.
+ * Here each segment takes 16 bytes.
+ *
+ * A path can be drawn while another thread builds it: the builder adds
+ * segments and makes them visible with publish, and the readers only see
+ * the published segments. Only one thread may add segments.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class TurtlePath {
+    
+    private final Paint paint;
+    private final BasicStroke stroke;
+    
+    // x1, y1, x2, y2 of each segment; replaced when it grows, keeping the
+    // segments, so readers may use any array they see
+    private volatile float[] coords;
+    
+    // segments added, known by the builder, and segments published
+    private int segmentCount;
+    private volatile int publishedCount;
+    
+    /**
+     * Creates an empty path.
+     *
+     * @param paint Pen paint.
+     * @param width Pen width.
+     */
+    public TurtlePath( Paint paint, double width ) {
+        this( paint, new BasicStroke( (float) width ), new float[64], 0 );
+    }
+    
+    private TurtlePath( Paint paint, BasicStroke stroke, float[] coords, int segmentCount ) {
+        this.paint = paint;
+        this.stroke = stroke;
+        this.coords = coords;
+        this.segmentCount = segmentCount;
+        this.publishedCount = segmentCount;
+    }
+    
+    /**
+     * Adds a segment. It is drawn and counted once published.
+     *
+     * @param x1 X coordinate of the start.
+     * @param y1 Y coordinate of the start.
+     * @param x2 X coordinate of the end.
+     * @param y2 Y coordinate of the end.
+     */
+    public void addSegment( double x1, double y1, double x2, double y2 ) {
+        
+        float[] c = coords;
+        int i = segmentCount * 4;
+        if ( i == c.length ) {
+            c = Arrays.copyOf( c, c.length * 2 );
+            coords = c;
+        }
+        
+        c[i] = (float) x1;
+        c[i + 1] = (float) y1;
+        c[i + 2] = (float) x2;
+        c[i + 3] = (float) y2;
+        segmentCount++;
+        
+    }
+    
+    /**
+     * Makes the segments added so far visible to other threads.
+     */
+    public void publish() {
+        publishedCount = segmentCount;
+    }
+    
+    /**
+     * Releases the spare capacity, once the path is complete, and
+     * publishes every segment.
+     */
+    public void trim() {
+        coords = Arrays.copyOf( coords, segmentCount * 4 );
+        publish();
+    }
+    
+    /**
+     * Draws a range of segments.
+     *
+     * @param from Index of the first segment.
+     * @param until Index after the last segment. Clamped to the number of
+     * published segments.
+     * @param engine The engine used to draw.
+     */
+    public void draw( int from, int until, EngineFrame engine ) {
+        
+        int end = Math.min( until, publishedCount );
+        if ( from >= end ) {
+            return;
+        }
+        float[] coords = this.coords;
+        
+        BasicStroke originalStroke = engine.getStroke();
+        engine.setStroke( stroke );
+        
+        for ( int i = from * 4; i < end * 4; i += 4 ) {
+            engine.drawLine( coords[i], coords[i + 1], coords[i + 2], coords[i + 3], paint );
+        }
+        
+        engine.setStroke( originalStroke );
+        
+    }
+    
+    /**
+     * Draws a range of segments into an image, with a single graphics
+     * context.
+     *
+     * @param from Index of the first segment.
+     * @param until Index after the last segment. Clamped to the number of
+     * published segments.
+     * @param image The image.
+     * @param antialiasing Whether the segments are antialiased.
+     */
+    public void draw( int from, int until, Image image, boolean antialiasing ) {
+        
+        int end = Math.min( until, publishedCount );
+        if ( from >= end ) {
+            return;
+        }
+        float[] coords = this.coords;
+        
+        Graphics2D g2d = image.buffImage.createGraphics();
+        if ( antialiasing ) {
+            g2d.setRenderingHint( RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON );
+        }
+        g2d.setStroke( stroke );
+        g2d.setPaint( paint );
+        
+        Line2D.Float line = new Line2D.Float();
+        for ( int i = from * 4; i < end * 4; i += 4 ) {
+            line.setLine( coords[i], coords[i + 1], coords[i + 2], coords[i + 3] );
+            g2d.draw( line );
+        }
+        
+        g2d.dispose();
+        
+    }
+    
+    /**
+     * Returns this path drawn with the pen of another path. The segments
+     * are shared, so neither path must be extended afterwards.
+     *
+     * @param pen The path whose pen is used.
+     * @return This path, if the pens are equal, or a path with the same
+     * segments and the other pen.
+     */
+    TurtlePath withPenOf( TurtlePath pen ) {
+        if ( paint.equals( pen.paint ) && stroke.equals( pen.stroke ) ) {
+            return this;
+        }
+        return new TurtlePath( pen.paint, pen.stroke, coords, segmentCount );
+    }
+    
+    /**
+     * Writes the segments in a compact binary form. The segments are
+     * grouped in runs of connected segments, where each segment starts at
+     * the end of the previous one, so a run stores its start once and then
+     * only the end of each segment. The lengths of the runs are written
+     * first and then all the points, so both can be read in bulk. The pen
+     * is not written.
+     *
+     * @param out Where the segments are written.
+     * @throws IOException If the segments could not be written.
+     */
+    void write( DataOutput out ) throws IOException {
+        
+        int[] runs = new int[16];
+        int runCount = 0;
+        
+        int i = 0;
+        while ( i < segmentCount ) {
+            int end = i + 1;
+            while ( end < segmentCount 
+                    && coords[end * 4] == coords[end * 4 - 2] 
+                    && coords[end * 4 + 1] == coords[end * 4 - 1] ) {
+                end++;
+            }
+            if ( runCount == runs.length ) {
+                runs = Arrays.copyOf( runs, runs.length * 2 );
+            }
+            runs[runCount++] = end - i;
+            i = end;
+        }
+        
+        out.writeInt( segmentCount );
+        out.writeInt( runCount );
+        for ( int r = 0; r < runCount; r++ ) {
+            out.writeInt( runs[r] );
+        }
+        
+        i = 0;
+        for ( int r = 0; r < runCount; r++ ) {
+            out.writeFloat( coords[i * 4] );
+            out.writeFloat( coords[i * 4 + 1] );
+            for ( int end = i + runs[r]; i < end; i++ ) {
+                out.writeFloat( coords[i * 4 + 2] );
+                out.writeFloat( coords[i * 4 + 3] );
+            }
+        }
+        
+    }
+    
+    /**
+     * Reads the segments written by write.
+     *
+     * @param in Where the segments are read from, big endian, as written
+     * by a DataOutput.
+     * @param pen The path whose pen is used.
+     * @return A path with the segments read and the pen of the other path.
+     * @throws IOException If the segments could not be read.
+     */
+    static TurtlePath read( ByteBuffer in, TurtlePath pen ) throws IOException {
+        
+        if ( in.remaining() < 8 ) {
+            throw new IOException( "truncated segments" );
+        }
+        
+        int segmentCount = in.getInt();
+        int runCount = in.getInt();
+        if ( segmentCount < 0 || runCount < 0 || runCount > segmentCount 
+                || in.remaining() != 4L * runCount + 8L * ( runCount + segmentCount ) ) {
+            throw new IOException( String.format( "invalid segments: %d in %d runs", segmentCount, runCount ) );
+        }
+        
+        int[] runs = new int[runCount];
+        in.asIntBuffer().get( runs );
+        in.position( in.position() + 4 * runCount );
+        
+        float[] points = new float[2 * ( runCount + segmentCount )];
+        in.asFloatBuffer().get( points );
+        
+        float[] coords = new float[segmentCount * 4];
+        int i = 0;
+        int p = 0;
+        for ( int r = 0; r < runCount; r++ ) {
+            if ( runs[r] <= 0 || runs[r] > segmentCount - i ) {
+                throw new IOException( "invalid run length: " + runs[r] );
+            }
+            for ( int end = i + runs[r]; i < end; i++, p += 2 ) {
+                coords[i * 4] = points[p];
+                coords[i * 4 + 1] = points[p + 1];
+                coords[i * 4 + 2] = points[p + 2];
+                coords[i * 4 + 3] = points[p + 3];
+            }
+            p += 2;
+        }
+        
+        if ( i != segmentCount ) {
+            throw new IOException( "runs do not add up to the segment count" );
+        }
+        
+        return new TurtlePath( pen.paint, pen.stroke, coords, segmentCount );
+        
+    }
+    
+    /**
+     * Returns the number of published segments, which grows while the
+     * path is being built.
+     *
+     * @return The number of segments.
+     */
+    public int getSegmentCount() {
+        return publishedCount;
+    }
+    
+    /**
+     * Returns the pen paint.
+     *
+     * @return The pen paint.
+     */
+    public Paint getPaint() {
+        return paint;
+    }
+    
+    /**
+     * Returns the pen stroke.
+     *
+     * @return The pen stroke.
+     */
+    public BasicStroke getStroke() {
+        return stroke;
+    }
+    
+    /**
+     * Returns the memory used by the coordinates.
+     *
+     * @return The size in bytes.
+     */
+    public long getBytes() {
+        return 4L * coords.length;
+    }
+    
+}
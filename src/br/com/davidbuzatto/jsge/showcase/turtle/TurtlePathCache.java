@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.turtle;
+
+import br.com.davidbuzatto.jsge.showcase.cache.LRUCache;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Keeps the paths of L-system generations, so a generation that was
+ * already built is not built again.
+ *
+ * A path is keyed by what defines its segments: the rules, the generation
+ * and the turtle parameters (start, heading, length and angle). The pen is
+ * not part of the key, it is taken from the path being requested. In
+ * memory the paths are kept under a budget, evicting the least recently
+ * used ones. Optionally, they are also saved in a directory in a compact
+ * binary form (see TurtlePath.write), so they outlive the application.
+ *
+ * The memory cache is not thread safe. The files are read and written by
+ * the thread of TurtlePathGenerator.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class TurtlePathCache {
+    
+    private static final int MAGIC = 0x54504154; // TPAT
+    private static final int VERSION = 1;
+    
+    private final LRUCache<String, TurtlePath> paths;
+    private final Path directory;
+    
+    /**
+     * Creates a cache that only keeps paths in memory.
+     *
+     * @param budgetBytes Maximum memory of the cached segments, in bytes.
+     */
+    public TurtlePathCache( long budgetBytes ) {
+        this( budgetBytes, null );
+    }
+    
+    /**
+     * Creates a cache that also saves the paths in a directory.
+     *
+     * @param budgetBytes Maximum memory of the cached segments, in bytes.
+     * @param directory Where the paths are saved, created if needed, or
+     * null to keep them only in memory.
+     */
+    public TurtlePathCache( long budgetBytes, Path directory ) {
+        this.paths = new LRUCache<>( budgetBytes, TurtlePath::getBytes );
+        this.directory = directory;
+    }
+    
+    /**
+     * Creates the key of a generation path.
+     *
+     * @param lSystem The L-system.
+     * @param generation The generation.
+     * @param x X coordinate of the start.
+     * @param y Y coordinate of the start.
+     * @param heading Start heading, in degrees.
+     * @param length Distance moved by each F.
+     * @param angle Rotation of each + or -, in degrees.
+     * @return The key.
+     */
+    public static String key( LSystem lSystem, int generation, 
+                              double x, double y, double heading, double length, double angle ) {
+        return String.format( "%s|%d|%s,%s,%s|%s|%s", 
+            lSystem.getSignature(), generation, x, y, heading, length, angle );
+    }
+    
+    /**
+     * Returns a path kept in memory.
+     *
+     * @param key The key.
+     * @param pen Path whose pen is used.
+     * @return The path with the pen, or null if it is not in memory.
+     */
+    public TurtlePath get( String key, TurtlePath pen ) {
+        TurtlePath path = paths.get( key );
+        return path != null ? path.withPenOf( pen ) : null;
+    }
+    
+    /**
+     * Keeps a complete path in memory.
+     *
+     * @param key The key.
+     * @param path The path.
+     */
+    public void put( String key, TurtlePath path ) {
+        paths.put( key, path );
+    }
+    
+    /**
+     * Reads a path saved in the directory.
+     *
+     * @param key The key.
+     * @param pen Path whose pen is used.
+     * @return The path with the pen, or null if there is no directory or
+     * the path was not saved.
+     * @throws IOException If the file could not be read.
+     */
+    public TurtlePath load( String key, TurtlePath pen ) throws IOException {
+        
+        if ( directory == null ) {
+            return null;
+        }
+        
+        ByteBuffer in;
+        try {
+            in = ByteBuffer.wrap( Files.readAllBytes( fileOf( key ) ) );
+        } catch ( NoSuchFileException exc ) {
+            return null;
+        }
+        
+        if ( in.remaining() < 12 || in.getInt() != MAGIC || in.getInt() != VERSION ) {
+            return null;
+        }
+        
+        // different keys may share a file name
+        byte[] keyBytes = key.getBytes( StandardCharsets.UTF_8 );
+        int keyLength = in.getInt();
+        if ( keyLength != keyBytes.length || in.remaining() < keyLength ) {
+            return null;
+        }
+        byte[] fileKey = new byte[keyLength];
+        in.get( fileKey );
+        if ( !Arrays.equals( fileKey, keyBytes ) ) {
+            return null;
+        }
+        
+        return TurtlePath.read( in, pen );
+        
+    }
+    
+    /**
+     * Saves a complete path in the directory, replacing the file of the
+     * key only when the new one is completely written. The new file is
+     * moved over the old one atomically, so a reader sees either of them,
+     * unless the file system cannot, where it is simply replaced.
+     *
+     * @param key The key.
+     * @param path The path.
+     * @throws IOException If the file could not be written.
+     */
+    public void save( String key, TurtlePath path ) throws IOException {
+        
+        if ( directory == null ) {
+            return;
+        }
+        
+        Files.createDirectories( directory );
+        Path file = fileOf( key );
+        Path temp = Files.createTempFile( directory, null, ".tmp" );
+        
+        try {
+            try ( DataOutputStream out = new DataOutputStream( 
+                    new BufferedOutputStream( Files.newOutputStream( temp ), 1 << 16 ) ) ) {
+                out.writeInt( MAGIC );
+                out.writeInt( VERSION );
+                byte[] keyBytes = key.getBytes( StandardCharsets.UTF_8 );
+                out.writeInt( keyBytes.length );
+                out.write( keyBytes );
+                path.write( out );
+            }
+            try {
+                Files.move( temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+            } catch ( AtomicMoveNotSupportedException exc ) {
+                Files.move( temp, file, StandardCopyOption.REPLACE_EXISTING );
+            }
+        } finally {
+            Files.deleteIfExists( temp );
+        }
+        
+    }
+    
+    /**
+     * Returns whether the paths are also saved in a directory.
+     *
+     * @return Whether there is a directory.
+     */
+    public boolean hasDirectory() {
+        return directory != null;
+    }
+    
+    /**
+     * Returns the paths kept in memory and their statistics.
+     *
+     * @return The underlying cache.
+     */
+    public LRUCache<String, TurtlePath> getPaths() {
+        return paths;
+    }
+    
+    private Path fileOf( String key ) {
+        return directory.resolve( String.format( "%08x.tpath", key.hashCode() ) );
+    }
+    
+}
@@ -0,0 +1,425 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.turtle;
+
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Builds the paths of L-system generations in a background thread, so
+ * the game loop only starts a generation and then draws the segments as
+ * they are built.
+ *
+ * Starting a generation cancels the one being built. The generation is
+ * read in chunks of symbols; after each chunk the new segments are
+ * published and the cancellation is checked. The path is handed over after
+ * the first chunk, through an atomic reference, and keeps growing while it
+ * is drawn. The thread only builds up to LOOKAHEAD segments past the ones
+ * requested by the game loop, and then waits for more to be requested, so
+ * the memory of a large generation follows what has been revealed instead
+ * of the size of the generation.
+ *
+ * With a TurtlePathCache, a generation kept in memory is handed over at
+ * once, and one saved in its directory is read by the thread instead of
+ * being built. Only complete paths are cached: they are saved by the
+ * thread and kept in memory by poll, in the game loop.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class TurtlePathGenerator {
+    
+    /** Symbols read between publications and cancellation checks. */
+    private static final int CHUNK_SIZE = 1 << 16;
+    
+    /** Segments built past the requested ones, 16 MB of coordinates. */
+    private static final int LOOKAHEAD = 1 << 20;
+    
+    private final ExecutorService executor;
+    private final AtomicReference<Job> current;
+    private final AtomicReference<Result> finished;
+    private final AtomicReference<Result> completed;
+    private TurtlePathCache cache;
+    
+    /**
+     * The path of a generation, which may still be growing.
+     */
+    public static class Result {
+        
+        /** The generation. */
+        public final int generation;
+        
+        /** Its path. */
+        public final TurtlePath path;
+        
+        /** Whether it was taken from the cache, in memory or in a file. */
+        public final boolean cached;
+        
+        private final String key;
+        private final Job job;
+        private volatile boolean complete;
+        private volatile double buildTime;
+        
+        private Result( int generation, TurtlePath path, boolean cached, String key, Job job ) {
+            this.generation = generation;
+            this.path = path;
+            this.cached = cached;
+            this.key = key;
+            this.job = job;
+        }
+        
+        /**
+         * Requests the segments up to a count, letting the thread build
+         * up to LOOKAHEAD segments past them.
+         *
+         * @param segments Number of segments that will be drawn.
+         */
+        public void request( int segments ) {
+            if ( job != null ) {
+                job.request( segments );
+            }
+        }
+        
+        /**
+         * Returns whether every segment of the generation was built.
+         *
+         * @return Whether the path is complete.
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+        
+        /**
+         * Returns the time taken to build the path, without the time
+         * spent waiting for requests, or to read it.
+         *
+         * @return The time in milliseconds, or 0 while it is not complete.
+         */
+        public double getBuildTime() {
+            return buildTime;
+        }
+        
+        private void complete( double buildTime ) {
+            this.buildTime = buildTime;
+            this.complete = true;
+        }
+        
+    }
+    
+    /**
+     * Creates the generator and its thread, a daemon thread, so it does
+     * not keep the application running.
+     */
+    public TurtlePathGenerator() {
+        executor = Executors.newSingleThreadExecutor( r -> {
+            Thread t = new Thread( r, "turtle path generator" );
+            t.setDaemon( true );
+            return t;
+        });
+        current = new AtomicReference<>();
+        finished = new AtomicReference<>();
+        completed = new AtomicReference<>();
+    }
+    
+    /**
+     * Starts building a generation, cancelling the one being built.
+     *
+     * The cursor and the number of symbols must be taken from the
+     * L-system in the calling thread: LSystem is not thread safe, but a
+     * cursor only reads the rules, which must not change while it is in
+     * use.
+     *
+     * @param cursor Cursor over the generation.
+     * @param symbols Number of symbols of the generation, for the progress.
+     * @param path Empty path that receives the segments.
+     * @param x X coordinate of the start.
+     * @param y Y coordinate of the start.
+     * @param heading Start heading, in degrees.
+     * @param length Distance moved by each F.
+     * @param angle Rotation of each + or -, in degrees.
+     */
+    public void start( LSystem.Cursor cursor, long symbols, TurtlePath path, 
+                       double x, double y, double heading, double length, double angle ) {
+        
+        String key = null;
+        
+        if ( cache != null ) {
+            key = TurtlePathCache.key( cursor.getLSystem(), cursor.getGeneration(), x, y, heading, length, angle );
+            TurtlePath cached = cache.get( key, path );
+            if ( cached != null ) {
+                cancel();
+                Result result = new Result( cursor.getGeneration(), cached, true, key, null );
+                result.complete( 0 );
+                finished.set( result );
+                return;
+            }
+        }
+        
+        Job job = new Job( 
+            cursor.getGeneration(), symbols, 
+            new LSystemTurtle( cursor, path, x, y, heading, length, angle ), 
+            cache, key 
+        );
+        
+        Job previous = current.getAndSet( job );
+        if ( previous != null ) {
+            previous.cancel();
+        }
+        
+        // a path of the cancelled generation that was not taken yet
+        finished.set( null );
+        
+        executor.execute( job );
+        
+    }
+    
+    /**
+     * Cancels the generation being built, if any.
+     */
+    public void cancel() {
+        Job job = current.getAndSet( null );
+        if ( job != null ) {
+            job.cancel();
+        }
+    }
+    
+    /**
+     * Takes the path of the last generation started, once it is handed
+     * over, and keeps the paths completed since the last call in the
+     * cache.
+     *
+     * @return The path, or null if there is none that was not taken yet.
+     */
+    public Result poll() {
+        Result done = completed.getAndSet( null );
+        if ( done != null && cache != null && done.key != null ) {
+            cache.put( done.key, done.path );
+        }
+        return finished.getAndSet( null );
+    }
+    
+    /**
+     * Sets the cache of the built paths. Set it before starting a
+     * generation.
+     *
+     * @param cache The cache, or null to always build the paths.
+     */
+    public void setCache( TurtlePathCache cache ) {
+        this.cache = cache;
+    }
+    
+    /**
+     * Returns the cache of the built paths.
+     *
+     * @return The cache, or null if there is none.
+     */
+    public TurtlePathCache getCache() {
+        return cache;
+    }
+    
+    /**
+     * Returns whether a generation is being built, including while the
+     * thread waits for more segments to be requested.
+     *
+     * @return Whether a generation is being built.
+     */
+    public boolean isBuilding() {
+        return current.get() != null;
+    }
+    
+    /**
+     * Returns the generation being built.
+     *
+     * @return The generation, or -1 if none is being built.
+     */
+    public int getGeneration() {
+        Job job = current.get();
+        return job != null ? job.generation : -1;
+    }
+    
+    /**
+     * Returns the progress of the generation being built.
+     *
+     * @return The fraction of the symbols read, from 0 to 1.
+     */
+    public double getProgress() {
+        Job job = current.get();
+        return job != null ? job.progress : 0.0;
+    }
+    
+    /**
+     * Cancels the generation being built and stops the thread.
+     */
+    public void shutdown() {
+        cancel();
+        executor.shutdown();
+    }
+    
+    private class Job implements Runnable {
+        
+        final int generation;
+        final long symbols;
+        final LSystemTurtle turtle;
+        final TurtlePathCache cache;
+        final String key;
+        volatile double progress;
+        
+        // guarded by this job
+        private boolean cancelled;
+        private int requested;
+        
+        Job( int generation, long symbols, LSystemTurtle turtle, TurtlePathCache cache, String key ) {
+            this.generation = generation;
+            this.symbols = symbols;
+            this.turtle = turtle;
+            this.cache = cache;
+            this.key = key;
+        }
+        
+        synchronized void cancel() {
+            cancelled = true;
+            notifyAll();
+        }
+        
+        synchronized void request( int segments ) {
+            if ( segments > requested ) {
+                requested = segments;
+                notifyAll();
+            }
+        }
+        
+        @Override
+        public void run() {
+            try {
+                build();
+            } finally {
+                // a failed build must not be left as the current one
+                current.compareAndSet( this, null );
+            }
+        }
+        
+        private void build() {
+            
+            if ( isCancelled() ) {
+                return;
+            }
+            
+            long start = System.nanoTime();
+            
+            if ( cache != null ) {
+                TurtlePath loaded = null;
+                try {
+                    loaded = cache.load( key, turtle.getPath() );
+                } catch ( IOException exc ) {
+                    // an unreadable file is built again, and replaced
+                }
+                if ( loaded != null ) {
+                    Result result = new Result( generation, loaded, true, key, null );
+                    result.complete( ( System.nanoTime() - start ) / 1000000.0 );
+                    if ( handOver( result ) ) {
+                        completed.set( result );
+                    }
+                    return;
+                }
+            }
+            
+            TurtlePath path = turtle.getPath();
+            Result result = new Result( generation, path, false, key, this );
+            long buildTime = 0;
+            boolean handedOver = false;
+            boolean more = true;
+            
+            while ( more ) {
+                
+                more = turtle.advance( CHUNK_SIZE );
+                progress = turtle.getSymbolsRead() / (double) symbols;
+                path.publish();
+                
+                if ( !handedOver ) {
+                    if ( !handOver( result ) ) {
+                        return;
+                    }
+                    handedOver = true;
+                }
+                
+                buildTime += System.nanoTime() - start;
+                if ( more && !awaitRequest( path ) ) {
+                    return;
+                }
+                start = System.nanoTime();
+                
+            }
+            
+            path.trim();
+            buildTime += System.nanoTime() - start;
+            result.complete( buildTime / 1000000.0 );
+            
+            synchronized ( this ) {
+                if ( cancelled ) {
+                    return;
+                }
+                completed.set( result );
+            }
+            
+            if ( cache != null ) {
+                try {
+                    cache.save( key, path );
+                } catch ( IOException exc ) {
+                    // the path is only kept in memory
+                }
+            }
+            
+        }
+        
+        private synchronized boolean isCancelled() {
+            return cancelled;
+        }
+        
+        /**
+         * Waits until fewer than LOOKAHEAD segments past the requested ones
+         * are built.
+         *
+         * @return Whether the job can go on, false if it was cancelled.
+         */
+        private synchronized boolean awaitRequest( TurtlePath path ) {
+            while ( !cancelled && path.getSegmentCount() >= (long) requested + LOOKAHEAD ) {
+                try {
+                    wait();
+                } catch ( InterruptedException exc ) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return !cancelled;
+        }
+        
+        /**
+         * Hands the path over, if this job was not cancelled. A cancelled
+         * job can no longer hand it over once cancel returns.
+         */
+        private synchronized boolean handOver( Result result ) {
+            if ( cancelled ) {
+                return false;
+            }
+            finished.set( result );
+            return true;
+        }
+        
+    }
+    
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (C) 2026 Prof. Dr. David Buzatto
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses/>.
+ */
+package br.com.davidbuzatto.jsge.showcase.turtle;
+
+import br.com.davidbuzatto.jsge.core.engine.EngineFrame;
+import br.com.davidbuzatto.jsge.image.Image;
+
+/**
+ * Draws a path being revealed segment by segment. The segments already
+ * drawn are kept in an image the size of the screen, so each frame only
+ * draws the segments revealed since the previous frame and then copies
+ * the image, instead of drawing every segment again.
+ *
+ * The image is drawn again from the first segment when the path changes,
+ * which is the case for another generation or another pen (a path with
+ * another pen is another object, see TurtlePathCache), when the screen
+ * changes its size, when the antialiasing changes or when the reveal goes
+ * backwards.
+ *
+ * @author Prof. Dr. David Buzatto
+ */
+public class TurtlePathRenderer {
+    
+    private Image image;
+    private TurtlePath path;
+    private boolean antialiasing;
+    
+    // segments of the path already in the image
+    private int drawnCount;
+    
+    /**
+     * Draws the first segments of a path.
+     *
+     * @param path The path.
+     * @param until Number of segments revealed.
+     * @param engine The engine used to draw.
+     */
+    public void draw( TurtlePath path, int until, EngineFrame engine ) {
+        
+        int width = engine.getScreenWidth();
+        int height = engine.getScreenHeight();
+        int end = Math.min( until, path.getSegmentCount() );
+        
+        if ( image == null || image.getWidth() != width || image.getHeight() != height 
+                || path != this.path || engine.isAntialiasing() != antialiasing || end < drawnCount ) {
+            image = new Image( width, height );
+            this.path = path;
+            antialiasing = engine.isAntialiasing();
+            drawnCount = 0;
+        }
+        
+        if ( end > drawnCount ) {
+            path.draw( drawnCount, end, image, antialiasing );
+            drawnCount = end;
+        }
+        
+        engine.drawImage( image, 0, 0 );
+        
+    }
+    
+    /**
+     * Discards the segments drawn, so the next frame draws them again.
+     */
+    public void invalidate() {
+        path = null;
+        drawnCount = 0;
+    }
+    
+    /**
+     * Returns how many segments are in the image.
+     *
+     * @return The number of segments drawn.
+     */
+    public int getDrawnCount() {
+        return drawnCount;
+    }
+    
+}